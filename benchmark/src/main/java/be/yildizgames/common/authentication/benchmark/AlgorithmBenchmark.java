@@ -0,0 +1,94 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication.benchmark;
+
+import be.yildizgames.common.authentication.Argon2EncryptionTool;
+import be.yildizgames.common.authentication.BCryptEncryptionTool;
+import be.yildizgames.common.authentication.EncryptionTool;
+import be.yildizgames.common.authentication.Pbkdf2EncryptionTool;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password verification throughput per algorithm and parameter set, on one thread and on all available cores,
+ * to choose the settings matching the hardware.
+ * The parameter is the algorithm followed by its settings: bcrypt-cost, argon2id-memoryKB-iterations-parallelism,
+ * pbkdf2-iterations.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class AlgorithmBenchmark {
+
+    private static final String CLEAR = "s3cretPassword";
+
+    @Param({"bcrypt-10", "bcrypt-12", "argon2id-19456-2-1", "argon2id-65536-3-4", "argon2id-12288-3-1", "pbkdf2-310000", "pbkdf2-600000"})
+    public String settings;
+
+    private EncryptionTool tool;
+
+    private String encrypted;
+
+    @Setup
+    public void setup() {
+        String[] values = this.settings.split("-");
+        this.tool = switch (values[0]) {
+            case "bcrypt" -> new BCryptEncryptionTool(Integer.parseInt(values[1]));
+            case "argon2id" -> new Argon2EncryptionTool(Integer.parseInt(values[1]), Integer.parseInt(values[2]), Integer.parseInt(values[3]));
+            case "pbkdf2" -> new Pbkdf2EncryptionTool(Integer.parseInt(values[1]));
+            default -> throw new IllegalArgumentException(this.settings);
+        };
+        this.encrypted = this.tool.encrypt(CLEAR);
+    }
+
+    @Benchmark
+    public boolean check() {
+        return this.tool.check(this.encrypted, CLEAR);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean checkAllCores() {
+        return this.tool.check(this.encrypted, CLEAR);
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication.benchmark;
+
+import be.yildizgames.common.authentication.BCryptEncryptionTool;
+import org.mindrot.jbcrypt.BCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt hashing and verification with the library engine compared with jBCrypt, the implementation it replaced.
+ * Run with -prof gc to compare the allocation per operation.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BCryptBenchmark {
+
+    private static final String CLEAR = "s3cretPassword";
+
+    @Param({"4", "10"})
+    public int cost;
+
+    private BCryptEncryptionTool tool;
+
+    private String salt;
+
+    private String encrypted;
+
+    private char[] clearChars;
+
+    @Setup
+    public void setup() {
+        this.tool = new BCryptEncryptionTool(this.cost);
+        this.salt = BCrypt.gensalt(this.cost);
+        this.encrypted = BCrypt.hashpw(CLEAR, this.salt);
+        this.clearChars = CLEAR.toCharArray();
+    }
+
+    @Benchmark
+    public String jbcryptEncrypt() {
+        return BCrypt.hashpw(CLEAR, this.salt);
+    }
+
+    @Benchmark
+    public boolean jbcryptCheck() {
+        return BCrypt.checkpw(CLEAR, this.encrypted);
+    }
+
+    @Benchmark
+    public String engineEncrypt() {
+        return this.tool.encrypt(CLEAR);
+    }
+
+    @Benchmark
+    public boolean engineCheck() {
+        return this.tool.check(this.encrypted, CLEAR);
+    }
+
+    @Benchmark
+    public boolean engineCheckChars() {
+        return this.tool.check(this.encrypted, this.clearChars);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication.benchmark;
+
+import be.yildizgames.common.authentication.Credentials;
+import be.yildizgames.common.authentication.Token;
+import be.yildizgames.common.authentication.protocol.TemporaryAccountCreationResultDto;
+import be.yildizgames.common.authentication.protocol.TokenVerification;
+import be.yildizgames.common.authentication.protocol.mapper.CredentialsMapper;
+import be.yildizgames.common.authentication.protocol.mapper.TemporaryAccountResultMapper;
+import be.yildizgames.common.authentication.protocol.mapper.TokenMapper;
+import be.yildizgames.common.authentication.protocol.mapper.TokenVerificationMapper;
+import be.yildizgames.common.model.PlayerId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token factories and protocol mapping, in both directions.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolBenchmark {
+
+    private final PlayerId player = PlayerId.valueOf(42);
+
+    private Token token;
+
+    private String tokenMessage;
+
+    private Credentials credentials;
+
+    private String credentialsMessage;
+
+    private TemporaryAccountCreationResultDto result;
+
+    private String resultMessage;
+
+    private TokenVerification verification;
+
+    private String verificationMessage;
+
+    @Setup
+    public void setup() {
+        this.token = Token.authenticated(this.player, 1_000L, 123456);
+        this.tokenMessage = TokenMapper.getInstance().to(this.token);
+        this.credentials = Credentials.unchecked("player01", "s3cretPassword");
+        this.credentialsMessage = CredentialsMapper.getInstance().to(this.credentials);
+        this.result = TemporaryAccountCreationResultDto.success();
+        this.result.setEmailInvalid(true);
+        this.resultMessage = TemporaryAccountResultMapper.getInstance().to(this.result);
+        this.verification = new TokenVerification(this.player, true);
+        this.verificationMessage = TokenVerificationMapper.getInstance().to(this.verification);
+    }
+
+    @Benchmark
+    public Token tokenAuthenticated() {
+        return Token.authenticated(this.player, 1_000L, 123456);
+    }
+
+    @Benchmark
+    public Token tokenAuthenticationFailed() {
+        return Token.authenticationFailed();
+    }
+
+    @Benchmark
+    public String tokenTo() {
+        return TokenMapper.getInstance().to(this.token);
+    }
+
+    @Benchmark
+    public Token tokenFrom() {
+        return TokenMapper.getInstance().from(this.tokenMessage);
+    }
+
+    @Benchmark
+    public String credentialsTo() {
+        return CredentialsMapper.getInstance().to(this.credentials);
+    }
+
+    @Benchmark
+    public Credentials credentialsFrom() {
+        return CredentialsMapper.getInstance().from(this.credentialsMessage);
+    }
+
+    @Benchmark
+    public String temporaryAccountResultTo() {
+        return TemporaryAccountResultMapper.getInstance().to(this.result);
+    }
+
+    @Benchmark
+    public TemporaryAccountCreationResultDto temporaryAccountResultFrom() {
+        return TemporaryAccountResultMapper.getInstance().from(this.resultMessage);
+    }
+
+    @Benchmark
+    public String tokenVerificationTo() {
+        return TokenVerificationMapper.getInstance().to(this.verification);
+    }
+
+    @Benchmark
+    public TokenVerification tokenVerificationFrom() {
+        return TokenVerificationMapper.getInstance().from(this.verificationMessage);
+    }
+}
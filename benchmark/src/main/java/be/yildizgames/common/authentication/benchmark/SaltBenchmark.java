@@ -0,0 +1,117 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication.benchmark;
+
+import be.yildizgames.common.authentication.SaltGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Salt generation throughput with a SecureRandom shared by all threads, as done by BCrypt.gensalt(),
+ * compared with the per thread generators of the SaltGenerator, for 1, 2, 4 threads and one thread per core.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class SaltBenchmark {
+
+    private static final int LENGTH = 16;
+
+    private final SecureRandom shared = new SecureRandom();
+
+    private byte[] shared() {
+        byte[] salt = new byte[LENGTH];
+        this.shared.nextBytes(salt);
+        return salt;
+    }
+
+    private static byte[] generator() {
+        return SaltGenerator.getInstance().generate(LENGTH);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] shared1() {
+        return shared();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public byte[] shared2() {
+        return shared();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] shared4() {
+        return shared();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] sharedAllCores() {
+        return shared();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public byte[] generator1() {
+        return generator();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public byte[] generator2() {
+        return generator();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] generator4() {
+        return generator();
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public byte[] generatorAllCores() {
+        return generator();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication.benchmark;
+
+import be.yildizgames.common.authentication.AuthenticationChecker;
+import be.yildizgames.common.authentication.AuthenticationRules;
+import be.yildizgames.common.authentication.SimpleAuthenticationChecker;
+import be.yildizgames.common.authentication.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Character scanning of char and byte arrays, with the scalar lookup table and with the vector API.
+ * The vector methods run in a JVM started with --add-modules jdk.incubator.vector, the scalar ones without it.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark {
+
+    private static final String VECTOR = "--add-modules=jdk.incubator.vector";
+
+    @Param({"16", "64", "256"})
+    public int length;
+
+    private final AuthenticationChecker checker = new SimpleAuthenticationChecker(
+            new AuthenticationRules(256, 256, 1, 1, Pattern.compile("[a-zA-Z0-9]*"), Pattern.compile("[a-zA-Z0-9]*")));
+
+    private char[] login;
+
+    private char[] password;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() {
+        char[] value = new char[this.length];
+        for (int i = 0; i < value.length; i++) {
+            value[i] = "abcXYZ019".charAt(i % 9);
+        }
+        this.login = value;
+        this.password = Arrays.copyOf(value, value.length);
+        this.data = (new String(value) + new String(value)).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public ValidationResult charsScalar() {
+        return this.checker.validateChars(this.login, this.password);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public ValidationResult charsVector() {
+        return this.checker.validateChars(this.login, this.password);
+    }
+
+    @Benchmark
+    public ValidationResult bytesScalar() {
+        return this.checker.validateAscii(this.data, 0, this.length, this.length, this.length);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = VECTOR)
+    public ValidationResult bytesVector() {
+        return this.checker.validateAscii(this.data, 0, this.length, this.length, this.length);
+    }
+}
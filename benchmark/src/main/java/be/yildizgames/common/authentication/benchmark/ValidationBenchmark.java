@@ -0,0 +1,122 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication.benchmark;
+
+import be.yildizgames.common.authentication.AuthenticationChecker;
+import be.yildizgames.common.authentication.AuthenticationRules;
+import be.yildizgames.common.authentication.CredentialException;
+import be.yildizgames.common.authentication.Credentials;
+import be.yildizgames.common.authentication.SimpleAuthenticationChecker;
+import be.yildizgames.common.authentication.TemporaryAccount;
+import be.yildizgames.common.authentication.TemporaryAccountValidationException;
+import be.yildizgames.common.authentication.ValidationResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Credential validation through the checker and the temporary account creation, for valid and invalid inputs.
+ *
+ * @author Grégory Van den Borre
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"valid", "invalidChar", "tooShort", "empty"})
+    public String input;
+
+    private final AuthenticationChecker checker = new SimpleAuthenticationChecker(AuthenticationRules.DEFAULT);
+
+    private String login;
+
+    private String password;
+
+    private String email;
+
+    @Setup
+    public void setup() {
+        switch (this.input) {
+            case "valid" -> this.values("player01", "s3cretPassword", "player01@mail.com");
+            case "invalidChar" -> this.values("player&01", "s3cret&Password", "player01@@mail.com");
+            case "tooShort" -> this.values("p", "s3c", "p@m");
+            case "empty" -> this.values("", "", "");
+            default -> throw new IllegalArgumentException(this.input);
+        }
+    }
+
+    private void values(String login, String password, String email) {
+        this.login = login;
+        this.password = password;
+        this.email = email;
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        return this.checker.validate(this.login, this.password);
+    }
+
+    @Benchmark
+    public Object check() {
+        try {
+            return this.checker.check(this.login, this.password);
+        } catch (CredentialException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ValidationResult temporaryAccountValidate() {
+        return TemporaryAccount.validate(this.login, this.password, this.email);
+    }
+
+    @Benchmark
+    public Object temporaryAccountCreate() {
+        try {
+            return TemporaryAccount.create(this.login, this.password, this.email, "en");
+        } catch (TemporaryAccountValidationException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Credentials unchecked() {
+        return Credentials.unchecked(this.login, this.password);
+    }
+}
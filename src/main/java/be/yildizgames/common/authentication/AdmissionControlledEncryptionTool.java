@@ -0,0 +1,266 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limit the number of hash computations running at the same time, to keep the latency bounded under load.
+ * A request beyond the in-flight limit waits in a bounded first come first served queue, for at most the deadline.
+ * It fails fast with an {@link OverloadedException} when the queue is full, when its estimated wait, computed from
+ * its position in the queue and the average computation time, is beyond the deadline, or when the deadline is reached.
+ * The rejected clients are told to retry later instead of all of them timing out together.
+ * A batch is not delegated as a whole, which would bypass the limit: it runs on its fork join pool and every value
+ * is admitted as a single request, so a batch larger than the queue can be partly rejected, failing encryptAll,
+ * while the rejected pairs of checkAll do not match.
+ * Thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class AdmissionControlledEncryptionTool implements EncryptionTool {
+
+    /**
+     * Weight of the previous average when a computation time is added, as a power of 2.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    /**
+     * Encryption tool running the hashing.
+     */
+    private final EncryptionTool delegate;
+
+    /**
+     * Permits for the computations.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Maximum number of computations at the same time.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Maximum number of waiting requests.
+     */
+    private final int maxQueued;
+
+    /**
+     * Maximum waiting time, in nanoseconds.
+     */
+    private final long deadline;
+
+    /**
+     * Number of waiting requests.
+     */
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Moving average of the computation time, in nanoseconds, 0 until the first computation.
+     */
+    private final AtomicLong averageTime = new AtomicLong();
+
+    /**
+     * Number of rejected requests.
+     */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Metrics receiving the waiting times of the admitted requests.
+     */
+    private final HashingMetrics metrics;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate    Encryption tool running the hashing, cannot be null.
+     * @param maxInFlight Maximum number of computations at the same time, usually the number of cores.
+     * @param maxQueued   Maximum number of waiting requests, 0 to reject immediately when the limit is reached.
+     * @param deadline    Maximum waiting time, cannot be null.
+     * @throws NullPointerException     If delegate or deadline is null.
+     * @throws IllegalArgumentException If maxInFlight is smaller than 1, maxQueued or deadline is negative.
+     */
+    public AdmissionControlledEncryptionTool(EncryptionTool delegate, int maxInFlight, int maxQueued, Duration deadline) {
+        this(delegate, maxInFlight, maxQueued, deadline, HashingMetrics.NONE);
+    }
+
+    /**
+     * Create a new instance reporting the waiting time of the admitted requests.
+     *
+     * @param delegate    Encryption tool running the hashing, cannot be null.
+     * @param maxInFlight Maximum number of computations at the same time, usually the number of cores.
+     * @param maxQueued   Maximum number of waiting requests, 0 to reject immediately when the limit is reached.
+     * @param deadline    Maximum waiting time, cannot be null.
+     * @param metrics     Metrics receiving the waiting times, cannot be null.
+     * @throws NullPointerException     If delegate, deadline or metrics is null.
+     * @throws IllegalArgumentException If maxInFlight is smaller than 1, maxQueued or deadline is negative.
+     */
+    public AdmissionControlledEncryptionTool(EncryptionTool delegate, int maxInFlight, int maxQueued, Duration deadline, HashingMetrics metrics) {
+        super();
+        this.delegate = Objects.requireNonNull(delegate);
+        this.metrics = Objects.requireNonNull(metrics);
+        Objects.requireNonNull(deadline);
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Maximum in flight must be greater than 0.");
+        }
+        if (maxQueued < 0) {
+            throw new IllegalArgumentException("Maximum queued must be greater or equals to 0.");
+        }
+        if (deadline.isNegative()) {
+            throw new IllegalArgumentException("Deadline must be positive.");
+        }
+        this.maxInFlight = maxInFlight;
+        this.maxQueued = maxQueued;
+        this.deadline = deadline.toNanos();
+        this.permits = new Semaphore(maxInFlight, true);
+    }
+
+    /**
+     * Encrypt a value once admitted.
+     *
+     * @param toEncrypt Value to encrypt.
+     * @return Encrypted value.
+     * @throws OverloadedException If the request is not admitted.
+     */
+    @Override
+    public String encrypt(final String toEncrypt) {
+        Objects.requireNonNull(toEncrypt);
+        this.admit();
+        long start = System.nanoTime();
+        try {
+            return this.delegate.encrypt(toEncrypt);
+        } finally {
+            this.release(start);
+        }
+    }
+
+    /**
+     * Check a value once admitted.
+     *
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear     Clear value to check.
+     * @return true if they match, false otherwise.
+     * @throws OverloadedException If the request is not admitted.
+     */
+    @Override
+    public boolean check(final String encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        this.admit();
+        long start = System.nanoTime();
+        try {
+            return this.delegate.check(encrypted, clear);
+        } finally {
+            this.release(start);
+        }
+    }
+
+    @Override
+    public boolean needsRehash(final String encrypted) {
+        return this.delegate.needsRehash(encrypted);
+    }
+
+    /**
+     * @return The number of computations running.
+     */
+    public int getInFlight() {
+        return this.maxInFlight - this.permits.availablePermits();
+    }
+
+    /**
+     * @return The number of waiting requests.
+     */
+    public int getQueued() {
+        return this.queued.get();
+    }
+
+    /**
+     * @return The number of rejected requests since the creation.
+     */
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * @return The average computation time.
+     */
+    public Duration getAverageTime() {
+        return Duration.ofNanos(this.averageTime.get());
+    }
+
+    private void admit() {
+        // The timed form honours the fairness, the untimed one would overtake the requests already waiting.
+        try {
+            if (this.permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+                this.metrics.waited(0);
+                return;
+            }
+        } catch (InterruptedException e) {
+            throw this.interrupted(e);
+        }
+        long start = System.nanoTime();
+        int position = this.queued.incrementAndGet();
+        try {
+            if (position > this.maxQueued) {
+                throw this.reject("Queue full.");
+            }
+            long estimated = (long) ((position + this.maxInFlight - 1) / this.maxInFlight) * this.averageTime.get();
+            if (estimated > this.deadline) {
+                throw this.reject("Estimated wait beyond the deadline.");
+            }
+            if (!this.permits.tryAcquire(this.deadline, TimeUnit.NANOSECONDS)) {
+                throw this.reject("Deadline reached.");
+            }
+            this.metrics.waited(System.nanoTime() - start);
+        } catch (InterruptedException e) {
+            throw this.interrupted(e);
+        } finally {
+            this.queued.decrementAndGet();
+        }
+    }
+
+    private OverloadedException interrupted(final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        this.rejected.increment();
+        return new OverloadedException("Interrupted while waiting.", e);
+    }
+
+    private OverloadedException reject(final String reason) {
+        this.rejected.increment();
+        return new OverloadedException(reason);
+    }
+
+    private void release(final long start) {
+        this.permits.release();
+        long time = System.nanoTime() - start;
+        this.averageTime.getAndUpdate(a -> a == 0 ? time : a + ((time - a) >> AVERAGE_SHIFT));
+    }
+}
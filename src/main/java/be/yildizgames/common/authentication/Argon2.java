@@ -0,0 +1,423 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+/**
+ * Argon2id memory hard key derivation function, version 1.3 (RFC 9106).
+ * The lanes are computed one after the other on the calling thread: under load, the other cores are busy with the
+ * other requests, and a single thread gives the best throughput.
+ * The memory, one 1KB block per unit of memory cost, is allocated for every computation.
+ *
+ * @author Grégory Van den Borre
+ */
+final class Argon2 {
+
+    /**
+     * Version 1.3.
+     */
+    static final int VERSION = 0x13;
+
+    /**
+     * Argon2id type identifier.
+     */
+    private static final int TYPE_ID = 2;
+
+    /**
+     * Number of 64 bits words in a block.
+     */
+    private static final int BLOCK_WORDS = 128;
+
+    private static final int BLOCK_SIZE = BLOCK_WORDS * 8;
+
+    /**
+     * Number of slices in a lane.
+     */
+    private static final int SYNC_POINTS = 4;
+
+    /**
+     * Indices of the words processed together by the column rounds of the compression.
+     */
+    private static final int[][] COLUMNS = new int[8][16];
+
+    /**
+     * Indices of the words processed together by the row rounds of the compression.
+     */
+    private static final int[][] ROWS = new int[8][16];
+
+    static {
+        for (int i = 0; i < 8; i++) {
+            for (int j = 0; j < 16; j++) {
+                COLUMNS[i][j] = 16 * i + j;
+                ROWS[i][j] = 2 * i + (j & 1) + 16 * (j >>> 1);
+            }
+        }
+    }
+
+    private final int memory;
+
+    private final int iterations;
+
+    private final int lanes;
+
+    private final int laneLength;
+
+    private final int segmentLength;
+
+    private final long[] blocks;
+
+    /**
+     * Work blocks of the compression.
+     */
+    private final long[] r = new long[BLOCK_WORDS];
+
+    private final long[] tmp = new long[BLOCK_WORDS];
+
+    private Argon2(int memory, int iterations, int lanes) {
+        super();
+        this.segmentLength = memory / (lanes * SYNC_POINTS);
+        this.laneLength = this.segmentLength * SYNC_POINTS;
+        this.memory = this.laneLength * lanes;
+        this.iterations = iterations;
+        this.lanes = lanes;
+        this.blocks = new long[this.memory * BLOCK_WORDS];
+    }
+
+    /**
+     * Compute an Argon2id tag.
+     *
+     * @param password   Password.
+     * @param salt       Salt, at least 8 bytes.
+     * @param memory     Memory cost, in KB, at least 8 per lane.
+     * @param iterations Number of passes, at least 1.
+     * @param lanes      Degree of parallelism, from 1 to 2^24 - 1.
+     * @param length     Tag length, at least 4 bytes.
+     * @return The tag.
+     * @throws IllegalArgumentException If a parameter is out of range.
+     */
+    static byte[] hash(final byte[] password, final byte[] salt, final int memory, final int iterations, final int lanes, final int length) {
+        return hash(password, salt, new byte[0], new byte[0], memory, iterations, lanes, length);
+    }
+
+    /**
+     * Compute an Argon2id tag with a secret and associated data.
+     *
+     * @param password       Password.
+     * @param salt           Salt, at least 8 bytes.
+     * @param secret         Secret value, may be empty.
+     * @param associatedData Associated data, may be empty.
+     * @param memory         Memory cost, in KB, at least 8 per lane.
+     * @param iterations     Number of passes, at least 1.
+     * @param lanes          Degree of parallelism, from 1 to 2^24 - 1.
+     * @param length         Tag length, at least 4 bytes.
+     * @return The tag.
+     * @throws IllegalArgumentException If a parameter is out of range.
+     */
+    static byte[] hash(final byte[] password, final byte[] salt, final byte[] secret, final byte[] associatedData,
+                       final int memory, final int iterations, final int lanes, final int length) {
+        checkParameters(salt.length, memory, iterations, lanes, length);
+        Argon2 instance = new Argon2(memory, iterations, lanes);
+        byte[] h0 = initialHash(password, salt, secret, associatedData, memory, iterations, lanes, length);
+        instance.fill(h0);
+        return instance.finish(length);
+    }
+
+    /**
+     * Check the parameters, as defined by the specification.
+     *
+     * @throws IllegalArgumentException If a parameter is out of range.
+     */
+    static void checkParameters(final int saltLength, final int memory, final int iterations, final int lanes, final int length) {
+        if (saltLength < 8) {
+            throw new IllegalArgumentException("Salt must be at least 8 bytes.");
+        }
+        if (lanes < 1 || lanes > 0xFFFFFF) {
+            throw new IllegalArgumentException("Parallelism must be between 1 and 2^24 - 1, value is " + lanes);
+        }
+        if (memory < 8 * lanes || memory > Integer.MAX_VALUE / BLOCK_WORDS) {
+            throw new IllegalArgumentException("Memory must be at least 8 times the parallelism, value is " + memory);
+        }
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be greater than 0.");
+        }
+        if (length < 4) {
+            throw new IllegalArgumentException("Length must be at least 4 bytes.");
+        }
+    }
+
+    private static byte[] initialHash(final byte[] password, final byte[] salt, final byte[] secret, final byte[] associatedData,
+                                      final int memory, final int iterations, final int lanes, final int length) {
+        Blake2b h = new Blake2b(Blake2b.MAX_DIGEST_SIZE);
+        h.updateInt(lanes);
+        h.updateInt(length);
+        h.updateInt(memory);
+        h.updateInt(iterations);
+        h.updateInt(VERSION);
+        h.updateInt(TYPE_ID);
+        h.updateInt(password.length);
+        h.update(password, 0, password.length);
+        h.updateInt(salt.length);
+        h.update(salt, 0, salt.length);
+        h.updateInt(secret.length);
+        h.update(secret, 0, secret.length);
+        h.updateInt(associatedData.length);
+        h.update(associatedData, 0, associatedData.length);
+        byte[] result = new byte[Blake2b.MAX_DIGEST_SIZE + 8];
+        h.digest(result, 0);
+        return result;
+    }
+
+    /**
+     * Variable length hash function H' built on BLAKE2b.
+     *
+     * @param input  Value to hash.
+     * @param length Output length.
+     * @return The hash.
+     */
+    static byte[] variableHash(final byte[] input, final int length) {
+        byte[] out = new byte[length];
+        Blake2b h = new Blake2b(Math.min(length, Blake2b.MAX_DIGEST_SIZE));
+        h.updateInt(length);
+        h.update(input, 0, input.length);
+        if (length <= Blake2b.MAX_DIGEST_SIZE) {
+            h.digest(out, 0);
+            return out;
+        }
+        byte[] v = new byte[Blake2b.MAX_DIGEST_SIZE];
+        h.digest(v, 0);
+        System.arraycopy(v, 0, out, 0, 32);
+        int position = 32;
+        while (length - position > Blake2b.MAX_DIGEST_SIZE) {
+            v = Blake2b.digest(Blake2b.MAX_DIGEST_SIZE, v);
+            System.arraycopy(v, 0, out, position, 32);
+            position += 32;
+        }
+        byte[] last = Blake2b.digest(length - position, v);
+        System.arraycopy(last, 0, out, position, last.length);
+        return out;
+    }
+
+    /**
+     * Initialize the first two blocks of every lane and run all the passes.
+     *
+     * @param h0 Initial hash, with 8 free bytes at the end.
+     */
+    private void fill(final byte[] h0) {
+        for (int lane = 0; lane < this.lanes; lane++) {
+            for (int i = 0; i < 2; i++) {
+                writeInt(h0, Blake2b.MAX_DIGEST_SIZE, i);
+                writeInt(h0, Blake2b.MAX_DIGEST_SIZE + 4, lane);
+                byte[] block = variableHash(h0, BLOCK_SIZE);
+                int offset = (lane * this.laneLength + i) * BLOCK_WORDS;
+                for (int w = 0; w < BLOCK_WORDS; w++) {
+                    this.blocks[offset + w] = readLong(block, w << 3);
+                }
+            }
+        }
+        for (int pass = 0; pass < this.iterations; pass++) {
+            for (int slice = 0; slice < SYNC_POINTS; slice++) {
+                for (int lane = 0; lane < this.lanes; lane++) {
+                    this.fillSegment(pass, slice, lane);
+                }
+            }
+        }
+    }
+
+    private void fillSegment(final int pass, final int slice, final int lane) {
+        boolean dataIndependent = pass == 0 && slice < SYNC_POINTS / 2;
+        long[] addresses = null;
+        long[] input = null;
+        long[] zero = null;
+        if (dataIndependent) {
+            addresses = new long[BLOCK_WORDS];
+            input = new long[BLOCK_WORDS];
+            zero = new long[BLOCK_WORDS];
+            input[0] = pass;
+            input[1] = lane;
+            input[2] = slice;
+            input[3] = this.memory;
+            input[4] = this.iterations;
+            input[5] = TYPE_ID;
+        }
+        int start = 0;
+        if (pass == 0 && slice == 0) {
+            start = 2;
+            if (dataIndependent) {
+                this.nextAddresses(addresses, input, zero);
+            }
+        }
+        int current = lane * this.laneLength + slice * this.segmentLength + start;
+        int previous = current % this.laneLength == 0 ? current + this.laneLength - 1 : current - 1;
+        for (int i = start; i < this.segmentLength; i++, current++, previous++) {
+            if (current % this.laneLength == 1) {
+                previous = current - 1;
+            }
+            long pseudoRandom;
+            if (dataIndependent) {
+                if (i % BLOCK_WORDS == 0) {
+                    this.nextAddresses(addresses, input, zero);
+                }
+                pseudoRandom = addresses[i % BLOCK_WORDS];
+            } else {
+                pseudoRandom = this.blocks[previous * BLOCK_WORDS];
+            }
+            int referenceLane = pass == 0 && slice == 0 ? lane : (int) Long.remainderUnsigned(pseudoRandom >>> 32, this.lanes);
+            int referenceIndex = this.referenceIndex(pass, slice, i, pseudoRandom & 0xFFFFFFFFL, referenceLane == lane);
+            int reference = this.laneLength * referenceLane + referenceIndex;
+            this.compress(this.blocks, previous * BLOCK_WORDS, this.blocks, reference * BLOCK_WORDS,
+                    this.blocks, current * BLOCK_WORDS, pass != 0);
+        }
+    }
+
+    /**
+     * Compute the index, in the reference lane, of the reference block.
+     */
+    private int referenceIndex(final int pass, final int slice, final int index, final long j1, final boolean sameLane) {
+        long areaSize;
+        if (pass == 0) {
+            if (slice == 0) {
+                areaSize = index - 1L;
+            } else if (sameLane) {
+                areaSize = (long) slice * this.segmentLength + index - 1;
+            } else {
+                areaSize = (long) slice * this.segmentLength + (index == 0 ? -1 : 0);
+            }
+        } else {
+            if (sameLane) {
+                areaSize = (long) this.laneLength - this.segmentLength + index - 1;
+            } else {
+                areaSize = (long) this.laneLength - this.segmentLength + (index == 0 ? -1 : 0);
+            }
+        }
+        long relative = (j1 * j1) >>> 32;
+        relative = areaSize - 1 - ((areaSize * relative) >>> 32);
+        long startPosition = 0;
+        if (pass != 0) {
+            startPosition = slice == SYNC_POINTS - 1 ? 0 : (long) (slice + 1) * this.segmentLength;
+        }
+        return (int) ((startPosition + relative) % this.laneLength);
+    }
+
+    private void nextAddresses(final long[] addresses, final long[] input, final long[] zero) {
+        input[6]++;
+        this.compress(zero, 0, input, 0, addresses, 0, false);
+        this.compress(zero, 0, addresses, 0, addresses, 0, false);
+    }
+
+    /**
+     * Compression function G, next = G(previous, reference), xored with the previous content of next if requested.
+     */
+    private void compress(final long[] previous, final int previousOffset, final long[] reference, final int referenceOffset,
+                          final long[] next, final int nextOffset, final boolean withXor) {
+        long[] rr = this.r;
+        long[] t = this.tmp;
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            rr[i] = previous[previousOffset + i] ^ reference[referenceOffset + i];
+        }
+        if (withXor) {
+            for (int i = 0; i < BLOCK_WORDS; i++) {
+                t[i] = rr[i] ^ next[nextOffset + i];
+            }
+        } else {
+            System.arraycopy(rr, 0, t, 0, BLOCK_WORDS);
+        }
+        for (int[] column : COLUMNS) {
+            round(rr, column);
+        }
+        for (int[] row : ROWS) {
+            round(rr, row);
+        }
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            next[nextOffset + i] = t[i] ^ rr[i];
+        }
+    }
+
+    private static void round(final long[] v, final int[] i) {
+        g(v, i[0], i[4], i[8], i[12]);
+        g(v, i[1], i[5], i[9], i[13]);
+        g(v, i[2], i[6], i[10], i[14]);
+        g(v, i[3], i[7], i[11], i[15]);
+        g(v, i[0], i[5], i[10], i[15]);
+        g(v, i[1], i[6], i[11], i[12]);
+        g(v, i[2], i[7], i[8], i[13]);
+        g(v, i[3], i[4], i[9], i[14]);
+    }
+
+    private static void g(final long[] v, final int a, final int b, final int c, final int d) {
+        v[a] = blaMka(v[a], v[b]);
+        v[d] = Long.rotateRight(v[d] ^ v[a], 32);
+        v[c] = blaMka(v[c], v[d]);
+        v[b] = Long.rotateRight(v[b] ^ v[c], 24);
+        v[a] = blaMka(v[a], v[b]);
+        v[d] = Long.rotateRight(v[d] ^ v[a], 16);
+        v[c] = blaMka(v[c], v[d]);
+        v[b] = Long.rotateRight(v[b] ^ v[c], 63);
+    }
+
+    private static long blaMka(final long x, final long y) {
+        return x + y + 2 * (x & 0xFFFFFFFFL) * (y & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Xor the last blocks of every lane and hash the result.
+     */
+    private byte[] finish(final int length) {
+        long[] last = new long[BLOCK_WORDS];
+        for (int lane = 0; lane < this.lanes; lane++) {
+            int offset = (lane * this.laneLength + this.laneLength - 1) * BLOCK_WORDS;
+            for (int i = 0; i < BLOCK_WORDS; i++) {
+                last[i] ^= this.blocks[offset + i];
+            }
+        }
+        byte[] bytes = new byte[BLOCK_SIZE];
+        for (int i = 0; i < BLOCK_WORDS; i++) {
+            writeLong(bytes, i << 3, last[i]);
+        }
+        return variableHash(bytes, length);
+    }
+
+    static long readLong(final byte[] b, final int offset) {
+        return (b[offset] & 0xFFL)
+                | (b[offset + 1] & 0xFFL) << 8
+                | (b[offset + 2] & 0xFFL) << 16
+                | (b[offset + 3] & 0xFFL) << 24
+                | (b[offset + 4] & 0xFFL) << 32
+                | (b[offset + 5] & 0xFFL) << 40
+                | (b[offset + 6] & 0xFFL) << 48
+                | (b[offset + 7] & 0xFFL) << 56;
+    }
+
+    private static void writeLong(final byte[] b, final int offset, final long value) {
+        for (int i = 0; i < 8; i++) {
+            b[offset + i] = (byte) (value >>> (i << 3));
+        }
+    }
+
+    private static void writeInt(final byte[] b, final int offset, final int value) {
+        for (int i = 0; i < 4; i++) {
+            b[offset + i] = (byte) (value >>> (i << 3));
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Encryption implementation using the Argon2id memory hard algorithm, in pure Java.
+ * Every value gets its own random salt from the {@link SaltGenerator}, and is encoded in the PHC string format with its parameters:
+ * $argon2id$v=19$m=memory,t=iterations,p=parallelism$salt$hash, salt and hash being base 64 encoded without padding.
+ * The memory cost bounds the number of concurrent computations on a host: m KB are allocated for every computation.
+ * Immutable class.
+ * @author Grégory Van den Borre
+ */
+public final class Argon2EncryptionTool implements EncryptionTool {
+
+    /**
+     * Format identifier of the encrypted values.
+     */
+    public static final String IDENTIFIER = "argon2id";
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final int HASH_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+
+    /**
+     * Memory cost, in KB.
+     */
+    private final int memory;
+
+    /**
+     * Number of passes over the memory.
+     */
+    private final int iterations;
+
+    /**
+     * Number of lanes.
+     */
+    private final int parallelism;
+
+    /**
+     * Create a new instance with the minimum parameters recommended by OWASP: 19MB of memory, 2 iterations and 1 lane.
+     */
+    public Argon2EncryptionTool() {
+        this(19 * 1024, 2, 1);
+    }
+
+    /**
+     * Create a new instance.
+     * @param memory Memory cost, in KB, at least 8 per lane.
+     * @param iterations Number of passes over the memory, at least 1.
+     * @param parallelism Number of lanes, at least 1.
+     * @throws IllegalArgumentException If a parameter is out of range.
+     */
+    public Argon2EncryptionTool(int memory, int iterations, int parallelism) {
+        super();
+        Argon2.checkParameters(SALT_LENGTH, memory, iterations, parallelism, HASH_LENGTH);
+        this.memory = memory;
+        this.iterations = iterations;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String encrypt(final String toEncrypt) {
+        Objects.requireNonNull(toEncrypt);
+        byte[] salt = SaltGenerator.getInstance().generate(SALT_LENGTH);
+        byte[] hash = Argon2.hash(toEncrypt.getBytes(StandardCharsets.UTF_8), salt, this.memory, this.iterations, this.parallelism, HASH_LENGTH);
+        return "$" + IDENTIFIER + "$v=" + Argon2.VERSION
+                + "$m=" + this.memory + ",t=" + this.iterations + ",p=" + this.parallelism
+                + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+    }
+
+    /**
+     * Check a clear value against an Argon2id encrypted value, with the parameters of the encrypted value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return true if they match, false otherwise.
+     * @throws IllegalArgumentException If the encrypted value is not a valid Argon2id value.
+     */
+    @Override
+    public boolean check(final String encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        Encoded e = Encoded.parse(encrypted);
+        byte[] hash = Argon2.hash(clear.getBytes(StandardCharsets.UTF_8), e.salt, e.memory, e.iterations, e.parallelism, e.hash.length);
+        return MessageDigest.isEqual(hash, e.hash);
+    }
+
+    /**
+     * Check if an encrypted value has a lower memory cost or fewer iterations than this tool, or is not an Argon2id value.
+     * @param encrypted Encrypted value to check.
+     * @return true if the value should be encrypted again with this tool.
+     */
+    @Override
+    public boolean needsRehash(final String encrypted) {
+        Objects.requireNonNull(encrypted);
+        try {
+            Encoded e = Encoded.parse(encrypted);
+            return e.memory < this.memory || e.iterations < this.iterations;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @return The memory cost, in KB.
+     */
+    public int getMemory() {
+        return this.memory;
+    }
+
+    /**
+     * @return The number of passes over the memory.
+     */
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    /**
+     * @return The number of lanes.
+     */
+    public int getParallelism() {
+        return this.parallelism;
+    }
+
+    /**
+     * Content of an encoded value.
+     */
+    private static final class Encoded {
+
+        private final int memory;
+
+        private final int iterations;
+
+        private final int parallelism;
+
+        private final byte[] salt;
+
+        private final byte[] hash;
+
+        private Encoded(int memory, int iterations, int parallelism, byte[] salt, byte[] hash) {
+            super();
+            this.memory = memory;
+            this.iterations = iterations;
+            this.parallelism = parallelism;
+            this.salt = salt;
+            this.hash = hash;
+        }
+
+        /**
+         * @throws IllegalArgumentException If the value is not a valid Argon2id value.
+         */
+        private static Encoded parse(final String value) {
+            String[] parts = value.split("\\$", -1);
+            if (parts.length != 6 || !parts[0].isEmpty() || !IDENTIFIER.equals(parts[1]) || !parts[2].equals("v=" + Argon2.VERSION)) {
+                throw new IllegalArgumentException("Not an Argon2id version 19 value.");
+            }
+            String[] parameters = parts[3].split(",", -1);
+            if (parameters.length != 3 || !parameters[0].startsWith("m=") || !parameters[1].startsWith("t=") || !parameters[2].startsWith("p=")) {
+                throw new IllegalArgumentException("Invalid Argon2id parameters: " + parts[3]);
+            }
+            int memory = Integer.parseInt(parameters[0].substring(2));
+            int iterations = Integer.parseInt(parameters[1].substring(2));
+            int parallelism = Integer.parseInt(parameters[2].substring(2));
+            byte[] salt = Base64.getDecoder().decode(parts[4]);
+            byte[] hash = Base64.getDecoder().decode(parts[5]);
+            Argon2.checkParameters(salt.length, memory, iterations, parallelism, hash.length);
+            return new Encoded(memory, iterations, parallelism, salt, hash);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Read only character view over a range of single byte characters, no byte is copied.
+ * Each byte is read as the character with the same unsigned value, so ASCII content is read as is.
+ *
+ * @author Grégory Van den Borre
+ */
+final class AsciiCharSequence implements CharSequence {
+
+    /**
+     * Buffer holding the characters, only read with absolute indexes.
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * Index of the first character in the buffer, inclusive.
+     */
+    private final int start;
+
+    /**
+     * Index of the last character in the buffer, exclusive.
+     */
+    private final int end;
+
+    /**
+     * Create a view over a range of a buffer.
+     *
+     * @param buffer Buffer to read.
+     * @param start  Index of the first character, inclusive.
+     * @param end    Index of the last character, exclusive.
+     * @throws NullPointerException      If buffer is null.
+     * @throws IndexOutOfBoundsException If the range is not within the buffer limit.
+     */
+    AsciiCharSequence(ByteBuffer buffer, int start, int end) {
+        super();
+        Objects.requireNonNull(buffer);
+        Objects.checkFromToIndex(start, end, buffer.limit());
+        this.buffer = buffer;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Create a view over the remaining bytes of a buffer, the buffer position is not modified.
+     *
+     * @param buffer Buffer to read.
+     * @throws NullPointerException If buffer is null.
+     */
+    AsciiCharSequence(ByteBuffer buffer) {
+        this(buffer, buffer.position(), buffer.limit());
+    }
+
+    @Override
+    public int length() {
+        return this.end - this.start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        Objects.checkIndex(index, this.length());
+        return (char) (this.buffer.get(this.start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        Objects.checkFromToIndex(from, to, this.length());
+        return new AsciiCharSequence(this.buffer, this.start + from, this.start + to);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[this.length()];
+        this.buffer.get(this.start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
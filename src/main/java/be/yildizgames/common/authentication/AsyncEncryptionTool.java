@@ -0,0 +1,52 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Encrypt and check values without blocking the calling thread.
+ * @author Grégory Van den Borre
+ */
+public interface AsyncEncryptionTool extends EncryptionTool {
+
+    /**
+     * Encrypt a value asynchronously.
+     * @param toEncrypt Value to encrypt.
+     * @return Future completed with the encrypted value, or exceptionally if the value cannot be encrypted
+     * or if the request is rejected.
+     */
+    CompletableFuture<String> encryptAsync(String toEncrypt);
+
+    /**
+     * Check asynchronously if an encrypted and a clear value have the same encrypted value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return Future completed with true if they match, false otherwise, or exceptionally if the values cannot be checked
+     * or if the request is rejected.
+     */
+    CompletableFuture<Boolean> checkAsync(String encrypted, String clear);
+}
@@ -24,6 +24,11 @@
 
 package be.yildizgames.common.authentication;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Check the login password against the value expected.
  * @author Grégory Van den Borre
@@ -39,4 +44,99 @@ public interface AuthenticationChecker {
      * @throws CredentialException If the check fails.
      */
     Credentials check(String login, String password) throws CredentialException;
+
+    /**
+     * Check if provided login and password are valid against the given rules, without throwing any exception.
+     *
+     * @param login    Login to check, null is allowed.
+     * @param password Password to check, provided in clear, null is allowed.
+     * @return The validation result, with the errors if the check fails.
+     */
+    default ValidationResult validate(String login, String password) {
+        try {
+            this.check(login, password);
+            return ValidationResult.VALID;
+        } catch (CredentialException e) {
+            return ValidationResult.of(e.getErrors());
+        }
+    }
+
+    /**
+     * Check if provided login and password are valid against the given rules, without throwing any exception.
+     *
+     * @param login    Login to check, null is allowed.
+     * @param password Password to check, provided in clear, null is allowed.
+     * @return The validation result, with the errors if the check fails.
+     */
+    default ValidationResult validate(CharSequence login, CharSequence password) {
+        return this.validate(login == null ? null : login.toString(), password == null ? null : password.toString());
+    }
+
+    /**
+     * Check if provided login and password are valid against the given rules, without throwing any exception.
+     * The arrays are not modified nor kept, the password can be cleared once the check is done.
+     *
+     * @param login    Login to check, null is allowed.
+     * @param password Password to check, provided in clear, null is allowed.
+     * @return The validation result, with the errors if the check fails.
+     */
+    default ValidationResult validateChars(char[] login, char[] password) {
+        return this.validate(login == null ? null : CharBuffer.wrap(login), password == null ? null : CharBuffer.wrap(password));
+    }
+
+    /**
+     * Check if provided single byte encoded login and password are valid against the given rules, without throwing any exception.
+     * The bytes between the position and the limit of each buffer are checked, the buffers are not modified.
+     *
+     * @param login    Login to check, null is allowed.
+     * @param password Password to check, provided in clear, null is allowed.
+     * @return The validation result, with the errors if the check fails.
+     */
+    default ValidationResult validateAscii(ByteBuffer login, ByteBuffer password) {
+        return this.validate(login == null ? null : new AsciiCharSequence(login), password == null ? null : new AsciiCharSequence(password));
+    }
+
+    /**
+     * Check if single byte encoded login and password, read from the same array, are valid against the given rules,
+     * without throwing any exception. The array is not modified nor kept.
+     *
+     * @param data           Array holding the login and the password, typically a receive buffer.
+     * @param loginOffset    Index of the first login byte.
+     * @param loginLength    Number of login bytes.
+     * @param passwordOffset Index of the first password byte.
+     * @param passwordLength Number of password bytes.
+     * @return The validation result, with the errors if the check fails.
+     * @throws NullPointerException      If data is null.
+     * @throws IndexOutOfBoundsException If a range is not within the array.
+     */
+    default ValidationResult validateAscii(byte[] data, int loginOffset, int loginLength, int passwordOffset, int passwordLength) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        return this.validate(new AsciiCharSequence(buffer, loginOffset, loginOffset + loginLength),
+                new AsciiCharSequence(buffer, passwordOffset, passwordOffset + passwordLength));
+    }
+
+    /**
+     * Validate a batch of credentials in parallel on the common fork join pool, without throwing any exception.
+     *
+     * @param credentials Credentials to validate, the password is provided in clear.
+     * @return The validation results, in the same order as the credentials.
+     * @throws NullPointerException If credentials is null or contains null.
+     */
+    default List<ValidationResult> validateAll(List<Credentials> credentials) {
+        return this.validateAll(credentials, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validate a batch of credentials in parallel on a given fork join pool, without throwing any exception.
+     *
+     * @param credentials Credentials to validate, the password is provided in clear.
+     * @param pool        Pool executing the validations.
+     * @return The validation results, in the same order as the credentials.
+     * @throws NullPointerException If credentials or pool is null, or if credentials contains null.
+     */
+    default List<ValidationResult> validateAll(List<Credentials> credentials, ForkJoinPool pool) {
+        Credentials[] values = credentials.toArray(new Credentials[0]);
+        return BulkTask.run(new ValidationResult[values.length],
+                i -> this.validate(values[i].login, values[i].password), BulkTask.VALIDATION_THRESHOLD, pool);
+    }
 }
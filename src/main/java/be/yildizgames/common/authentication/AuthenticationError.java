@@ -72,6 +72,16 @@ public enum AuthenticationError {
      */
     PASS_TOO_SHORT("connect.pwd_short"),
 
+    /**
+     * The password does not contain enough character classes or is too easy to guess.
+     */
+    PASS_TOO_WEAK("connect.pwd_weak"),
+
+    /**
+     * The password is part of a list of breached passwords.
+     */
+    PASS_BREACHED("connect.pwd_breached"),
+
     MAIL_INVALID("email.invalid"),
 
     MAIL_EMPTY("email.mandatory");
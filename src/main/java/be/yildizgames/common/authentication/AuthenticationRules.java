@@ -25,6 +25,7 @@
 package be.yildizgames.common.authentication;
 
 import java.util.Objects;
+import java.util.Properties;
 import java.util.regex.Pattern;
 
 /**
@@ -43,6 +44,36 @@ public final class AuthenticationRules {
     public static final AuthenticationRules DEFAULT = new AuthenticationRules(20, 20, 3, 5, Pattern.compile("[a-zA-Z0-9]*"),
             Pattern.compile("[a-zA-Z0-9]*"));
 
+    /**
+     * Property key for the login minimum length.
+     */
+    public static final String LOGIN_MIN_KEY = "authentication.login.min";
+
+    /**
+     * Property key for the login maximum length.
+     */
+    public static final String LOGIN_MAX_KEY = "authentication.login.max";
+
+    /**
+     * Property key for the login pattern.
+     */
+    public static final String LOGIN_PATTERN_KEY = "authentication.login.pattern";
+
+    /**
+     * Property key for the password minimum length.
+     */
+    public static final String PASS_MIN_KEY = "authentication.password.min";
+
+    /**
+     * Property key for the password maximum length.
+     */
+    public static final String PASS_MAX_KEY = "authentication.password.max";
+
+    /**
+     * Property key for the password pattern.
+     */
+    public static final String PASS_PATTERN_KEY = "authentication.password.pattern";
+
     /**
      * Login maximum length.
      */
@@ -111,4 +142,34 @@ public final class AuthenticationRules {
         this.loginPattern = loginPattern;
         this.passPattern = passPattern;
     }
+
+    /**
+     * Create rules from properties, a missing property takes the value of the default rules.
+     * The keys are {@link #LOGIN_MIN_KEY}, {@link #LOGIN_MAX_KEY}, {@link #LOGIN_PATTERN_KEY},
+     * {@link #PASS_MIN_KEY}, {@link #PASS_MAX_KEY} and {@link #PASS_PATTERN_KEY}.
+     * @param properties Properties to read.
+     * @return The created rules.
+     * @throws NullPointerException If properties is null.
+     * @throws IllegalArgumentException If a value is not a valid number or pattern, or if the values are not consistent.
+     */
+    public static AuthenticationRules fromProperties(Properties properties) {
+        Objects.requireNonNull(properties);
+        return new AuthenticationRules(
+                intProperty(properties, LOGIN_MAX_KEY, DEFAULT.loginMaxLength),
+                intProperty(properties, PASS_MAX_KEY, DEFAULT.passMaxLength),
+                intProperty(properties, LOGIN_MIN_KEY, DEFAULT.loginMinLength),
+                intProperty(properties, PASS_MIN_KEY, DEFAULT.passMinLength),
+                patternProperty(properties, LOGIN_PATTERN_KEY, DEFAULT.loginPattern),
+                patternProperty(properties, PASS_PATTERN_KEY, DEFAULT.passPattern));
+    }
+
+    private static int intProperty(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Integer.parseInt(value.trim());
+    }
+
+    private static Pattern patternProperty(Properties properties, String key, Pattern defaultValue) {
+        String value = properties.getProperty(key);
+        return value == null ? defaultValue : Pattern.compile(value.trim());
+    }
 }
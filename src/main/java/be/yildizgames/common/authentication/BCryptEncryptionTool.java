@@ -24,48 +24,273 @@
 
 package be.yildizgames.common.authentication;
 
-import org.mindrot.jbcrypt.BCrypt;
-
+import java.nio.CharBuffer;
+import java.time.Duration;
 import java.util.Objects;
 
 /**
- * Encryption implementation using the BCrypt algorithm.
+ * Encryption implementation using the BCrypt algorithm, producing $2a$ values and checking $2a$, $2b$ and $2y$ values.
+ * The cost, the base 2 logarithm of the number of rounds, is part of the salt and is stored in every encrypted value,
+ * so values encrypted with a lower cost are still checked, and can be detected with needsRehash.
+ * The cost can be calibrated on the current machine to meet a target duration.
+ * Unless a fixed salt is provided, every value gets its own salt, from the {@link SaltGenerator}.
+ * The clear values can be provided as char or UTF-8 byte arrays, they are not copied nor modified,
+ * so the caller can clear them once encrypted or checked.
  * @author Grégory Van den Borre
  */
 public class BCryptEncryptionTool implements EncryptionTool {
 
     /**
-     * Salt.
+     * Cost used when none is provided.
+     */
+    private static final int DEFAULT_COST = 10;
+
+    /**
+     * Fixed salt, null if a new salt is generated for every value.
      */
     private final String salt;
 
     /**
-     * Create a new instance using a provided salt.
+     * Cost used to encrypt, -1 if the salt is not a BCrypt salt.
+     */
+    private final int cost;
+
+    /**
+     * Create a new instance using a provided salt for every value.
+     * The same clear values give the same encrypted values, prefer the constructors generating a salt per value.
      * @param salt Salt to use.
      */
     public BCryptEncryptionTool(String salt) {
         super();
         Objects.requireNonNull(salt);
         this.salt = salt;
+        this.cost = parseCost(salt);
     }
 
     /**
-     * Create a new instance generating a salt.
+     * Create a new instance generating a salt for every value, with a cost of 10.
      */
     public BCryptEncryptionTool() {
-        this(BCrypt.gensalt());
+        this(DEFAULT_COST);
+    }
+
+    /**
+     * Create a new instance generating a salt for every value with a given cost.
+     * @param cost Base 2 logarithm of the number of rounds, between 4 and 30.
+     * @throws IllegalArgumentException If the cost is out of range.
+     */
+    public BCryptEncryptionTool(int cost) {
+        super();
+        this.salt = null;
+        this.cost = checkCost(cost);
+    }
+
+    /**
+     * Create a new instance with the highest cost meeting a target duration on the current machine.
+     * The duration is measured for every cost from minCost, and the cost is increased while the next one,
+     * twice as long, is expected to stay under the target. The expectation is checked with the measured duration of
+     * the chosen cost, if it is beyond the target, the previous cost is used.
+     * The calibration takes up to around 4 times the target duration: every cost is measured twice, and the duration
+     * doubles with every cost, so the measures before the last one take about as long as the last one.
+     * @param target Maximum duration of an encryption or a check.
+     * @param minCost Minimum cost, used even if it does not meet the target, between 4 and 30.
+     * @param maxCost Maximum cost, between minCost and 30.
+     * @return The calibrated encryption tool.
+     * @throws NullPointerException If target is null.
+     * @throws IllegalArgumentException If a cost is out of range or the target is not positive.
+     */
+    public static BCryptEncryptionTool calibrate(final Duration target, final int minCost, final int maxCost) {
+        Objects.requireNonNull(target);
+        checkCost(minCost);
+        checkCost(maxCost);
+        if (maxCost < minCost) {
+            throw new IllegalArgumentException("Maximum cost must be greater or equals to minimum cost.");
+        }
+        if (target.isNegative() || target.isZero()) {
+            throw new IllegalArgumentException("Target must be positive.");
+        }
+        long targetNanos = target.toNanos();
+        // Warm up the hashing code so the first measure is not done in interpreted mode.
+        for (int i = 0; i < 3; i++) {
+            BCryptEngine.get().hash("calibration", BCryptEngine.MIN_COST);
+        }
+        int cost = minCost;
+        long time = measure(cost);
+        while (cost < maxCost && time * 2 <= targetNanos) {
+            cost++;
+            time = measure(cost);
+        }
+        if (time > targetNanos && cost > minCost) {
+            cost--;
+        }
+        return new BCryptEncryptionTool(cost);
+    }
+
+    /**
+     * Measure the duration of an encryption, keeping the best of two runs to filter out pauses.
+     */
+    private static long measure(final int cost) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            BCryptEngine.get().hash("calibration", cost);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    private static int checkCost(final int cost) {
+        if (cost < BCryptEngine.MIN_COST || cost > BCryptEngine.MAX_COST) {
+            throw new IllegalArgumentException("Cost must be between " + BCryptEngine.MIN_COST + " and " + BCryptEngine.MAX_COST + ", value is " + cost);
+        }
+        return cost;
+    }
+
+    /**
+     * Extract the cost from a BCrypt salt or encrypted value, formatted as $2a$10$...
+     * @return The cost, or -1 if the value is not a BCrypt value.
+     */
+    private static int parseCost(final String value) {
+        if (value.length() < 7 || !value.startsWith("$2")) {
+            return -1;
+        }
+        int start = value.charAt(2) == '$' ? 3 : 4;
+        if (value.charAt(start - 1) != '$' || value.length() < start + 3 || value.charAt(start + 2) != '$') {
+            return -1;
+        }
+        char tens = value.charAt(start);
+        char units = value.charAt(start + 1);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + units - '0';
     }
 
     @Override
     public final String encrypt(final String toEncrypt) {
         Objects.requireNonNull(toEncrypt);
-        return BCrypt.hashpw(toEncrypt, this.salt);
+        return this.encrypt((CharSequence) toEncrypt);
+    }
+
+    /**
+     * Encrypt a clear value stored in a char array.
+     * @param toEncrypt Clear value to encrypt, not modified.
+     * @return The encrypted value.
+     * @throws IllegalArgumentException If the fixed salt is not a valid BCrypt salt.
+     */
+    public final String encrypt(final char[] toEncrypt) {
+        Objects.requireNonNull(toEncrypt);
+        return this.encrypt(CharBuffer.wrap(toEncrypt));
     }
 
+    /**
+     * Encrypt a UTF-8 encoded clear value.
+     * @param toEncrypt Clear value to encrypt, not modified.
+     * @return The encrypted value.
+     * @throws IllegalArgumentException If the fixed salt is not a valid BCrypt salt.
+     */
+    public final String encrypt(final byte[] toEncrypt) {
+        Objects.requireNonNull(toEncrypt);
+        return this.salt == null ? BCryptEngine.get().hash(toEncrypt, this.cost) : BCryptEngine.get().hash(toEncrypt, this.salt);
+    }
+
+    private String encrypt(final CharSequence toEncrypt) {
+        return this.salt == null ? BCryptEngine.get().hash(toEncrypt, this.cost) : BCryptEngine.get().hash(toEncrypt, this.salt);
+    }
+
+    /**
+     * Check a clear value against a BCrypt encrypted value, with the cost of the encrypted value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return true if they match, false otherwise.
+     * @throws IllegalArgumentException If the encrypted value is not a valid BCrypt value.
+     */
     @Override
     public final boolean check(final String encrypted, final String clear) {
         Objects.requireNonNull(encrypted);
         Objects.requireNonNull(clear);
-        return BCrypt.checkpw(clear, encrypted);
+        return BCryptEngine.get().check(clear, encrypted);
+    }
+
+    /**
+     * Check a clear value stored in a char array against a BCrypt encrypted value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check, not modified.
+     * @return true if they match, false otherwise.
+     * @throws IllegalArgumentException If the encrypted value is not a valid BCrypt value.
+     */
+    public final boolean check(final String encrypted, final char[] clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        return BCryptEngine.get().check(CharBuffer.wrap(clear), encrypted);
+    }
+
+    /**
+     * Check a UTF-8 encoded clear value against a BCrypt encrypted value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check, not modified.
+     * @return true if they match, false otherwise.
+     * @throws IllegalArgumentException If the encrypted value is not a valid BCrypt value.
+     */
+    public final boolean check(final String encrypted, final byte[] clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        return BCryptEngine.get().check(clear, encrypted);
+    }
+
+    /**
+     * Check a clear value against a parsed BCrypt value, without decoding its salt again.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return true if they match, false otherwise.
+     */
+    @Override
+    public final boolean check(final PasswordHash encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        return BCryptEngine.get().check(clear, encrypted);
+    }
+
+    /**
+     * Check a clear value stored in a char array against a parsed BCrypt value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check, not modified.
+     * @return true if they match, false otherwise.
+     */
+    public final boolean check(final PasswordHash encrypted, final char[] clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        return BCryptEngine.get().check(CharBuffer.wrap(clear), encrypted);
+    }
+
+    /**
+     * Check a UTF-8 encoded clear value against a parsed BCrypt value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check, not modified.
+     * @return true if they match, false otherwise.
+     */
+    public final boolean check(final PasswordHash encrypted, final byte[] clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        return BCryptEngine.get().check(clear, encrypted);
+    }
+
+    /**
+     * Check if an encrypted value has a lower cost than this tool, or is not a BCrypt value.
+     * @param encrypted Encrypted value to check.
+     * @return true if the value should be encrypted again with this tool.
+     */
+    @Override
+    public final boolean needsRehash(final String encrypted) {
+        Objects.requireNonNull(encrypted);
+        int encryptedCost = parseCost(encrypted);
+        return encryptedCost < 0 || encryptedCost < this.cost;
+    }
+
+    /**
+     * @return The cost used to encrypt, -1 if the salt is not a BCrypt salt.
+     */
+    public final int getCost() {
+        return this.cost;
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+/**
+ * BLAKE2b hash function (RFC 7693), without key, with a digest from 1 to 64 bytes.
+ * Used by Argon2 for the initial and final hashes.
+ * Not thread safe, an instance computes a single digest.
+ *
+ * @author Grégory Van den Borre
+ */
+final class Blake2b {
+
+    /**
+     * Maximum digest size, in bytes.
+     */
+    static final int MAX_DIGEST_SIZE = 64;
+
+    private static final int BLOCK_SIZE = 128;
+
+    private static final long[] IV = {
+            0x6a09e667f3bcc908L, 0xbb67ae8584caa73bL, 0x3c6ef372fe94f82bL, 0xa54ff53a5f1d36f1L,
+            0x510e527fade682d1L, 0x9b05688c2b3e6c1fL, 0x1f83d9abfb41bd6bL, 0x5be0cd19137e2179L
+    };
+
+    private static final byte[][] SIGMA = {
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+            {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3},
+            {11, 8, 12, 0, 5, 2, 15, 13, 10, 14, 3, 6, 7, 1, 9, 4},
+            {7, 9, 3, 1, 13, 12, 11, 14, 2, 6, 5, 10, 4, 0, 15, 8},
+            {9, 0, 5, 7, 2, 4, 10, 15, 14, 1, 11, 12, 6, 8, 3, 13},
+            {2, 12, 6, 10, 0, 11, 8, 3, 4, 13, 7, 5, 15, 14, 1, 9},
+            {12, 5, 1, 15, 14, 13, 4, 10, 0, 7, 6, 3, 9, 2, 8, 11},
+            {13, 11, 7, 14, 12, 1, 3, 9, 5, 0, 15, 4, 8, 6, 2, 10},
+            {6, 15, 14, 9, 11, 3, 0, 8, 12, 2, 13, 7, 1, 4, 10, 5},
+            {10, 2, 8, 4, 7, 6, 1, 5, 15, 11, 9, 14, 3, 12, 13, 0},
+            {0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15},
+            {14, 10, 4, 8, 9, 15, 13, 6, 1, 12, 0, 2, 11, 7, 5, 3}
+    };
+
+    /**
+     * Chained state.
+     */
+    private final long[] h = new long[8];
+
+    /**
+     * Message words and working vector of the compression.
+     */
+    private final long[] m = new long[16];
+
+    private final long[] v = new long[16];
+
+    /**
+     * Pending bytes, the last block must be compressed with the final flag, so a full block is only compressed
+     * when more bytes arrive.
+     */
+    private final byte[] buffer = new byte[BLOCK_SIZE];
+
+    private int buffered;
+
+    /**
+     * Number of bytes compressed, the 128 bits counter high part is never used for the Argon2 input sizes.
+     */
+    private long counter;
+
+    /**
+     * Digest size, in bytes.
+     */
+    private final int digestSize;
+
+    /**
+     * Create a new hash.
+     *
+     * @param digestSize Digest size, from 1 to 64 bytes.
+     * @throws IllegalArgumentException If the size is out of range.
+     */
+    Blake2b(final int digestSize) {
+        super();
+        if (digestSize < 1 || digestSize > MAX_DIGEST_SIZE) {
+            throw new IllegalArgumentException("Digest size must be between 1 and 64, value is " + digestSize);
+        }
+        this.digestSize = digestSize;
+        System.arraycopy(IV, 0, this.h, 0, IV.length);
+        this.h[0] ^= 0x01010000L ^ digestSize;
+    }
+
+    /**
+     * Compute the digest of a value in one call.
+     *
+     * @param digestSize Digest size, from 1 to 64 bytes.
+     * @param value      Value to hash.
+     * @return The digest.
+     */
+    static byte[] digest(final int digestSize, final byte[] value) {
+        Blake2b b = new Blake2b(digestSize);
+        b.update(value, 0, value.length);
+        byte[] result = new byte[digestSize];
+        b.digest(result, 0);
+        return result;
+    }
+
+    /**
+     * Add an int, in little endian order.
+     *
+     * @param value Value to add.
+     */
+    void updateInt(final int value) {
+        this.update((byte) value);
+        this.update((byte) (value >>> 8));
+        this.update((byte) (value >>> 16));
+        this.update((byte) (value >>> 24));
+    }
+
+    /**
+     * Add a byte.
+     *
+     * @param value Value to add.
+     */
+    void update(final byte value) {
+        if (this.buffered == BLOCK_SIZE) {
+            this.counter += BLOCK_SIZE;
+            this.compress(this.buffer, 0, false);
+            this.buffered = 0;
+        }
+        this.buffer[this.buffered++] = value;
+    }
+
+    /**
+     * Add bytes.
+     *
+     * @param value  Array holding the bytes.
+     * @param offset Index of the first byte.
+     * @param length Number of bytes.
+     */
+    void update(final byte[] value, final int offset, final int length) {
+        int position = offset;
+        int remaining = length;
+        while (remaining > 0) {
+            if (this.buffered == BLOCK_SIZE) {
+                this.counter += BLOCK_SIZE;
+                this.compress(this.buffer, 0, false);
+                this.buffered = 0;
+            }
+            int count = Math.min(BLOCK_SIZE - this.buffered, remaining);
+            System.arraycopy(value, position, this.buffer, this.buffered, count);
+            this.buffered += count;
+            position += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Complete the hash and write the digest.
+     *
+     * @param out    Array receiving the digest.
+     * @param offset Index of the first byte to write.
+     */
+    void digest(final byte[] out, final int offset) {
+        this.counter += this.buffered;
+        for (int i = this.buffered; i < BLOCK_SIZE; i++) {
+            this.buffer[i] = 0;
+        }
+        this.compress(this.buffer, 0, true);
+        for (int i = 0; i < this.digestSize; i++) {
+            out[offset + i] = (byte) (this.h[i >>> 3] >>> ((i & 7) << 3));
+        }
+    }
+
+    private void compress(final byte[] block, final int offset, final boolean last) {
+        for (int i = 0; i < 16; i++) {
+            this.m[i] = Argon2.readLong(block, offset + (i << 3));
+        }
+        System.arraycopy(this.h, 0, this.v, 0, 8);
+        System.arraycopy(IV, 0, this.v, 8, 8);
+        this.v[12] ^= this.counter;
+        if (last) {
+            this.v[14] = ~this.v[14];
+        }
+        for (byte[] s : SIGMA) {
+            this.g(0, 4, 8, 12, this.m[s[0]], this.m[s[1]]);
+            this.g(1, 5, 9, 13, this.m[s[2]], this.m[s[3]]);
+            this.g(2, 6, 10, 14, this.m[s[4]], this.m[s[5]]);
+            this.g(3, 7, 11, 15, this.m[s[6]], this.m[s[7]]);
+            this.g(0, 5, 10, 15, this.m[s[8]], this.m[s[9]]);
+            this.g(1, 6, 11, 12, this.m[s[10]], this.m[s[11]]);
+            this.g(2, 7, 8, 13, this.m[s[12]], this.m[s[13]]);
+            this.g(3, 4, 9, 14, this.m[s[14]], this.m[s[15]]);
+        }
+        for (int i = 0; i < 8; i++) {
+            this.h[i] ^= this.v[i] ^ this.v[i + 8];
+        }
+    }
+
+    private void g(final int a, final int b, final int c, final int d, final long x, final long y) {
+        long[] w = this.v;
+        w[a] = w[a] + w[b] + x;
+        w[d] = Long.rotateRight(w[d] ^ w[a], 32);
+        w[c] = w[c] + w[d];
+        w[b] = Long.rotateRight(w[b] ^ w[c], 24);
+        w[a] = w[a] + w[b] + y;
+        w[d] = Long.rotateRight(w[d] ^ w[a], 16);
+        w[c] = w[c] + w[d];
+        w[b] = Long.rotateRight(w[b] ^ w[c], 63);
+    }
+}
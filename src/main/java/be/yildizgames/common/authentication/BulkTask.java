@@ -0,0 +1,125 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * Execute an operation for a batch of items in parallel on a fork join pool, the results are stored at the index of
+ * their item. The ranges are split in two until they contain at most a threshold number of items.
+ *
+ * @param <T> Result type.
+ * @author Grégory Van den Borre
+ */
+final class BulkTask<T> extends RecursiveAction {
+
+    /**
+     * Threshold for the validations, a validation takes less than a microsecond, so a task validates a large range
+     * to amortize the splitting cost.
+     */
+    static final int VALIDATION_THRESHOLD = 512;
+
+    /**
+     * Threshold for the hashes, a hash takes milliseconds, so the ranges are split down to a single item, letting the
+     * idle workers steal every remaining hash.
+     */
+    static final int HASHING_THRESHOLD = 1;
+
+    /***/
+    private static final long serialVersionUID = -2471365081953628415L;
+
+    /**
+     * Operation to execute for an item index.
+     */
+    private final transient IntFunction<T> operation;
+
+    /**
+     * Results, shared between all tasks, each task writes its own range.
+     */
+    private final transient T[] results;
+
+    /**
+     * Number of items under which a task executes its range itself instead of splitting it.
+     */
+    private final int threshold;
+
+    /**
+     * First index of the range, inclusive.
+     */
+    private final int start;
+
+    /**
+     * Last index of the range, exclusive.
+     */
+    private final int end;
+
+    private BulkTask(IntFunction<T> operation, T[] results, int threshold, int start, int end) {
+        super();
+        this.operation = operation;
+        this.results = results;
+        this.threshold = threshold;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Execute the operation for all items and wait for the results.
+     *
+     * @param results   Array receiving the results, its length is the number of items.
+     * @param operation Operation to execute for an item index.
+     * @param threshold Number of items under which a task executes its range itself, at least 1.
+     * @param pool      Pool executing the operations.
+     * @param <T>       Result type.
+     * @return The results, in the same order as the items, immutable.
+     * @throws NullPointerException If a parameter is null.
+     */
+    static <T> List<T> run(final T[] results, final IntFunction<T> operation, final int threshold, final ForkJoinPool pool) {
+        Objects.requireNonNull(results);
+        Objects.requireNonNull(operation);
+        Objects.requireNonNull(pool);
+        pool.invoke(new BulkTask<>(operation, results, threshold, 0, results.length));
+        return Collections.unmodifiableList(Arrays.asList(results));
+    }
+
+    @Override
+    protected void compute() {
+        if (this.end - this.start <= this.threshold) {
+            for (int i = this.start; i < this.end; i++) {
+                this.results[i] = this.operation.apply(i);
+            }
+        } else {
+            int middle = (this.start + this.end) >>> 1;
+            invokeAll(new BulkTask<>(this.operation, this.results, this.threshold, this.start, middle),
+                    new BulkTask<>(this.operation, this.results, this.threshold, middle, this.end));
+        }
+    }
+}
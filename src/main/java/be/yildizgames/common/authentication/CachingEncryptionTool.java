@@ -0,0 +1,244 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Remember the successful checks for a short time, so a client reconnecting several times does not pay a full hash
+ * computation every time.
+ * An entry is kept per login, holding the encrypted value it was checked against and an HMAC of the clear value with a
+ * random key generated for this instance: the clear value is never kept, and the cached values are useless outside
+ * of the process. An entry is only used if the encrypted value is the same, so a password change invalidates it.
+ * Only successful checks are cached, a failed check always runs the hash computation.
+ * The cache is bounded, the least recently used entry is evicted first, and the entries expire after a fixed time.
+ * Thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class CachingEncryptionTool implements EncryptionTool {
+
+    private static final String MAC_ALGORITHM = "HmacSHA256";
+
+    private static final int KEY_LENGTH = 32;
+
+    /**
+     * Encryption tool running the hashing.
+     */
+    private final EncryptionTool delegate;
+
+    /**
+     * Time to live of an entry, in nanoseconds.
+     */
+    private final long ttl;
+
+    /**
+     * Entries, by login, in access order.
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * HMAC of the clear values, one per thread.
+     */
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Time source, in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate Encryption tool running the hashing, cannot be null.
+     * @param ttl      Time to live of a successful check, cannot be null.
+     * @param maxSize  Maximum number of entries.
+     * @throws NullPointerException     If delegate or ttl is null.
+     * @throws IllegalArgumentException If ttl is not positive or maxSize is smaller than 1.
+     */
+    public CachingEncryptionTool(EncryptionTool delegate, Duration ttl, int maxSize) {
+        this(delegate, ttl, maxSize, System::nanoTime);
+    }
+
+    CachingEncryptionTool(EncryptionTool delegate, Duration ttl, int maxSize, LongSupplier clock) {
+        super();
+        this.delegate = Objects.requireNonNull(delegate);
+        Objects.requireNonNull(ttl);
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive.");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be greater than 0.");
+        }
+        this.ttl = ttl.toNanos();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+        byte[] key = new byte[KEY_LENGTH];
+        new SecureRandom().nextBytes(key);
+        SecretKeySpec secret = new SecretKeySpec(key, MAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(MAC_ALGORITHM);
+                mac.init(secret);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(MAC_ALGORITHM + " not available.", e);
+            }
+        });
+    }
+
+    @Override
+    public String encrypt(final String toEncrypt) {
+        return this.delegate.encrypt(toEncrypt);
+    }
+
+    /**
+     * Check without a login, the encrypted value is used as the cache key.
+     *
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear     Clear value to check.
+     * @return true if they match, false otherwise.
+     */
+    @Override
+    public boolean check(final String encrypted, final String clear) {
+        return this.check(encrypted, encrypted, clear);
+    }
+
+    /**
+     * Check a clear value, using the cached result of a previous successful check of the same values if it did not expire.
+     *
+     * @param login     Login owning the encrypted value, cannot be null.
+     * @param encrypted Encrypted value to be checked against, cannot be null.
+     * @param clear     Clear value to check, cannot be null.
+     * @return true if they match, false otherwise.
+     */
+    public boolean check(final String login, final String encrypted, final String clear) {
+        Objects.requireNonNull(login);
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        byte[] mac = this.mac(encrypted, clear);
+        long now = this.clock.getAsLong();
+        Entry entry;
+        synchronized (this.entries) {
+            entry = this.entries.get(login);
+        }
+        if (entry != null && now - entry.expiration < 0 && entry.encrypted.equals(encrypted) && MessageDigest.isEqual(entry.mac, mac)) {
+            return true;
+        }
+        boolean result = this.delegate.check(encrypted, clear);
+        if (result) {
+            synchronized (this.entries) {
+                this.entries.put(login, new Entry(encrypted, mac, now + this.ttl));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean needsRehash(final String encrypted) {
+        return this.delegate.needsRehash(encrypted);
+    }
+
+    /**
+     * Forget the cached check of a login, after a password change or a logout for example.
+     *
+     * @param login Login to forget, cannot be null.
+     */
+    public void invalidate(final String login) {
+        Objects.requireNonNull(login);
+        synchronized (this.entries) {
+            this.entries.remove(login);
+        }
+    }
+
+    /**
+     * Forget all the cached checks.
+     */
+    public void invalidateAll() {
+        synchronized (this.entries) {
+            this.entries.clear();
+        }
+    }
+
+    /**
+     * @return The number of cached checks, including the expired ones not evicted yet.
+     */
+    public int size() {
+        synchronized (this.entries) {
+            return this.entries.size();
+        }
+    }
+
+    /**
+     * Compute the HMAC of a clear value bound to the encrypted value it is checked against.
+     */
+    private byte[] mac(final String encrypted, final String clear) {
+        Mac mac = this.macs.get();
+        mac.update(encrypted.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(clear.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Successful check.
+     */
+    private static final class Entry {
+
+        private final String encrypted;
+
+        private final byte[] mac;
+
+        /**
+         * Expiration time, in nanoseconds.
+         */
+        private final long expiration;
+
+        private Entry(String encrypted, byte[] mac, long expiration) {
+            super();
+            this.encrypted = encrypted;
+            this.mac = mac;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Check a value against a pattern from the authentication rules.
+ * The pattern is analysed once when the validator is compiled: a single character class repeated with * or +,
+ * like the default [a-zA-Z0-9]*, is turned into an ASCII lookup table, and the value is checked in a single pass without allocation.
+ * Any other expression falls back to the precompiled pattern, with one reusable matcher per thread.
+ * When the jdk.incubator.vector module is resolved (--add-modules jdk.incubator.vector), character and byte arrays
+ * are checked a whole vector at a time, the lookup table only handles the tail.
+ * Immutable class.
+ *
+ * @author Grégory Van den Borre
+ */
+final class CharacterValidator {
+
+    /**
+     * Number of entries in the lookup table.
+     */
+    private static final int ASCII_SIZE = 128;
+
+    /**
+     * True if the vector API module is resolved and readable, the vector scanner class cannot be loaded otherwise.
+     */
+    private static final boolean VECTOR_AVAILABLE = isVectorAvailable();
+
+    /**
+     * Allowed ASCII characters, null if the pattern could not be translated into a lookup table.
+     */
+    private final boolean[] allowed;
+
+    /**
+     * True if an empty value matches the pattern.
+     */
+    private final boolean acceptEmpty;
+
+    /**
+     * Fallback matcher for complex patterns, null if the lookup table is used.
+     */
+    private final ThreadLocal<Matcher> matchers;
+
+    /**
+     * Vector scanner for arrays, null if the vector API is not available or the lookup table is not used.
+     */
+    private final VectorCharacterScanner scanner;
+
+    private CharacterValidator(boolean[] allowed, boolean acceptEmpty, Pattern pattern, boolean vectorized) {
+        this.allowed = allowed;
+        this.acceptEmpty = acceptEmpty;
+        this.matchers = allowed == null ? ThreadLocal.withInitial(() -> pattern.matcher("")) : null;
+        this.scanner = vectorized
+                && allowed != null
+                && VectorCharacterScanner.countRanges(allowed) > 0
+                && VectorCharacterScanner.countRanges(allowed) <= VectorCharacterScanner.MAX_RANGES
+                ? new VectorCharacterScanner(allowed)
+                : null;
+    }
+
+    /**
+     * Analyse a pattern and build the matching validator.
+     *
+     * @param pattern Pattern to analyse.
+     * @return The validator for the pattern.
+     * @throws NullPointerException If pattern is null.
+     */
+    static CharacterValidator compile(final Pattern pattern) {
+        return compile(pattern, VECTOR_AVAILABLE);
+    }
+
+    /**
+     * Analyse a pattern and build the matching validator.
+     *
+     * @param pattern    Pattern to analyse.
+     * @param vectorized True to use the vector API for arrays, must only be true if it is available.
+     * @return The validator for the pattern.
+     * @throws NullPointerException If pattern is null.
+     */
+    static CharacterValidator compile(final Pattern pattern, final boolean vectorized) {
+        Objects.requireNonNull(pattern);
+        String regex = pattern.pattern();
+        if (pattern.flags() == 0 && regex.length() > 1) {
+            char quantifier = regex.charAt(regex.length() - 1);
+            if (quantifier == '*' || quantifier == '+') {
+                boolean[] table = parseCharacterClass(regex, regex.length() - 1);
+                if (table != null) {
+                    return new CharacterValidator(table, quantifier == '*', pattern, vectorized);
+                }
+            }
+        }
+        return new CharacterValidator(null, false, pattern, false);
+    }
+
+    /**
+     * @return True if the pattern has been translated into a lookup table.
+     */
+    boolean isTableBased() {
+        return this.allowed != null;
+    }
+
+    /**
+     * @return True if arrays are checked with the vector API.
+     */
+    boolean isVectorized() {
+        return this.scanner != null;
+    }
+
+    /**
+     * @return True if the vector API can be used.
+     */
+    static boolean isVectorAvailable() {
+        Optional<Module> vector = ModuleLayer.boot().findModule("jdk.incubator.vector");
+        return vector.isPresent() && CharacterValidator.class.getModule().canRead(vector.get());
+    }
+
+    /**
+     * Check if the whole value matches the pattern.
+     *
+     * @param value Value to check, cannot be null.
+     * @return True if the value matches.
+     */
+    boolean matches(final CharSequence value) {
+        if (this.allowed == null) {
+            return this.matchesPattern(value);
+        }
+        int length = value.length();
+        if (length == 0) {
+            return this.acceptEmpty;
+        }
+        for (int i = 0; i < length; i++) {
+            if (!this.isAllowed(value.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if a range of a character array matches the pattern.
+     *
+     * @param value  Array holding the value, cannot be null.
+     * @param offset Index of the first character.
+     * @param length Number of characters.
+     * @return True if the value matches.
+     */
+    boolean matches(final char[] value, final int offset, final int length) {
+        if (this.allowed == null) {
+            return this.matchesPattern(CharBuffer.wrap(value, offset, length));
+        }
+        if (length == 0) {
+            return this.acceptEmpty;
+        }
+        int start = offset;
+        if (this.scanner != null) {
+            int checked = this.scanner.scan(value, offset, length);
+            if (checked < 0) {
+                return false;
+            }
+            start += checked;
+        }
+        for (int i = start; i < offset + length; i++) {
+            if (!this.isAllowed(value[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if a range of single byte characters matches the pattern.
+     *
+     * @param value  Array holding the value, cannot be null.
+     * @param offset Index of the first character.
+     * @param length Number of characters.
+     * @return True if the value matches.
+     */
+    boolean matches(final byte[] value, final int offset, final int length) {
+        if (this.allowed == null) {
+            return this.matchesPattern(new AsciiCharSequence(ByteBuffer.wrap(value), offset, offset + length));
+        }
+        if (length == 0) {
+            return this.acceptEmpty;
+        }
+        int start = offset;
+        if (this.scanner != null) {
+            int checked = this.scanner.scan(value, offset, length);
+            if (checked < 0) {
+                return false;
+            }
+            start += checked;
+        }
+        for (int i = start; i < offset + length; i++) {
+            if (!this.isAllowed(value[i] & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check if the remaining single byte characters of a buffer match the pattern, the buffer position is not modified.
+     *
+     * @param value Buffer holding the value, cannot be null.
+     * @return True if the value matches.
+     */
+    boolean matches(final ByteBuffer value) {
+        if (this.allowed == null) {
+            return this.matchesPattern(new AsciiCharSequence(value));
+        }
+        if (!value.hasRemaining()) {
+            return this.acceptEmpty;
+        }
+        if (this.scanner != null && value.hasArray()) {
+            return this.matches(value.array(), value.arrayOffset() + value.position(), value.remaining());
+        }
+        for (int i = value.position(); i < value.limit(); i++) {
+            if (!this.isAllowed(value.get(i) & 0xFF)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAllowed(final int c) {
+        return c < ASCII_SIZE && this.allowed[c];
+    }
+
+    private boolean matchesPattern(final CharSequence value) {
+        Matcher matcher = this.matchers.get();
+        boolean result = matcher.reset(value).matches();
+        // Do not keep a reference to the checked value.
+        matcher.reset("");
+        return result;
+    }
+
+    /**
+     * Translate the beginning of an expression into a lookup table.
+     *
+     * @param regex Expression to parse.
+     * @param end   Index of the quantifier, the character class must end just before.
+     * @return The table, or null if the expression is not a simple ASCII character class.
+     */
+    private static boolean[] parseCharacterClass(final String regex, final int end) {
+        boolean[] table = new boolean[ASCII_SIZE];
+        if (regex.charAt(0) == '\\') {
+            return end == 2 && addShorthand(table, regex.charAt(1)) ? table : null;
+        }
+        if (regex.charAt(0) != '[' || regex.charAt(end - 1) != ']' || end < 3 || regex.charAt(1) == '^') {
+            return null;
+        }
+        int i = 1;
+        int classEnd = end - 1;
+        while (i < classEnd) {
+            char c = regex.charAt(i);
+            if (c == '[' || c == ']' || c == '&' || c >= ASCII_SIZE) {
+                return null;
+            }
+            if (c == '\\') {
+                if (i + 1 >= classEnd) {
+                    return null;
+                }
+                char escaped = regex.charAt(i + 1);
+                if (Character.isLetterOrDigit(escaped)) {
+                    if (!addShorthand(table, escaped)) {
+                        return null;
+                    }
+                    i += 2;
+                    continue;
+                }
+                c = escaped;
+                i++;
+            }
+            if (i + 2 < classEnd && regex.charAt(i + 1) == '-') {
+                char last = regex.charAt(i + 2);
+                if (last == '\\' || last == '[' || last == ']' || last >= ASCII_SIZE || last < c) {
+                    return null;
+                }
+                for (char r = c; r <= last; r++) {
+                    table[r] = true;
+                }
+                i += 3;
+            } else {
+                table[c] = true;
+                i++;
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Add the characters of a predefined class to the table.
+     *
+     * @param table Table to fill.
+     * @param shorthand Predefined class letter.
+     * @return False if the predefined class is not supported.
+     */
+    private static boolean addShorthand(final boolean[] table, final char shorthand) {
+        switch (shorthand) {
+            case 'd' -> fill(table, '0', '9');
+            case 'w' -> {
+                fill(table, 'a', 'z');
+                fill(table, 'A', 'Z');
+                fill(table, '0', '9');
+                table['_'] = true;
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void fill(final boolean[] table, final char first, final char last) {
+        for (char c = first; c <= last; c++) {
+            table[c] = true;
+        }
+    }
+}
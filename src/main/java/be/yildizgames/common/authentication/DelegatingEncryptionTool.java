@@ -0,0 +1,129 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Encryption tool choosing the algorithm from the format identifier of the encrypted value, the text between the
+ * first two $ of the modular crypt and PHC formats: 2a, 2b, 2y for BCrypt, argon2id, pbkdf2-sha256...
+ * New values are encrypted with a single tool, and the values encrypted with another one are reported by needsRehash,
+ * so the algorithm can be changed and the existing values migrated one login at a time.
+ * Immutable class.
+ * @author Grégory Van den Borre
+ */
+public final class DelegatingEncryptionTool implements EncryptionTool {
+
+    /**
+     * Tool used to encrypt.
+     */
+    private final EncryptionTool encoder;
+
+    /**
+     * Tools used to check, by format identifier.
+     */
+    private final Map<String, EncryptionTool> tools;
+
+    /**
+     * Create a new instance.
+     * @param encodingIdentifier Identifier of the tool used to encrypt the new values, cannot be null.
+     * @param tools Tools used to check, by format identifier, cannot be null, or contain null.
+     * @throws NullPointerException If a parameter is null.
+     * @throws IllegalArgumentException If there is no tool for the encoding identifier.
+     */
+    public DelegatingEncryptionTool(String encodingIdentifier, Map<String, EncryptionTool> tools) {
+        super();
+        Objects.requireNonNull(encodingIdentifier);
+        this.tools = Map.copyOf(tools);
+        this.encoder = this.tools.get(encodingIdentifier);
+        if (this.encoder == null) {
+            throw new IllegalArgumentException("No tool for " + encodingIdentifier);
+        }
+    }
+
+    @Override
+    public String encrypt(final String toEncrypt) {
+        return this.encoder.encrypt(toEncrypt);
+    }
+
+    /**
+     * Check a clear value with the tool matching the format of the encrypted value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return true if they match, false otherwise.
+     * @throws IllegalArgumentException If no tool matches the encrypted value format.
+     */
+    @Override
+    public boolean check(final String encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        EncryptionTool tool = this.tools.get(identifier(encrypted));
+        if (tool == null) {
+            throw new IllegalArgumentException("Unknown encrypted value format.");
+        }
+        return tool.check(encrypted, clear);
+    }
+
+    /**
+     * Check a clear value with the tool registered for the version of the parsed BCrypt value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return true if they match, false otherwise.
+     * @throws IllegalArgumentException If no tool is registered for the BCrypt version.
+     */
+    @Override
+    public boolean check(final PasswordHash encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        EncryptionTool tool = this.tools.get("2" + encrypted.getVersion());
+        if (tool == null) {
+            throw new IllegalArgumentException("Unknown encrypted value format.");
+        }
+        return tool.check(encrypted, clear);
+    }
+
+    /**
+     * Check if an encrypted value was not encrypted by the encoding tool, or needs to be encrypted again by it.
+     * @param encrypted Encrypted value to check.
+     * @return true if the value should be encrypted again.
+     */
+    @Override
+    public boolean needsRehash(final String encrypted) {
+        Objects.requireNonNull(encrypted);
+        return this.tools.get(identifier(encrypted)) != this.encoder || this.encoder.needsRehash(encrypted);
+    }
+
+    /**
+     * Extract the format identifier.
+     * @return The identifier, or an empty string if the value is not in a modular crypt format.
+     */
+    private static String identifier(final String encrypted) {
+        int end = encrypted.indexOf('$', 1);
+        if (encrypted.isEmpty() || encrypted.charAt(0) != '$' || end < 0) {
+            return "";
+        }
+        return encrypted.substring(1, end);
+    }
+}
@@ -0,0 +1,263 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+/**
+ * Check if an email address is valid.
+ * The accepted syntax is the RFC 5322 subset previously expressed as a regular expression: a lowercase dot-atom or a
+ * quoted string as local part, and a lowercase domain name or a bracketed IPv4 or tagged address literal as domain.
+ * The value is read once from left to right without backtracking and without allocation, so the time spent is
+ * linear in the length, which is itself bounded.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class EmailValidator {
+
+    /**
+     * Maximum length accepted for an email address, as defined by RFC 5321 for a forward path.
+     */
+    public static final int MAX_LENGTH = 254;
+
+    private EmailValidator() {
+        super();
+    }
+
+    /**
+     * Check if an email address is valid.
+     *
+     * @param email Email address to check, null is allowed.
+     * @return True if the email is valid, false if invalid, too long or null.
+     */
+    public static boolean isValid(final CharSequence email) {
+        if (email == null) {
+            return false;
+        }
+        int length = email.length();
+        if (length == 0 || length > MAX_LENGTH) {
+            return false;
+        }
+        int at = email.charAt(0) == '"' ? quotedLocalPart(email, length) : dotAtomLocalPart(email, length);
+        if (at < 0 || at + 1 >= length) {
+            return false;
+        }
+        if (email.charAt(at + 1) == '[') {
+            return addressLiteral(email, at + 2, length);
+        }
+        return domainName(email, at + 1, length);
+    }
+
+    /**
+     * Read a dot-atom local part: atoms separated by single dots.
+     *
+     * @param email Value to read.
+     * @param length Value length.
+     * @return The index of the @ ending the local part, -1 if invalid.
+     */
+    private static int dotAtomLocalPart(final CharSequence email, final int length) {
+        boolean atomExpected = true;
+        for (int i = 0; i < length; i++) {
+            char c = email.charAt(i);
+            if (isAtomText(c)) {
+                atomExpected = false;
+            } else if (atomExpected) {
+                return -1;
+            } else if (c == '.') {
+                atomExpected = true;
+            } else {
+                return c == '@' ? i : -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read a quoted string local part, the first character is the opening quote.
+     *
+     * @param email Value to read.
+     * @param length Value length.
+     * @return The index of the @ ending the local part, -1 if invalid.
+     */
+    private static int quotedLocalPart(final CharSequence email, final int length) {
+        int i = 1;
+        while (i < length) {
+            char c = email.charAt(i);
+            if (c == '"') {
+                return i + 1 < length && email.charAt(i + 1) == '@' ? i + 1 : -1;
+            }
+            if (c == '\\') {
+                if (i + 1 >= length || !isQuotedPair(email.charAt(i + 1))) {
+                    return -1;
+                }
+                i += 2;
+            } else if (isQuotedText(c)) {
+                i++;
+            } else {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Read a domain name: at least two labels separated by dots, a label cannot start or end with a hyphen.
+     *
+     * @param email Value to read.
+     * @param start Index of the first domain character.
+     * @param length Value length.
+     * @return True if the domain is valid until the end of the value.
+     */
+    private static boolean domainName(final CharSequence email, final int start, final int length) {
+        int separators = 0;
+        int labelLength = 0;
+        char previous = 0;
+        for (int i = start; i < length; i++) {
+            char c = email.charAt(i);
+            if (isLowerAlphaNumeric(c)) {
+                labelLength++;
+            } else if (c == '-' && labelLength > 0) {
+                labelLength++;
+            } else if (c == '.' && labelLength > 0 && previous != '-') {
+                separators++;
+                labelLength = 0;
+            } else {
+                return false;
+            }
+            previous = c;
+        }
+        return separators > 0 && labelLength > 0 && previous != '-';
+    }
+
+    /**
+     * Read an address literal: three IPv4 octets, followed by a fourth octet or by a tagged address, and a closing bracket.
+     *
+     * @param email Value to read.
+     * @param start Index of the first character after the opening bracket.
+     * @param length Value length.
+     * @return True if the address literal is valid until the end of the value.
+     */
+    private static boolean addressLiteral(final CharSequence email, final int start, final int length) {
+        int end = length - 1;
+        if (end < start || email.charAt(end) != ']') {
+            return false;
+        }
+        int i = start;
+        for (int octet = 0; octet < 3; octet++) {
+            i = octet(email, i, end);
+            if (i < 0 || i >= end || email.charAt(i) != '.') {
+                return false;
+            }
+            i++;
+        }
+        return octet(email, i, end) == end || taggedAddress(email, i, end);
+    }
+
+    /**
+     * Read an IPv4 octet: one to three digits with a value up to 255.
+     *
+     * @param email Value to read.
+     * @param start Index of the first digit.
+     * @param end Index not to read.
+     * @return The index after the last digit, -1 if invalid.
+     */
+    private static int octet(final CharSequence email, final int start, final int end) {
+        int value = 0;
+        int i = start;
+        while (i < end && i - start < 3 && isDigit(email.charAt(i))) {
+            value = value * 10 + email.charAt(i) - '0';
+            i++;
+        }
+        return i == start || value > 255 ? -1 : i;
+    }
+
+    /**
+     * Read a tagged address: a tag, a colon and at least one character, which may be escaped.
+     *
+     * @param email Value to read.
+     * @param start Index of the first tag character.
+     * @param end Index of the closing bracket.
+     * @return True if the tagged address is valid until the closing bracket.
+     */
+    private static boolean taggedAddress(final CharSequence email, final int start, final int end) {
+        int i = start;
+        while (i < end && (isLowerAlphaNumeric(email.charAt(i)) || email.charAt(i) == '-')) {
+            i++;
+        }
+        if (i == start || i >= end || email.charAt(i) != ':' || email.charAt(i - 1) == '-') {
+            return false;
+        }
+        i++;
+        if (i == end) {
+            return false;
+        }
+        while (i < end) {
+            char c = email.charAt(i);
+            // An escape is only needed for characters not allowed as is, otherwise the backslash stands for itself.
+            if (c == '\\' && i + 1 < end && isQuotedPair(email.charAt(i + 1)) && !isLiteralText(email.charAt(i + 1))) {
+                i += 2;
+            } else if (isLiteralText(c)) {
+                i++;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLowerAlphaNumeric(final char c) {
+        return (c >= 'a' && c <= 'z') || isDigit(c);
+    }
+
+    private static boolean isAtomText(final char c) {
+        if (isLowerAlphaNumeric(c)) {
+            return true;
+        }
+        switch (c) {
+            case '!', '#', '$', '%', '&', '\'', '*', '+', '/', '=', '?', '^', '_', '`', '{', '|', '}', '~', '-':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param c Character to check.
+     * @return True for a control or visible ASCII character other than NUL, tab, line feed, carriage return and space.
+     */
+    private static boolean isLiteralText(final char c) {
+        return c != 0 && c <= 0x7f && c != '\t' && c != '\n' && c != '\r' && c != ' ';
+    }
+
+    private static boolean isQuotedText(final char c) {
+        return isLiteralText(c) && c != '"' && c != '\\';
+    }
+
+    private static boolean isQuotedPair(final char c) {
+        return c != 0 && c <= 0x7f && c != '\n' && c != '\r';
+    }
+}
@@ -24,6 +24,11 @@
 
 package be.yildizgames.common.authentication;
 
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * Encrypt and check values.
  * @author Grégory Van den Borre
@@ -44,4 +49,99 @@ public interface EncryptionTool {
      * @return true if they match, false otherwise.
      */
     boolean check(String encrypted, String clear);
+
+    /**
+     * Check if a parsed encrypted value and a clear value have the same encrypted value.
+     * By default, the value is converted back to its modular crypt format and checked with {@link #check(String, String)}.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return true if they match, false otherwise.
+     * @throws NullPointerException If a parameter is null.
+     */
+    default boolean check(PasswordHash encrypted, String clear) {
+        return this.check(encrypted.getValue(), clear);
+    }
+
+    /**
+     * Check if an encrypted value was produced with weaker parameters than the current ones, and should be encrypted
+     * again the next time the clear value is available, after a successful login for example.
+     * @param encrypted Encrypted value to check.
+     * @return true if the value should be encrypted again, false by default.
+     */
+    default boolean needsRehash(String encrypted) {
+        return false;
+    }
+
+    /**
+     * Encrypt a batch of values in parallel on a fork join pool dedicated to the batch hashes, created on first use,
+     * with one thread per core. The common pool is not used, as the hashes would starve the other tasks of the JVM.
+     * @param toEncrypt Values to encrypt.
+     * @return The encrypted values, in the same order as the values to encrypt, immutable.
+     * @throws NullPointerException If toEncrypt is null or contains null.
+     */
+    default List<String> encryptAll(List<String> toEncrypt) {
+        return this.encryptAll(toEncrypt, BulkHashingPool.get());
+    }
+
+    /**
+     * Encrypt a batch of values in parallel on a given fork join pool.
+     * @param toEncrypt Values to encrypt.
+     * @param pool Pool executing the encryptions.
+     * @return The encrypted values, in the same order as the values to encrypt, immutable.
+     * @throws NullPointerException If toEncrypt or pool is null, or if toEncrypt contains null.
+     */
+    default List<String> encryptAll(List<String> toEncrypt, ForkJoinPool pool) {
+        String[] values = toEncrypt.toArray(new String[0]);
+        return BulkTask.run(new String[values.length], i -> this.encrypt(values[i]), BulkTask.HASHING_THRESHOLD, pool);
+    }
+
+    /**
+     * Check a batch of encrypted and clear value pairs in parallel on a fork join pool dedicated to the batch hashes,
+     * created on first use, with one thread per core. The common pool is not used, as the hashes would starve the
+     * other tasks of the JVM.
+     * @param encrypted Encrypted values to be checked against.
+     * @param clear Clear values to check, at the same index as their encrypted value.
+     * @return The index of the matching pairs. A pair whose check fails with an exception, an invalid encrypted value
+     * or an overloaded tool for example, does not match, and the other pairs are still checked.
+     * @throws NullPointerException If a list is null or contains null.
+     * @throws IllegalArgumentException If the lists do not have the same size.
+     */
+    default BitSet checkAll(List<String> encrypted, List<String> clear) {
+        return this.checkAll(encrypted, clear, BulkHashingPool.get());
+    }
+
+    /**
+     * Check a batch of encrypted and clear value pairs in parallel on a given fork join pool.
+     * @param encrypted Encrypted values to be checked against.
+     * @param clear Clear values to check, at the same index as their encrypted value.
+     * @param pool Pool executing the checks.
+     * @return The index of the matching pairs. A pair whose check fails with an exception, an invalid encrypted value
+     * or an overloaded tool for example, does not match, and the other pairs are still checked.
+     * @throws NullPointerException If a parameter is null or a list contains null.
+     * @throws IllegalArgumentException If the lists do not have the same size.
+     */
+    default BitSet checkAll(List<String> encrypted, List<String> clear, ForkJoinPool pool) {
+        String[] encryptedValues = encrypted.toArray(new String[0]);
+        String[] clearValues = clear.toArray(new String[0]);
+        if (encryptedValues.length != clearValues.length) {
+            throw new IllegalArgumentException("Encrypted and clear values must have the same size: "
+                    + encryptedValues.length + ", " + clearValues.length);
+        }
+        for (int i = 0; i < encryptedValues.length; i++) {
+            Objects.requireNonNull(encryptedValues[i]);
+            Objects.requireNonNull(clearValues[i]);
+        }
+        List<Boolean> results = BulkTask.run(new Boolean[encryptedValues.length], i -> {
+            try {
+                return this.check(encryptedValues[i], clearValues[i]);
+            } catch (RuntimeException e) {
+                return Boolean.FALSE;
+            }
+        }, BulkTask.HASHING_THRESHOLD, pool);
+        BitSet matches = new BitSet(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            matches.set(i, results.get(i));
+        }
+        return matches;
+    }
 }
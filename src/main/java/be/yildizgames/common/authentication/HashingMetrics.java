@@ -0,0 +1,93 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+/**
+ * Receive the measures of the hashing operations: durations, outcomes, in-flight operations and queue wait times.
+ * The methods are called on the hashing threads, concurrently, and must be fast and thread safe.
+ * All methods do nothing by default, {@link #NONE} ignores all measures.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface HashingMetrics {
+
+    /**
+     * Metrics ignoring all measures.
+     */
+    HashingMetrics NONE = new HashingMetrics() {
+    };
+
+    /**
+     * An operation starts.
+     * @param operation Started operation.
+     */
+    default void started(Operation operation) {
+        // Nothing by default.
+    }
+
+    /**
+     * An operation completed.
+     * @param operation Completed operation.
+     * @param nanos Duration of the operation, in nanoseconds.
+     * @param success true for an encryption, true if the values matched for a check.
+     */
+    default void completed(Operation operation, long nanos, boolean success) {
+        // Nothing by default.
+    }
+
+    /**
+     * An operation failed with an exception.
+     * @param operation Failed operation.
+     * @param nanos Duration until the failure, in nanoseconds.
+     */
+    default void failed(Operation operation, long nanos) {
+        // Nothing by default.
+    }
+
+    /**
+     * A request waited before being processed.
+     * @param nanos Waiting time, in nanoseconds, 0 if the request was processed immediately.
+     */
+    default void waited(long nanos) {
+        // Nothing by default.
+    }
+
+    /**
+     * Measured hashing operations.
+     */
+    enum Operation {
+
+        /**
+         * Encryption of a clear value.
+         */
+        ENCRYPT,
+
+        /**
+         * Check of a clear value against an encrypted value.
+         */
+        CHECK
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Hashing worker process, started by a {@link ProcessEncryptionTool}.
+ * It connects to the Unix domain socket given as first argument, and answers the encryption and check requests
+ * in order, on a single thread, until the socket is closed.
+ * The second argument gives the algorithm and the settings used to encrypt: bcrypt-[cost],
+ * argon2id-[memory in KB]-[iterations]-[parallelism], or pbkdf2-[iterations].
+ * The values of the three algorithms can be checked, whatever the settings.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class HashingWorker {
+
+    /**
+     * Tool encrypting and checking the values.
+     */
+    private final EncryptionTool tool;
+
+    /**
+     * Connection to the parent process.
+     */
+    private final SocketChannel channel;
+
+    private HashingWorker(EncryptionTool tool, SocketChannel channel) {
+        super();
+        this.tool = tool;
+        this.channel = channel;
+    }
+
+    /**
+     * Start the worker.
+     * @param args Socket path and settings.
+     * @throws IOException If the connection fails.
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: HashingWorker <socket path> <settings>");
+            System.exit(1);
+        }
+        EncryptionTool tool = createTool(args[1]);
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(Path.of(args[0])));
+            new HashingWorker(tool, channel).run();
+        }
+    }
+
+    /**
+     * Create the encryption tool for settings.
+     * @param settings Algorithm and settings used to encrypt.
+     * @return The tool encrypting with the settings and checking the values of all algorithms.
+     * @throws NullPointerException If settings is null.
+     * @throws IllegalArgumentException If the settings are invalid.
+     */
+    static EncryptionTool createTool(final String settings) {
+        Objects.requireNonNull(settings);
+        String[] values = settings.split("-");
+        try {
+            EncryptionTool bcrypt = new BCryptEncryptionTool();
+            EncryptionTool argon2 = new Argon2EncryptionTool();
+            EncryptionTool pbkdf2 = new Pbkdf2EncryptionTool();
+            String encoder;
+            switch (values[0]) {
+                case "bcrypt" -> {
+                    checkLength(values, 2, settings);
+                    bcrypt = new BCryptEncryptionTool(Integer.parseInt(values[1]));
+                    encoder = "2a";
+                }
+                case "argon2id" -> {
+                    checkLength(values, 4, settings);
+                    argon2 = new Argon2EncryptionTool(Integer.parseInt(values[1]), Integer.parseInt(values[2]), Integer.parseInt(values[3]));
+                    encoder = Argon2EncryptionTool.IDENTIFIER;
+                }
+                case "pbkdf2" -> {
+                    checkLength(values, 2, settings);
+                    pbkdf2 = new Pbkdf2EncryptionTool(Integer.parseInt(values[1]));
+                    encoder = Pbkdf2EncryptionTool.IDENTIFIER;
+                }
+                default -> throw new IllegalArgumentException("Unknown algorithm: " + settings);
+            }
+            return new DelegatingEncryptionTool(encoder, Map.of("2a", bcrypt, "2b", bcrypt, "2y", bcrypt,
+                    Argon2EncryptionTool.IDENTIFIER, argon2, Pbkdf2EncryptionTool.IDENTIFIER, pbkdf2));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid settings: " + settings, e);
+        }
+    }
+
+    private static void checkLength(final String[] values, final int length, final String settings) {
+        if (values.length != length) {
+            throw new IllegalArgumentException("Invalid settings: " + settings);
+        }
+    }
+
+    /**
+     * Answer the requests until the parent closes the connection.
+     */
+    private void run() throws IOException {
+        ByteBuffer request;
+        while ((request = WorkerProtocol.read(this.channel)) != null) {
+            WorkerProtocol.write(this.channel, this.process(request));
+        }
+    }
+
+    private ByteBuffer process(final ByteBuffer request) {
+        int id = request.getInt();
+        byte operation = request.get();
+        try {
+            if (operation == WorkerProtocol.ENCRYPT) {
+                return WorkerProtocol.response(id, WorkerProtocol.RESULT_VALUE, this.tool.encrypt(WorkerProtocol.getString(request)));
+            }
+            if (operation == WorkerProtocol.CHECK) {
+                String encrypted = WorkerProtocol.getString(request);
+                boolean match = this.tool.check(encrypted, WorkerProtocol.getString(request));
+                return WorkerProtocol.response(id, match ? WorkerProtocol.RESULT_MATCH : WorkerProtocol.RESULT_MISMATCH, "");
+            }
+            return WorkerProtocol.response(id, WorkerProtocol.RESULT_ERROR, "Unknown operation: " + operation);
+        } catch (IllegalArgumentException e) {
+            return WorkerProtocol.response(id, WorkerProtocol.RESULT_INVALID, String.valueOf(e.getMessage()));
+        } catch (RuntimeException e) {
+            return WorkerProtocol.response(id, WorkerProtocol.RESULT_ERROR, e.toString());
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * HMAC-SHA256 computed with a SHA-256 message digest and the pads precomputed by the signing keys.
+ * The digests are written in buffers kept by the instance, where Mac.doFinal returns a new array for every tag,
+ * so computing and verifying a tag does not allocate.
+ * Not thread safe, an instance must only be used by the thread retrieving it with {@link #get()}.
+ * @author Grégory Van den Borre
+ */
+final class HmacSha256 {
+
+    /**
+     * Tag length, in bytes.
+     */
+    static final int TAG_LENGTH = 32;
+
+    private static final ThreadLocal<HmacSha256> INSTANCES = ThreadLocal.withInitial(HmacSha256::new);
+
+    private final MessageDigest digest;
+
+    /**
+     * Inner digest.
+     */
+    private final byte[] inner = new byte[TAG_LENGTH];
+
+    /**
+     * Computed tag, to be compared with a received one.
+     */
+    private final byte[] tag = new byte[TAG_LENGTH];
+
+    private HmacSha256() {
+        super();
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available.", e);
+        }
+    }
+
+    /**
+     * @return The instance of the current thread.
+     */
+    static HmacSha256 get() {
+        return INSTANCES.get();
+    }
+
+    /**
+     * Compute the tag of a message.
+     * @param key Signing key.
+     * @param message Array containing the message.
+     * @param offset Position of the message in the array.
+     * @param length Message length.
+     * @param out Array receiving the 32 bytes tag.
+     * @param outOffset Position of the tag in the out array.
+     */
+    void sign(final SigningKey key, final byte[] message, final int offset, final int length, final byte[] out, final int outOffset) {
+        try {
+            this.digest.update(key.getInnerPad());
+            this.digest.update(message, offset, length);
+            this.digest.digest(this.inner, 0, TAG_LENGTH);
+            this.digest.update(key.getOuterPad());
+            this.digest.update(this.inner);
+            this.digest.digest(out, outOffset, TAG_LENGTH);
+        } catch (DigestException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Compute the tag of a message and compare it with an expected tag, in constant time.
+     * @param key Signing key.
+     * @param message Array containing the message.
+     * @param offset Position of the message in the array.
+     * @param length Message length.
+     * @param expected Array containing the expected 32 bytes tag.
+     * @param expectedOffset Position of the tag in the expected array.
+     * @return true if the tags are equal.
+     */
+    boolean verify(final SigningKey key, final byte[] message, final int offset, final int length, final byte[] expected, final int expectedOffset) {
+        this.sign(key, message, offset, length, this.tag, 0);
+        int difference = 0;
+        for (int i = 0; i < TAG_LENGTH; i++) {
+            difference |= this.tag[i] ^ expected[expectedOffset + i];
+        }
+        return difference == 0;
+    }
+}
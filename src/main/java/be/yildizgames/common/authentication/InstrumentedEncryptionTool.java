@@ -0,0 +1,119 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.Objects;
+
+/**
+ * Measure the encryptions and checks of an encryption tool, and report them to the hashing metrics.
+ * Thread safe if the delegate and the metrics are.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class InstrumentedEncryptionTool implements EncryptionTool {
+
+    /**
+     * Encryption tool running the hashing.
+     */
+    private final EncryptionTool delegate;
+
+    /**
+     * Metrics receiving the measures.
+     */
+    private final HashingMetrics metrics;
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate Encryption tool running the hashing, cannot be null.
+     * @param metrics  Metrics receiving the measures, cannot be null.
+     * @throws NullPointerException If a parameter is null.
+     */
+    public InstrumentedEncryptionTool(EncryptionTool delegate, HashingMetrics metrics) {
+        super();
+        this.delegate = Objects.requireNonNull(delegate);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    @Override
+    public String encrypt(final String toEncrypt) {
+        Objects.requireNonNull(toEncrypt);
+        this.metrics.started(HashingMetrics.Operation.ENCRYPT);
+        long start = System.nanoTime();
+        try {
+            String result = this.delegate.encrypt(toEncrypt);
+            this.metrics.completed(HashingMetrics.Operation.ENCRYPT, System.nanoTime() - start, true);
+            return result;
+        } catch (RuntimeException e) {
+            this.metrics.failed(HashingMetrics.Operation.ENCRYPT, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean check(final String encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        this.metrics.started(HashingMetrics.Operation.CHECK);
+        long start = System.nanoTime();
+        try {
+            boolean result = this.delegate.check(encrypted, clear);
+            this.metrics.completed(HashingMetrics.Operation.CHECK, System.nanoTime() - start, result);
+            return result;
+        } catch (RuntimeException e) {
+            this.metrics.failed(HashingMetrics.Operation.CHECK, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean check(final PasswordHash encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        this.metrics.started(HashingMetrics.Operation.CHECK);
+        long start = System.nanoTime();
+        try {
+            boolean result = this.delegate.check(encrypted, clear);
+            this.metrics.completed(HashingMetrics.Operation.CHECK, System.nanoTime() - start, result);
+            return result;
+        } catch (RuntimeException e) {
+            this.metrics.failed(HashingMetrics.Operation.CHECK, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean needsRehash(final String encrypted) {
+        return this.delegate.needsRehash(encrypted);
+    }
+
+    /**
+     * @return The metrics receiving the measures.
+     */
+    public HashingMetrics getMetrics() {
+        return this.metrics;
+    }
+}
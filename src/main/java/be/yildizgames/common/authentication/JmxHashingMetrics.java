@@ -0,0 +1,291 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hashing metrics kept in latency histograms and counters, readable directly or as a JMX MBean once registered.
+ * Thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class JmxHashingMetrics implements HashingMetrics, JmxHashingMetricsMBean {
+
+    /**
+     * Domain and type of the registered MBeans.
+     */
+    private static final String OBJECT_NAME_PREFIX = "be.yildizgames.common.authentication:type=HashingMetrics,name=";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /**
+     * Encryption durations.
+     */
+    private final LatencyHistogram encryptTimes = new LatencyHistogram();
+
+    /**
+     * Check durations.
+     */
+    private final LatencyHistogram checkTimes = new LatencyHistogram();
+
+    /**
+     * Waiting times before processing.
+     */
+    private final LatencyHistogram waitTimes = new LatencyHistogram();
+
+    private final LongAdder encryptFailures = new LongAdder();
+
+    private final LongAdder checkMatches = new LongAdder();
+
+    private final LongAdder checkMismatches = new LongAdder();
+
+    private final LongAdder checkFailures = new LongAdder();
+
+    /**
+     * Number of operations running.
+     */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Name of the registered MBean, null if not registered.
+     */
+    private ObjectName objectName;
+
+    /**
+     * Create new metrics, not registered as an MBean.
+     */
+    public JmxHashingMetrics() {
+        super();
+    }
+
+    /**
+     * Register this instance in the platform MBean server.
+     * @param name Name of the MBean, the object name is be.yildizgames.common.authentication:type=HashingMetrics,name=[name].
+     * @return This instance.
+     * @throws NullPointerException If name is null.
+     * @throws IllegalStateException If the registration failed, because the name is already used for example.
+     */
+    public synchronized JmxHashingMetrics register(final String name) {
+        Objects.requireNonNull(name);
+        try {
+            ObjectName on = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, on);
+            this.objectName = on;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the hashing metrics " + name, e);
+        }
+        return this;
+    }
+
+    /**
+     * Remove this instance from the platform MBean server, if registered.
+     */
+    public synchronized void unregister() {
+        if (this.objectName != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                server.unregisterMBean(this.objectName);
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot unregister the hashing metrics " + this.objectName, e);
+            }
+            this.objectName = null;
+        }
+    }
+
+    @Override
+    public void started(final Operation operation) {
+        this.inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void completed(final Operation operation, final long nanos, final boolean success) {
+        this.inFlight.decrementAndGet();
+        if (operation == Operation.ENCRYPT) {
+            this.encryptTimes.record(nanos);
+        } else {
+            this.checkTimes.record(nanos);
+            if (success) {
+                this.checkMatches.increment();
+            } else {
+                this.checkMismatches.increment();
+            }
+        }
+    }
+
+    @Override
+    public void failed(final Operation operation, final long nanos) {
+        this.inFlight.decrementAndGet();
+        if (operation == Operation.ENCRYPT) {
+            this.encryptFailures.increment();
+        } else {
+            this.checkFailures.increment();
+        }
+    }
+
+    @Override
+    public void waited(final long nanos) {
+        this.waitTimes.record(nanos);
+    }
+
+    /**
+     * @return The histogram of the successful encryption durations.
+     */
+    public LatencyHistogram getEncryptTimes() {
+        return this.encryptTimes;
+    }
+
+    /**
+     * @return The histogram of the completed check durations.
+     */
+    public LatencyHistogram getCheckTimes() {
+        return this.checkTimes;
+    }
+
+    /**
+     * @return The histogram of the waiting times before processing.
+     */
+    public LatencyHistogram getWaitTimes() {
+        return this.waitTimes;
+    }
+
+    @Override
+    public long getEncryptCount() {
+        return this.encryptTimes.getCount();
+    }
+
+    @Override
+    public long getEncryptFailureCount() {
+        return this.encryptFailures.sum();
+    }
+
+    @Override
+    public long getCheckMatchCount() {
+        return this.checkMatches.sum();
+    }
+
+    @Override
+    public long getCheckMismatchCount() {
+        return this.checkMismatches.sum();
+    }
+
+    @Override
+    public long getCheckFailureCount() {
+        return this.checkFailures.sum();
+    }
+
+    @Override
+    public int getInFlight() {
+        return this.inFlight.get();
+    }
+
+    @Override
+    public double getEncryptMeanMillis() {
+        return this.encryptTimes.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getEncryptMedianMillis() {
+        return this.encryptTimes.getValueAtPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getEncrypt99thPercentileMillis() {
+        return this.encryptTimes.getValueAtPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getEncrypt999thPercentileMillis() {
+        return this.encryptTimes.getValueAtPercentile(99.9) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getEncryptMaxMillis() {
+        return this.encryptTimes.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getCheckMeanMillis() {
+        return this.checkTimes.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getCheckMedianMillis() {
+        return this.checkTimes.getValueAtPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getCheck99thPercentileMillis() {
+        return this.checkTimes.getValueAtPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getCheck999thPercentileMillis() {
+        return this.checkTimes.getValueAtPercentile(99.9) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getCheckMaxMillis() {
+        return this.checkTimes.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getQueueWaitMeanMillis() {
+        return this.waitTimes.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getQueueWaitMedianMillis() {
+        return this.waitTimes.getValueAtPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getQueueWait99thPercentileMillis() {
+        return this.waitTimes.getValueAtPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getQueueWaitMaxMillis() {
+        return this.waitTimes.getMax() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public void reset() {
+        this.encryptTimes.reset();
+        this.checkTimes.reset();
+        this.waitTimes.reset();
+        this.encryptFailures.reset();
+        this.checkMatches.reset();
+        this.checkMismatches.reset();
+        this.checkFailures.reset();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+/**
+ * JMX view of the hashing metrics, durations are in milliseconds.
+ *
+ * @author Grégory Van den Borre
+ */
+public interface JmxHashingMetricsMBean {
+
+    /**
+     * @return The number of completed encryptions.
+     */
+    long getEncryptCount();
+
+    /**
+     * @return The number of encryptions failed with an exception.
+     */
+    long getEncryptFailureCount();
+
+    /**
+     * @return The number of checks with matching values.
+     */
+    long getCheckMatchCount();
+
+    /**
+     * @return The number of checks with values not matching.
+     */
+    long getCheckMismatchCount();
+
+    /**
+     * @return The number of checks failed with an exception.
+     */
+    long getCheckFailureCount();
+
+    /**
+     * @return The number of operations running.
+     */
+    int getInFlight();
+
+    double getEncryptMeanMillis();
+
+    double getEncryptMedianMillis();
+
+    double getEncrypt99thPercentileMillis();
+
+    double getEncrypt999thPercentileMillis();
+
+    double getEncryptMaxMillis();
+
+    double getCheckMeanMillis();
+
+    double getCheckMedianMillis();
+
+    double getCheck99thPercentileMillis();
+
+    double getCheck999thPercentileMillis();
+
+    double getCheckMaxMillis();
+
+    double getQueueWaitMeanMillis();
+
+    double getQueueWaitMedianMillis();
+
+    double getQueueWait99thPercentileMillis();
+
+    double getQueueWaitMaxMillis();
+
+    /**
+     * Remove all recorded durations and counts, the in flight count is kept.
+     */
+    void reset();
+}
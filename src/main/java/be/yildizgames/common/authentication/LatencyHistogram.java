@@ -0,0 +1,180 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram with a bounded relative error, in the HDR histogram style.
+ * The values, in nanoseconds, are counted in buckets covering a power of 2 each, split in 64 linear sub buckets,
+ * so a reported value is at most 1/64 above the recorded one, from 1 nanosecond to around 2 hours.
+ * Recording is lock free and does not allocate, the readings are not an atomic snapshot while values are recorded.
+ * Thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Base 2 logarithm of the number of sub buckets.
+     */
+    private static final int SUB_BITS = 6;
+
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+
+    /**
+     * Base 2 logarithm of the highest trackable value, the higher values are counted as the highest one.
+     */
+    private static final int MAX_EXPONENT = 43;
+
+    private static final long HIGHEST_VALUE = (1L << MAX_EXPONENT) - 1;
+
+    /**
+     * Number of recorded values per bucket.
+     */
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_EXPONENT - SUB_BITS + 1) * SUB_COUNT);
+
+    /**
+     * Number of recorded values.
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Sum of the recorded values.
+     */
+    private final LongAdder sum = new LongAdder();
+
+    /**
+     * Highest recorded value.
+     */
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Create a new empty histogram.
+     */
+    public LatencyHistogram() {
+        super();
+    }
+
+    /**
+     * Record a value.
+     * @param nanos Value to record, in nanoseconds, negative values are recorded as 0.
+     */
+    public void record(final long nanos) {
+        long value = Math.min(Math.max(nanos, 0), HIGHEST_VALUE);
+        this.counts.incrementAndGet(index(value));
+        this.count.increment();
+        this.sum.add(value);
+        this.max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @return The number of recorded values.
+     */
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * @return The highest recorded value, in nanoseconds, 0 if no value was recorded.
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * @return The mean of the recorded values, in nanoseconds, 0 if no value was recorded.
+     */
+    public double getMean() {
+        long c = this.count.sum();
+        return c == 0 ? 0 : (double) this.sum.sum() / c;
+    }
+
+    /**
+     * Provide the value under which a percentage of the recorded values are.
+     * @param percentile Percentage, between 0 and 100.
+     * @return The highest value equivalent to the one at the percentile, in nanoseconds, 0 if no value was recorded.
+     * @throws IllegalArgumentException If the percentile is not between 0 and 100.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100.");
+        }
+        long total = 0;
+        for (int i = 0; i < this.counts.length(); i++) {
+            total += this.counts.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long cumulated = 0;
+        for (int i = 0; i < this.counts.length(); i++) {
+            cumulated += this.counts.get(i);
+            if (cumulated >= target) {
+                return Math.min(highestEquivalent(i), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    /**
+     * Remove all recorded values, values recorded during the reset may be partially kept.
+     */
+    public void reset() {
+        for (int i = 0; i < this.counts.length(); i++) {
+            this.counts.set(i, 0);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.set(0);
+    }
+
+    /**
+     * The values under 64 have their own index, the higher values are indexed by their exponent and their 6 bits
+     * following the highest one.
+     */
+    private static int index(final long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int bucket = exponent - SUB_BITS + 1;
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_COUNT - 1);
+        return (bucket << SUB_BITS) + sub;
+    }
+
+    private static long highestEquivalent(final int index) {
+        int bucket = index >>> SUB_BITS;
+        if (bucket == 0) {
+            return index;
+        }
+        long lowest = (long) (SUB_COUNT + (index & (SUB_COUNT - 1))) << (bucket - 1);
+        return lowest + (1L << (bucket - 1)) - 1;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.text.Normalizer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Compute canonical forms of a login, to detect logins looking the same as an existing one.
+ * The canonical form is the Unicode NFKC normalization of the login, case folded: "Paul", "PAUL" and "ｐａｕｌ" share it.
+ * The skeleton goes further and also replaces the characters easily confused with another one, following the
+ * approach of the Unicode security mechanisms (UTS #39): "paul", "PAUl", "pau1" and "раul" with a cyrillic "р" share it.
+ * The confusable table is a subset of the Unicode one, covering digits, ASCII symbols, and the Latin look-alikes
+ * from the Cyrillic and Greek blocks, plus the "rn" / "m", "vv" / "w" and "cl" / "d" sequences.
+ * A skeleton is only meant to be compared with another skeleton, it is not a displayable login.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class LoginCanonicalizer {
+
+    /**
+     * Confusable characters, and the character they are replaced with, at the same index.
+     * The characters are replaced after case folding, so the table only contains lower case characters, and the
+     * letters whose capital looks like a Latin capital are replaced with that Latin letter: "Н" and "н" become "h".
+     * "i", "l", "1", "|" and their Cyrillic and Greek look-alikes all become "l", as "I" and "l" are confused.
+     */
+    private static final String CONFUSABLE_FROM =
+            "01|i" +
+            "аеорсхуіјѕԁһɡвнмтк" +
+            "αονρτικυβεζηιμχ";
+
+    private static final String CONFUSABLE_TO =
+            "olll" +
+            "aeopcxyljsdhgbhmtk" +
+            "aovptlkubezhlmx";
+
+    /**
+     * Confusable ASCII characters, indexed by character, 0 if the character is kept.
+     */
+    private static final char[] ASCII_CONFUSABLES = new char[128];
+
+    /**
+     * Confusable non ASCII characters.
+     */
+    private static final Map<Character, Character> CONFUSABLES = new HashMap<>();
+
+    static {
+        for (int i = 0; i < CONFUSABLE_FROM.length(); i++) {
+            char from = CONFUSABLE_FROM.charAt(i);
+            if (from < ASCII_CONFUSABLES.length) {
+                ASCII_CONFUSABLES[from] = CONFUSABLE_TO.charAt(i);
+            } else {
+                CONFUSABLES.put(from, CONFUSABLE_TO.charAt(i));
+            }
+        }
+    }
+
+    private LoginCanonicalizer() {
+        super();
+    }
+
+    /**
+     * Compute the canonical form of a login: NFKC normalization and case folding.
+     *
+     * @param login Login to canonicalize, cannot be null.
+     * @return The canonical form.
+     * @throws NullPointerException If login is null.
+     */
+    public static String canonicalize(final CharSequence login) {
+        return fold(normalize(login));
+    }
+
+    /**
+     * Compute the skeleton of a login: NFKC normalization, case folding and confusable characters replacement.
+     * Two logins with the same skeleton are likely to be mistaken for each other.
+     *
+     * @param login Login to process, cannot be null.
+     * @return The skeleton.
+     * @throws NullPointerException If login is null.
+     */
+    public static String skeleton(final CharSequence login) {
+        String folded = fold(normalize(login));
+        StringBuilder result = new StringBuilder(folded.length());
+        for (int i = 0; i < folded.length(); i++) {
+            char c = confusable(folded.charAt(i));
+            int last = result.length() - 1;
+            char previous = last < 0 ? 0 : result.charAt(last);
+            if (previous == 'r' && c == 'n') {
+                result.setCharAt(last, 'm');
+            } else if (previous == 'v' && c == 'v') {
+                result.setCharAt(last, 'w');
+            } else if (previous == 'c' && c == 'l') {
+                result.setCharAt(last, 'd');
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    /**
+     * Apply the NFKC normalization, skipped for ASCII values which are already normalized.
+     */
+    private static String normalize(final CharSequence login) {
+        Objects.requireNonNull(login);
+        for (int i = 0; i < login.length(); i++) {
+            if (login.charAt(i) >= 0x80) {
+                return Normalizer.normalize(login, Normalizer.Form.NFKC);
+            }
+        }
+        return login.toString();
+    }
+
+    /**
+     * Full case folding, "Straße" and "STRASSE" are folded to "strasse".
+     */
+    private static String fold(final String value) {
+        return value.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT);
+    }
+
+    private static char confusable(final char c) {
+        if (c < ASCII_CONFUSABLES.length) {
+            char mapped = ASCII_CONFUSABLES[c];
+            return mapped == 0 ? c : mapped;
+        }
+        return CONFUSABLES.getOrDefault(c, c);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In memory index of the login skeletons, to detect a login looking the same as an existing one without querying the storage.
+ * The index is loaded once with all the existing logins, then every account creation reserves its login in the index
+ * before being stored: a login refused by the index does not need a storage round trip.
+ * All operations are thread safe and run in constant time, plus the skeleton computation.
+ * See {@link LoginCanonicalizer#skeleton(CharSequence)}.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class LoginSkeletonIndex {
+
+    /**
+     * Login owning every skeleton, by skeleton.
+     */
+    private final ConcurrentMap<String, String> logins = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new empty index.
+     */
+    public LoginSkeletonIndex() {
+        super();
+    }
+
+    /**
+     * Add the existing logins, usually all the logins from the storage when the application starts.
+     * When two logins share a skeleton, the first one is kept.
+     *
+     * @param existing Logins to add, cannot be null.
+     * @throws NullPointerException If existing is null or contains null.
+     */
+    public void load(final Collection<? extends CharSequence> existing) {
+        for (CharSequence login : existing) {
+            this.logins.putIfAbsent(LoginCanonicalizer.skeleton(login), login.toString());
+        }
+    }
+
+    /**
+     * Reserve a login, atomically: among concurrent reservations of look-alike logins, only one succeeds.
+     *
+     * @param login Login to reserve, cannot be null.
+     * @return True if the login is reserved, false if a look-alike login already exists.
+     * @throws NullPointerException If login is null.
+     */
+    public boolean reserve(final CharSequence login) {
+        return this.logins.putIfAbsent(LoginCanonicalizer.skeleton(login), login.toString()) == null;
+    }
+
+    /**
+     * Release a reserved login, for example when the account creation failed or the account is deleted.
+     * Nothing is done if the skeleton is owned by another login.
+     *
+     * @param login Login to release, cannot be null.
+     * @return True if the login has been released.
+     * @throws NullPointerException If login is null.
+     */
+    public boolean release(final CharSequence login) {
+        return this.logins.remove(LoginCanonicalizer.skeleton(login), login.toString());
+    }
+
+    /**
+     * Check if a login can be used.
+     *
+     * @param login Login to check, cannot be null.
+     * @return True if no look-alike login exists.
+     * @throws NullPointerException If login is null.
+     */
+    public boolean isAvailable(final CharSequence login) {
+        return !this.logins.containsKey(LoginCanonicalizer.skeleton(login));
+    }
+
+    /**
+     * Find the existing login looking the same as a given one.
+     *
+     * @param login Login to check, cannot be null.
+     * @return The existing login, empty if there is none.
+     * @throws NullPointerException If login is null.
+     */
+    public Optional<String> findLookAlike(final CharSequence login) {
+        Objects.requireNonNull(login);
+        return Optional.ofNullable(this.logins.get(LoginCanonicalizer.skeleton(login)));
+    }
+
+    /**
+     * @return The number of reserved skeletons.
+     */
+    public int size() {
+        return this.logins.size();
+    }
+}
@@ -0,0 +1,302 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Bloom filter holding a list of breached passwords, stored in a memory mapped file.
+ * The bits live in the page cache and not in the heap, so a list of hundreds of millions of passwords costs a few
+ * hundred megabytes of memory shared by the OS and almost no heap. A lookup reads a few bytes and never allocates.
+ * A password in the list is always reported, a password not in the list is reported with the false positive rate
+ * chosen when the filter was created.
+ * <p>
+ * File format, big endian: magic number (int), format version (int), number of hashes (int), reserved (int),
+ * number of bits (long), then the bit array, bit i being the bit (i &amp; 7) of the byte (i &gt;&gt;&gt; 3).
+ * <p>
+ * Lookups are thread safe, additions are not and must not run concurrently with lookups.
+ * The mapping is released when the instance is garbage collected.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class PasswordBloomFilter {
+
+    /**
+     * File magic number, "YPBF".
+     */
+    private static final int MAGIC = 0x59504246;
+
+    /**
+     * File format version.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the file header, in bytes.
+     */
+    private static final int HEADER_SIZE = 24;
+
+    /**
+     * Maximum size of a mapped segment, in bytes, a buffer cannot map more than 2GB.
+     */
+    private static final int SEGMENT_SHIFT = 30;
+
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    /**
+     * Maximum number of hash functions.
+     */
+    private static final int MAX_HASHES = 30;
+
+    /**
+     * Mapped segments of the bit array.
+     */
+    private final MappedByteBuffer[] segments;
+
+    /**
+     * Number of bits in the filter.
+     */
+    private final long bits;
+
+    /**
+     * Number of hash functions.
+     */
+    private final int hashes;
+
+    private PasswordBloomFilter(MappedByteBuffer[] segments, long bits, int hashes) {
+        super();
+        this.segments = segments;
+        this.bits = bits;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Map an existing filter file in read only mode.
+     *
+     * @param file File to map.
+     * @return The mapped filter.
+     * @throws IOException              If the file cannot be read.
+     * @throws IllegalArgumentException If the file is not a valid filter file.
+     */
+    public static PasswordBloomFilter open(final Path file) throws IOException {
+        Objects.requireNonNull(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read until the header is complete or the end of file.
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IllegalArgumentException("Not a password filter file: " + file);
+            }
+            int hashes = header.getInt();
+            header.getInt();
+            long bits = header.getLong();
+            if (hashes < 1 || hashes > MAX_HASHES || bits < 1 || channel.size() < HEADER_SIZE + byteSize(bits)) {
+                throw new IllegalArgumentException("Corrupted password filter file: " + file);
+            }
+            return new PasswordBloomFilter(map(channel, FileChannel.MapMode.READ_ONLY, bits), bits, hashes);
+        }
+    }
+
+    /**
+     * Create a new empty filter file, replacing any existing file, and map it in read write mode.
+     * The size is computed from the expected number of passwords and the accepted false positive rate,
+     * around 1.2 bytes per password for a 1% rate.
+     *
+     * @param file              File to create.
+     * @param expectedPasswords Number of passwords that will be added.
+     * @param falsePositiveRate Probability to report a password not in the list, between 0 and 1 excluded.
+     * @return The mapped filter.
+     * @throws IOException              If the file cannot be written.
+     * @throws IllegalArgumentException If expectedPasswords is smaller than 1 or falsePositiveRate is not in ]0, 1[.
+     */
+    public static PasswordBloomFilter create(final Path file, final long expectedPasswords, final double falsePositiveRate) throws IOException {
+        Objects.requireNonNull(file);
+        if (expectedPasswords < 1) {
+            throw new IllegalArgumentException("Expected passwords must be greater than 0.");
+        }
+        if (!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1 excluded.");
+        }
+        double ln2 = Math.log(2);
+        long bits = Math.max(64, (long) Math.ceil(-expectedPasswords * Math.log(falsePositiveRate) / (ln2 * ln2)));
+        int hashes = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((double) bits / expectedPasswords * ln2)));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(hashes).putInt(0).putLong(bits).flip();
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            return new PasswordBloomFilter(map(channel, FileChannel.MapMode.READ_WRITE, bits), bits, hashes);
+        }
+    }
+
+    private static long byteSize(final long bits) {
+        return (bits + 7) >>> 3;
+    }
+
+    private static MappedByteBuffer[] map(final FileChannel channel, final FileChannel.MapMode mode, final long bits) throws IOException {
+        long size = byteSize(bits);
+        int count = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long offset = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(mode, HEADER_SIZE + offset, Math.min(SEGMENT_SIZE, size - offset));
+        }
+        return segments;
+    }
+
+    /**
+     * Add a password to the filter.
+     *
+     * @param password Password to add, in clear.
+     * @throws java.nio.ReadOnlyBufferException If the filter was opened in read only mode.
+     * @throws NullPointerException             If password is null.
+     */
+    public void add(final CharSequence password) {
+        long hash = Hash.finish(Hash.update(Hash.SEED, password));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < this.hashes; i++) {
+            long bit = this.index(h1, h2, i);
+            MappedByteBuffer segment = this.segments[(int) ((bit >>> 3) >>> SEGMENT_SHIFT)];
+            int offset = (int) ((bit >>> 3) & SEGMENT_MASK);
+            segment.put(offset, (byte) (segment.get(offset) | (1 << (bit & 7))));
+        }
+    }
+
+    /**
+     * Check if a password may be in the filter.
+     *
+     * @param password Password to check, in clear.
+     * @return False if the password is not in the filter, true if it is, or with a small probability, if it is not.
+     * @throws NullPointerException If password is null.
+     */
+    public boolean mightContain(final CharSequence password) {
+        return this.mightContain(Hash.finish(Hash.update(Hash.SEED, password)));
+    }
+
+    /**
+     * Check if a password may be in the filter from its hash.
+     *
+     * @param hash Hash of the password, computed with {@link Hash}.
+     * @return False if the password is not in the filter, true if it is, or with a small probability, if it is not.
+     */
+    boolean mightContain(final long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < this.hashes; i++) {
+            long bit = this.index(h1, h2, i);
+            MappedByteBuffer segment = this.segments[(int) ((bit >>> 3) >>> SEGMENT_SHIFT)];
+            if ((segment.get((int) ((bit >>> 3) & SEGMENT_MASK)) & (1 << (bit & 7))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write the changes to the file.
+     */
+    public void force() {
+        for (MappedByteBuffer segment : this.segments) {
+            if (!segment.isReadOnly()) {
+                segment.force();
+            }
+        }
+    }
+
+    /**
+     * @return The number of bits in the filter.
+     */
+    public long getBits() {
+        return this.bits;
+    }
+
+    /**
+     * @return The number of hash functions.
+     */
+    public int getHashes() {
+        return this.hashes;
+    }
+
+    /**
+     * Compute the index of the nth bit of a password, with double hashing.
+     */
+    private long index(final int h1, final int h2, final int n) {
+        long combined = (h1 & 0xFFFFFFFFL) + (long) n * (h2 | 1);
+        return Long.remainderUnsigned(combined * 0x9E3779B97F4A7C15L, this.bits);
+    }
+
+    /**
+     * Incremental 64 bits password hash, so the hash can be computed while the password is read for other checks.
+     * FNV-1a over the UTF-16 code units, with a final avalanche.
+     */
+    static final class Hash {
+
+        /**
+         * Initial hash value.
+         */
+        static final long SEED = 0xcbf29ce484222325L;
+
+        private static final long PRIME = 0x100000001b3L;
+
+        private Hash() {
+            super();
+        }
+
+        static long update(final long hash, final char c) {
+            return (hash ^ c) * PRIME;
+        }
+
+        static long update(final long hash, final CharSequence value) {
+            long result = hash;
+            for (int i = 0; i < value.length(); i++) {
+                result = update(result, value.charAt(i));
+            }
+            return result;
+        }
+
+        static long finish(final long hash) {
+            long h = hash;
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            h *= 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.Objects;
+
+/**
+ * BCrypt encrypted value, parsed once from its 60 characters modular crypt format, $2a$10$ followed by the salt and
+ * the hash in BCrypt base 64, and kept as 40 bytes packed in 5 longs: the version and the cost in the first byte,
+ * then the 16 bytes of the salt and the 23 bytes of the hash.
+ * An instance takes 56 bytes on the heap, against more than 100 for the String, and is checked without decoding the
+ * salt again, with {@link EncryptionTool#check(PasswordHash, String)}.
+ * The 40 bytes can also be stored in place of the String, with {@link #toBytes()} and {@link #fromBytes(byte[])}.
+ * Immutable class.
+ * @author Grégory Van den Borre
+ */
+public final class PasswordHash {
+
+    /**
+     * Number of bytes of the binary form.
+     */
+    public static final int BYTES_LENGTH = 1 + BCryptEngine.SALT_LENGTH + BCryptEngine.HASH_LENGTH;
+
+    /**
+     * Supported versions, their position is stored in the 3 highest bits of the first byte.
+     */
+    private static final String VERSIONS = "aby";
+
+    /**
+     * Position of the first hash byte in the binary form.
+     */
+    private static final int HASH_OFFSET = 1 + BCryptEngine.SALT_LENGTH;
+
+    /**
+     * Bytes 0 to 7: version, cost and salt bytes 0 to 6.
+     */
+    private final long word0;
+
+    /**
+     * Bytes 8 to 15: salt bytes 7 to 14.
+     */
+    private final long word1;
+
+    /**
+     * Bytes 16 to 23: salt byte 15 and hash bytes 0 to 6.
+     */
+    private final long word2;
+
+    /**
+     * Bytes 24 to 31: hash bytes 7 to 14.
+     */
+    private final long word3;
+
+    /**
+     * Bytes 32 to 39: hash bytes 15 to 22.
+     */
+    private final long word4;
+
+    private PasswordHash(final byte[] bytes) {
+        super();
+        this.word0 = read(bytes, 0);
+        this.word1 = read(bytes, 8);
+        this.word2 = read(bytes, 16);
+        this.word3 = read(bytes, 24);
+        this.word4 = read(bytes, 32);
+    }
+
+    /**
+     * Parse a BCrypt encrypted value.
+     * @param encrypted Value in the $2a$, $2b$ or $2y$ format, cannot be null.
+     * @return The parsed value.
+     * @throws NullPointerException If encrypted is null.
+     * @throws IllegalArgumentException If encrypted is not a valid BCrypt value.
+     */
+    public static PasswordHash parse(final CharSequence encrypted) {
+        Objects.requireNonNull(encrypted);
+        if (encrypted.length() != BCryptEngine.ENCRYPTED_LENGTH || encrypted.charAt(0) != '$' || encrypted.charAt(1) != '2'
+                || encrypted.charAt(3) != '$' || encrypted.charAt(6) != '$') {
+            throw new IllegalArgumentException("Invalid BCrypt value.");
+        }
+        int version = VERSIONS.indexOf(encrypted.charAt(2));
+        if (version < 0) {
+            throw new IllegalArgumentException("Invalid BCrypt version: " + encrypted.charAt(2));
+        }
+        char tens = encrypted.charAt(4);
+        char units = encrypted.charAt(5);
+        if (tens < '0' || tens > '9' || units < '0' || units > '9') {
+            throw new IllegalArgumentException("Invalid BCrypt cost.");
+        }
+        int cost = (tens - '0') * 10 + units - '0';
+        BCryptEngine.checkCost(cost);
+        // The unused bits of the last salt and hash characters must be 0, so the value can be restored unchanged.
+        if ((BCryptEngine.index(encrypted.charAt(BCryptEngine.SALT_VALUE_LENGTH - 1)) & 0x0F) != 0
+                || (BCryptEngine.index(encrypted.charAt(BCryptEngine.ENCRYPTED_LENGTH - 1)) & 0x03) != 0) {
+            throw new IllegalArgumentException("Invalid BCrypt value.");
+        }
+        byte[] salt = new byte[BCryptEngine.SALT_LENGTH];
+        byte[] hash = new byte[BCryptEngine.HASH_LENGTH];
+        BCryptEngine.decode(encrypted, 7, salt, salt.length);
+        BCryptEngine.decode(encrypted, BCryptEngine.SALT_VALUE_LENGTH, hash, hash.length);
+        byte[] bytes = new byte[BYTES_LENGTH];
+        bytes[0] = (byte) (version << 5 | cost);
+        System.arraycopy(salt, 0, bytes, 1, salt.length);
+        System.arraycopy(hash, 0, bytes, HASH_OFFSET, hash.length);
+        return new PasswordHash(bytes);
+    }
+
+    /**
+     * Restore a value from its binary form.
+     * @param bytes Binary form, as returned by {@link #toBytes()}, cannot be null.
+     * @return The restored value.
+     * @throws NullPointerException If bytes is null.
+     * @throws IllegalArgumentException If bytes is not a valid binary form.
+     */
+    public static PasswordHash fromBytes(final byte[] bytes) {
+        Objects.requireNonNull(bytes);
+        if (bytes.length != BYTES_LENGTH) {
+            throw new IllegalArgumentException("Binary form must be " + BYTES_LENGTH + " bytes, value is " + bytes.length);
+        }
+        int version = (bytes[0] & 0xFF) >>> 5;
+        if (version >= VERSIONS.length()) {
+            throw new IllegalArgumentException("Invalid BCrypt version.");
+        }
+        BCryptEngine.checkCost(bytes[0] & 0x1F);
+        return new PasswordHash(bytes);
+    }
+
+    /**
+     * @return The binary form, 40 bytes, a new array for every call.
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[BYTES_LENGTH];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = this.byteAt(i);
+        }
+        return bytes;
+    }
+
+    /**
+     * @return The value in the modular crypt format, as it was parsed.
+     */
+    public String getValue() {
+        byte[] salt = new byte[BCryptEngine.SALT_LENGTH];
+        byte[] hash = new byte[BCryptEngine.HASH_LENGTH];
+        this.copySalt(salt);
+        for (int i = 0; i < hash.length; i++) {
+            hash[i] = this.byteAt(HASH_OFFSET + i);
+        }
+        int cost = this.getCost();
+        char[] value = new char[BCryptEngine.ENCRYPTED_LENGTH];
+        value[0] = '$';
+        value[1] = '2';
+        value[2] = this.getVersion();
+        value[3] = '$';
+        value[4] = (char) ('0' + cost / 10);
+        value[5] = (char) ('0' + cost % 10);
+        value[6] = '$';
+        int position = BCryptEngine.encode(salt, salt.length, value, 7);
+        BCryptEngine.encode(hash, hash.length, value, position);
+        return new String(value);
+    }
+
+    /**
+     * @return The BCrypt version: a, b or y.
+     */
+    public char getVersion() {
+        return VERSIONS.charAt((int) (this.word0 >>> 61));
+    }
+
+    /**
+     * @return The base 2 logarithm of the number of rounds.
+     */
+    public int getCost() {
+        return (int) (this.word0 >>> 56) & 0x1F;
+    }
+
+    /**
+     * Copy the salt bytes.
+     * @param out Array receiving the 16 salt bytes.
+     */
+    void copySalt(final byte[] out) {
+        for (int i = 0; i < BCryptEngine.SALT_LENGTH; i++) {
+            out[i] = this.byteAt(1 + i);
+        }
+    }
+
+    /**
+     * Compare a computed hash with this hash, in constant time.
+     * @param digest Computed hash, at least 24 bytes, only the first 23 are compared.
+     * @return true if the hashes are equal.
+     */
+    boolean matches(final byte[] digest) {
+        long first = (this.word2 & 0xFF00000000000000L) | (read(digest, 0) >>> 8);
+        long difference = (first ^ this.word2) | (read(digest, 7) ^ this.word3) | (read(digest, 15) ^ this.word4);
+        return difference == 0;
+    }
+
+    private byte byteAt(final int index) {
+        long word = switch (index >>> 3) {
+            case 0 -> this.word0;
+            case 1 -> this.word1;
+            case 2 -> this.word2;
+            case 3 -> this.word3;
+            default -> this.word4;
+        };
+        return (byte) (word >>> (56 - ((index & 7) << 3)));
+    }
+
+    /**
+     * Read 8 bytes as a big endian long.
+     */
+    private static long read(final byte[] bytes, final int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        PasswordHash other = (PasswordHash) o;
+        return this.word0 == other.word0 && this.word1 == other.word1 && this.word2 == other.word2
+                && this.word3 == other.word3 && this.word4 == other.word4;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(this.word0);
+        result = 31 * result + Long.hashCode(this.word1);
+        result = 31 * result + Long.hashCode(this.word2);
+        result = 31 * result + Long.hashCode(this.word3);
+        return 31 * result + Long.hashCode(this.word4);
+    }
+
+    @Override
+    public String toString() {
+        return this.getValue();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import java.util.Objects;
+
+/**
+ * Password strength rules, applied on top of the authentication rules: minimum length, minimum number of characters
+ * per class, minimum estimated entropy and absence from a breached password list.
+ * The rules are composed with the with methods, and all of them are evaluated in a single pass over the password,
+ * without allocation.
+ * The entropy is estimated as length * log2(pool), the pool being the sum of the sizes of the character classes
+ * present in the password: 26 lower case letters, 26 upper case letters, 10 digits, 33 other ASCII characters
+ * and 100 for any non ASCII character.
+ * Immutable class.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class PasswordPolicy {
+
+    /**
+     * Policy without any rule, every password is accepted.
+     */
+    public static final PasswordPolicy NONE = new PasswordPolicy(0, 0, 0, 0, 0, 0, null);
+
+    private static final double LOG_2 = Math.log(2);
+
+    /**
+     * Minimum number of characters.
+     */
+    private final int minLength;
+
+    /**
+     * Minimum number of lower case ASCII letters.
+     */
+    private final int minLowerCase;
+
+    /**
+     * Minimum number of upper case ASCII letters.
+     */
+    private final int minUpperCase;
+
+    /**
+     * Minimum number of ASCII digits.
+     */
+    private final int minDigits;
+
+    /**
+     * Minimum number of characters other than ASCII letters and digits.
+     */
+    private final int minSpecials;
+
+    /**
+     * Minimum estimated entropy, in bits.
+     */
+    private final double minEntropy;
+
+    /**
+     * Breached passwords, null if not checked.
+     */
+    private final PasswordBloomFilter breached;
+
+    private PasswordPolicy(int minLength, int minLowerCase, int minUpperCase, int minDigits, int minSpecials, double minEntropy, PasswordBloomFilter breached) {
+        super();
+        this.minLength = minLength;
+        this.minLowerCase = minLowerCase;
+        this.minUpperCase = minUpperCase;
+        this.minDigits = minDigits;
+        this.minSpecials = minSpecials;
+        this.minEntropy = minEntropy;
+        this.breached = breached;
+    }
+
+    /**
+     * Provide a policy with the rules of this one and a minimum length.
+     *
+     * @param length Minimum number of characters, reported as PASS_TOO_SHORT.
+     * @return The new policy.
+     * @throws IllegalArgumentException If length is negative.
+     */
+    public PasswordPolicy withMinLength(final int length) {
+        checkPositive(length);
+        return new PasswordPolicy(length, this.minLowerCase, this.minUpperCase, this.minDigits, this.minSpecials, this.minEntropy, this.breached);
+    }
+
+    /**
+     * Provide a policy with the rules of this one and a minimum number of characters per class, reported as PASS_TOO_WEAK.
+     *
+     * @param lowerCase Minimum number of lower case ASCII letters.
+     * @param upperCase Minimum number of upper case ASCII letters.
+     * @param digits    Minimum number of ASCII digits.
+     * @param specials  Minimum number of characters other than ASCII letters and digits.
+     * @return The new policy.
+     * @throws IllegalArgumentException If a value is negative.
+     */
+    public PasswordPolicy withCharacterClasses(final int lowerCase, final int upperCase, final int digits, final int specials) {
+        checkPositive(lowerCase);
+        checkPositive(upperCase);
+        checkPositive(digits);
+        checkPositive(specials);
+        return new PasswordPolicy(this.minLength, lowerCase, upperCase, digits, specials, this.minEntropy, this.breached);
+    }
+
+    /**
+     * Provide a policy with the rules of this one and a minimum estimated entropy, reported as PASS_TOO_WEAK.
+     *
+     * @param bits Minimum entropy, in bits.
+     * @return The new policy.
+     * @throws IllegalArgumentException If bits is negative or not a number.
+     */
+    public PasswordPolicy withMinEntropy(final double bits) {
+        if (!(bits >= 0)) {
+            throw new IllegalArgumentException("Entropy must be greater or equals to 0.");
+        }
+        return new PasswordPolicy(this.minLength, this.minLowerCase, this.minUpperCase, this.minDigits, this.minSpecials, bits, this.breached);
+    }
+
+    /**
+     * Provide a policy with the rules of this one and a breached password list, reported as PASS_BREACHED.
+     *
+     * @param filter Filter holding the breached passwords.
+     * @return The new policy.
+     * @throws NullPointerException If filter is null.
+     */
+    public PasswordPolicy withBreachedPasswords(final PasswordBloomFilter filter) {
+        Objects.requireNonNull(filter);
+        return new PasswordPolicy(this.minLength, this.minLowerCase, this.minUpperCase, this.minDigits, this.minSpecials, this.minEntropy, filter);
+    }
+
+    private static void checkPositive(final int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value must be greater or equals to 0.");
+        }
+    }
+
+    /**
+     * Evaluate all the rules on a password.
+     *
+     * @param password Password to evaluate, in clear, cannot be null.
+     * @return The validation result, VALID if all the rules are respected.
+     * @throws NullPointerException If password is null.
+     */
+    public ValidationResult evaluate(final CharSequence password) {
+        if (this == NONE) {
+            return ValidationResult.VALID;
+        }
+        int length = password.length();
+        int lower = 0;
+        int upper = 0;
+        int digits = 0;
+        int others = 0;
+        int nonAscii = 0;
+        long hash = PasswordBloomFilter.Hash.SEED;
+        for (int i = 0; i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                lower++;
+            } else if (c >= 'A' && c <= 'Z') {
+                upper++;
+            } else if (c >= '0' && c <= '9') {
+                digits++;
+            } else if (c < 0x80) {
+                others++;
+            } else {
+                nonAscii++;
+            }
+            hash = PasswordBloomFilter.Hash.update(hash, c);
+        }
+        ValidationResult result = ValidationResult.VALID;
+        if (length < this.minLength) {
+            result = result.with(AuthenticationError.PASS_TOO_SHORT);
+        }
+        if (lower < this.minLowerCase
+                || upper < this.minUpperCase
+                || digits < this.minDigits
+                || others + nonAscii < this.minSpecials
+                || entropy(length, lower, upper, digits, others, nonAscii) < this.minEntropy) {
+            result = result.with(AuthenticationError.PASS_TOO_WEAK);
+        }
+        if (this.breached != null && this.breached.mightContain(PasswordBloomFilter.Hash.finish(hash))) {
+            result = result.with(AuthenticationError.PASS_BREACHED);
+        }
+        return result;
+    }
+
+    /**
+     * Estimate the entropy of a password from the character classes it uses.
+     *
+     * @return The estimated entropy in bits.
+     */
+    private static double entropy(int length, int lower, int upper, int digits, int others, int nonAscii) {
+        int pool = (lower > 0 ? 26 : 0) + (upper > 0 ? 26 : 0) + (digits > 0 ? 10 : 0) + (others > 0 ? 33 : 0) + (nonAscii > 0 ? 100 : 0);
+        return pool == 0 ? 0 : length * Math.log(pool) / LOG_2;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Encryption implementation using PBKDF2 with HMAC-SHA256, from the JDK.
+ * Every value gets its own random salt from the {@link SaltGenerator}, and is encoded in the PHC string format with its iteration count:
+ * $pbkdf2-sha256$i=iterations$salt$hash, salt and hash being base 64 encoded without padding.
+ * The algorithm uses no memory, and its cost is only the CPU time, linear in the iteration count.
+ * Immutable class.
+ * @author Grégory Van den Borre
+ */
+public final class Pbkdf2EncryptionTool implements EncryptionTool {
+
+    /**
+     * Format identifier of the encrypted values.
+     */
+    public static final String IDENTIFIER = "pbkdf2-sha256";
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    private static final int SALT_LENGTH = 16;
+
+    private static final int HASH_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getEncoder().withoutPadding();
+
+    /**
+     * Number of HMAC iterations.
+     */
+    private final int iterations;
+
+    /**
+     * Create a new instance with the iteration count recommended by OWASP, 600000.
+     */
+    public Pbkdf2EncryptionTool() {
+        this(600_000);
+    }
+
+    /**
+     * Create a new instance.
+     * @param iterations Number of HMAC iterations, at least 1.
+     * @throws IllegalArgumentException If iterations is smaller than 1.
+     */
+    public Pbkdf2EncryptionTool(int iterations) {
+        super();
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be greater than 0.");
+        }
+        this.iterations = iterations;
+    }
+
+    @Override
+    public String encrypt(final String toEncrypt) {
+        Objects.requireNonNull(toEncrypt);
+        byte[] salt = SaltGenerator.getInstance().generate(SALT_LENGTH);
+        byte[] hash = derive(toEncrypt, salt, this.iterations, HASH_LENGTH);
+        return "$" + IDENTIFIER + "$i=" + this.iterations + "$" + ENCODER.encodeToString(salt) + "$" + ENCODER.encodeToString(hash);
+    }
+
+    /**
+     * Check a clear value against a PBKDF2 encrypted value, with the iteration count of the encrypted value.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return true if they match, false otherwise.
+     * @throws IllegalArgumentException If the encrypted value is not a valid PBKDF2 value.
+     */
+    @Override
+    public boolean check(final String encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        String[] parts = parse(encrypted);
+        byte[] salt = Base64.getDecoder().decode(parts[3]);
+        byte[] expected = Base64.getDecoder().decode(parts[4]);
+        if (expected.length == 0) {
+            throw new IllegalArgumentException("Empty PBKDF2 hash.");
+        }
+        return MessageDigest.isEqual(derive(clear, salt, parseIterations(parts[2]), expected.length), expected);
+    }
+
+    /**
+     * Check if an encrypted value has fewer iterations than this tool, or is not a PBKDF2 value.
+     * @param encrypted Encrypted value to check.
+     * @return true if the value should be encrypted again with this tool.
+     */
+    @Override
+    public boolean needsRehash(final String encrypted) {
+        Objects.requireNonNull(encrypted);
+        try {
+            return parseIterations(parse(encrypted)[2]) < this.iterations;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    /**
+     * @return The number of HMAC iterations.
+     */
+    public int getIterations() {
+        return this.iterations;
+    }
+
+    private static byte[] derive(final String clear, final byte[] salt, final int iterations, final int length) {
+        PBEKeySpec spec = new PBEKeySpec(clear.toCharArray(), salt, iterations, length * 8);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available.", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException If the value is not a valid PBKDF2 value.
+     */
+    private static String[] parse(final String value) {
+        String[] parts = value.split("\\$", -1);
+        if (parts.length != 5 || !parts[0].isEmpty() || !IDENTIFIER.equals(parts[1]) || !parts[2].startsWith("i=")) {
+            throw new IllegalArgumentException("Not a PBKDF2 value.");
+        }
+        return parts;
+    }
+
+    private static int parseIterations(final String value) {
+        int iterations = Integer.parseInt(value.substring(2));
+        if (iterations < 1) {
+            throw new IllegalArgumentException("Iterations must be greater than 0.");
+        }
+        return iterations;
+    }
+}
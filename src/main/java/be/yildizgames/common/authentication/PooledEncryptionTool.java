@@ -0,0 +1,328 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Run an encryption tool on a dedicated pool of hashing threads, so the threads handling the connections and the
+ * messages never run the hashing themselves, and the CPU work is sized independently from them.
+ * The pool has a fixed number of threads, one per core by default, and a bounded queue: when the queue is full,
+ * the request is rejected and its future completes exceptionally with a RejectedExecutionException.
+ * The futures are completed on a hashing thread, heavy dependent stages should be run on another executor.
+ * The synchronous methods run on the calling thread. The batches without a given pool are shared between the calling
+ * thread and the hashing threads, the batches with a given pool run on that pool and do not use the hashing threads.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class PooledEncryptionTool implements AsyncEncryptionTool, AutoCloseable {
+
+    /**
+     * Default number of waiting requests per hashing thread.
+     */
+    private static final int DEFAULT_QUEUE_PER_THREAD = 64;
+
+    /**
+     * Pool number, used in the thread names.
+     */
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    /**
+     * Encryption tool running the hashing.
+     */
+    private final EncryptionTool delegate;
+
+    /**
+     * Hashing threads.
+     */
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Metrics receiving the time spent by the requests in the queue.
+     */
+    private final HashingMetrics metrics;
+
+    /**
+     * Create a new instance with one hashing thread per core.
+     *
+     * @param delegate Encryption tool running the hashing, cannot be null.
+     * @throws NullPointerException If delegate is null.
+     */
+    public PooledEncryptionTool(EncryptionTool delegate) {
+        this(delegate, Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors() * DEFAULT_QUEUE_PER_THREAD);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param delegate      Encryption tool running the hashing, cannot be null.
+     * @param threads       Number of hashing threads.
+     * @param queueCapacity Maximum number of requests waiting for a hashing thread.
+     * @throws NullPointerException     If delegate is null.
+     * @throws IllegalArgumentException If threads or queueCapacity is smaller than 1.
+     */
+    public PooledEncryptionTool(EncryptionTool delegate, int threads, int queueCapacity) {
+        this(delegate, threads, queueCapacity, HashingMetrics.NONE);
+    }
+
+    /**
+     * Create a new instance reporting the time spent by the requests in the queue.
+     *
+     * @param delegate      Encryption tool running the hashing, cannot be null.
+     * @param threads       Number of hashing threads.
+     * @param queueCapacity Maximum number of requests waiting for a hashing thread.
+     * @param metrics       Metrics receiving the waiting times, cannot be null.
+     * @throws NullPointerException     If delegate or metrics is null.
+     * @throws IllegalArgumentException If threads or queueCapacity is smaller than 1.
+     */
+    public PooledEncryptionTool(EncryptionTool delegate, int threads, int queueCapacity, HashingMetrics metrics) {
+        super();
+        this.delegate = Objects.requireNonNull(delegate);
+        this.metrics = Objects.requireNonNull(metrics);
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be greater than 0.");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be greater than 0.");
+        }
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+    }
+
+    @Override
+    public String encrypt(final String toEncrypt) {
+        return this.delegate.encrypt(toEncrypt);
+    }
+
+    @Override
+    public boolean check(final String encrypted, final String clear) {
+        return this.delegate.check(encrypted, clear);
+    }
+
+    @Override
+    public boolean needsRehash(final String encrypted) {
+        return this.delegate.needsRehash(encrypted);
+    }
+
+    /**
+     * Encrypt a batch of values on the calling thread and the hashing threads.
+     * The batch takes at most one queue slot per other hashing thread, whatever its size: every slot runs the next
+     * values of the batch until there is none left, and the calling thread does the same.
+     * @param toEncrypt Values to encrypt.
+     * @return The encrypted values, in the same order as the values to encrypt, immutable.
+     * @throws NullPointerException If toEncrypt is null or contains null.
+     * @throws RejectedExecutionException If the pool is closed.
+     */
+    @Override
+    public List<String> encryptAll(final List<String> toEncrypt) {
+        String[] values = toEncrypt.toArray(new String[0]);
+        for (String value : values) {
+            Objects.requireNonNull(value);
+        }
+        String[] results = new String[values.length];
+        this.runBatch(values.length, i -> results[i] = this.delegate.encrypt(values[i]));
+        return List.of(results);
+    }
+
+    /**
+     * Check a batch of encrypted and clear value pairs on the calling thread and the hashing threads.
+     * The batch takes at most one queue slot per other hashing thread, whatever its size: every slot runs the next
+     * pairs of the batch until there is none left, and the calling thread does the same.
+     * @param encrypted Encrypted values to be checked against.
+     * @param clear Clear values to check, at the same index as their encrypted value.
+     * @return The index of the matching pairs. A pair whose check fails with an exception does not match, and the
+     * other pairs are still checked. If the pool is closed, no pair matches.
+     * @throws NullPointerException If a list is null or contains null.
+     * @throws IllegalArgumentException If the lists do not have the same size.
+     */
+    @Override
+    public BitSet checkAll(final List<String> encrypted, final List<String> clear) {
+        String[] encryptedValues = encrypted.toArray(new String[0]);
+        String[] clearValues = clear.toArray(new String[0]);
+        if (encryptedValues.length != clearValues.length) {
+            throw new IllegalArgumentException("Encrypted and clear values must have the same size: "
+                    + encryptedValues.length + ", " + clearValues.length);
+        }
+        for (int i = 0; i < encryptedValues.length; i++) {
+            Objects.requireNonNull(encryptedValues[i]);
+            Objects.requireNonNull(clearValues[i]);
+        }
+        boolean[] results = new boolean[encryptedValues.length];
+        try {
+            this.runBatch(results.length, i -> {
+                try {
+                    results[i] = this.delegate.check(encryptedValues[i], clearValues[i]);
+                } catch (RuntimeException e) {
+                    results[i] = false;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            return new BitSet();
+        }
+        BitSet matches = new BitSet(results.length);
+        for (int i = 0; i < results.length; i++) {
+            matches.set(i, results[i]);
+        }
+        return matches;
+    }
+
+    @Override
+    public CompletableFuture<String> encryptAsync(final String toEncrypt) {
+        Objects.requireNonNull(toEncrypt);
+        return this.submit(() -> this.delegate.encrypt(toEncrypt));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> checkAsync(final String encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        return this.submit(() -> this.delegate.check(encrypted, clear));
+    }
+
+    /**
+     * @return The number of requests waiting for a hashing thread.
+     */
+    public int getQueuedRequests() {
+        return this.executor.getQueue().size();
+    }
+
+    /**
+     * @return The number of hashing threads.
+     */
+    public int getThreads() {
+        return this.executor.getCorePoolSize();
+    }
+
+    /**
+     * Stop accepting requests, the queued ones are still processed.
+     */
+    @Override
+    public void close() {
+        this.executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(final Supplier<T> task) {
+        long submitted = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                this.metrics.waited(System.nanoTime() - submitted);
+                return task.get();
+            }, this.executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Run the operation for every index of a batch, with the calling thread and at most one task per other hashing
+     * thread taking the next index until there is none left. The calling thread waits only for the indices already
+     * taken, never for a queued task, so a batch started from a hashing thread, in a dependent stage of a future for
+     * example, cannot wait for itself. A task rejected because the queue is full leaves its share to the others.
+     * @param size Batch size.
+     * @param operation Operation to run for an index.
+     * @throws RejectedExecutionException If the pool is closed.
+     */
+    private void runBatch(final int size, final IntConsumer operation) {
+        if (this.executor.isShutdown()) {
+            throw new RejectedExecutionException("Pool closed.");
+        }
+        AtomicInteger next = new AtomicInteger();
+        CountDownLatch remaining = new CountDownLatch(size);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        Runnable drain = () -> {
+            for (int i = next.getAndIncrement(); i < size; i = next.getAndIncrement()) {
+                try {
+                    if (failure.get() == null) {
+                        operation.accept(i);
+                    }
+                } catch (RuntimeException e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    remaining.countDown();
+                }
+            }
+        };
+        long submitted = System.nanoTime();
+        Runnable helper = () -> {
+            this.metrics.waited(System.nanoTime() - submitted);
+            drain.run();
+        };
+        for (int i = 1; i < Math.min(size, this.executor.getCorePoolSize()); i++) {
+            try {
+                this.executor.execute(helper);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        drain.run();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                remaining.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    /**
+     * Create the hashing threads, as daemons so an unclosed pool does not prevent the JVM to stop.
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final int pool = POOL_COUNT.incrementAndGet();
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "hashing-" + this.pool + "-" + this.count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
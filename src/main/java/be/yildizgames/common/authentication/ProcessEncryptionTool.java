@@ -0,0 +1,556 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Encryption tool delegating the hashing to a pool of local {@link HashingWorker} processes, started from the same
+ * classes, so the hashing does not compete for the CPU and the memory with the calling process.
+ * Every worker is connected with a Unix domain socket, the requests are sent with a compact binary framing and are
+ * pipelined: a request is sent to the worker with the fewest pending requests without waiting for the previous ones.
+ * A worker stopping fails its pending requests, and is restarted when it is chosen for the next request.
+ * The batches without a given pool are pipelined to the workers as well, the batches with a given pool run on that
+ * pool, every thread of the pool waiting for one value at a time.
+ * The worker process ids are available to pin them to cores or to tune their priority with the system tools.
+ * Thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ProcessEncryptionTool implements AsyncEncryptionTool, AutoCloseable {
+
+    /**
+     * Maximum time for a worker to start and connect.
+     */
+    private static final Duration START_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Time given to a worker to stop once its connection is closed, before being destroyed.
+     */
+    private static final long STOP_TIMEOUT_MILLIS = 2000;
+
+    /**
+     * Worker number, used in the reader thread names.
+     */
+    private static final AtomicInteger WORKER_COUNT = new AtomicInteger();
+
+    /**
+     * Algorithm and settings given to the workers.
+     */
+    private final String settings;
+
+    /**
+     * Options given to the worker virtual machines.
+     */
+    private final List<String> jvmOptions;
+
+    /**
+     * Workers, a stopped worker is replaced when chosen.
+     */
+    private final Worker[] workers;
+
+    /**
+     * Request id generator.
+     */
+    private final AtomicInteger ids = new AtomicInteger();
+
+    /**
+     * true once closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Create a new instance and start its workers.
+     *
+     * @param settings Algorithm and settings used to encrypt: bcrypt-[cost], argon2id-[memory in KB]-[iterations]-[parallelism],
+     *                 or pbkdf2-[iterations], the values of the three algorithms can be checked.
+     * @param workers  Number of worker processes, usually the number of cores.
+     * @throws NullPointerException     If settings is null.
+     * @throws IllegalArgumentException If the settings are invalid or workers is smaller than 1.
+     * @throws UncheckedIOException     If a worker cannot be started.
+     */
+    public ProcessEncryptionTool(String settings, int workers) {
+        this(settings, workers, List.of());
+    }
+
+    /**
+     * Create a new instance and start its workers with options for their virtual machine, -Xmx32m for example.
+     *
+     * @param settings   Algorithm and settings used to encrypt: bcrypt-[cost], argon2id-[memory in KB]-[iterations]-[parallelism],
+     *                   or pbkdf2-[iterations], the values of the three algorithms can be checked.
+     * @param workers    Number of worker processes, usually the number of cores.
+     * @param jvmOptions Options given to the worker virtual machines, cannot be null.
+     * @throws NullPointerException     If settings or jvmOptions is null.
+     * @throws IllegalArgumentException If the settings are invalid or workers is smaller than 1.
+     * @throws UncheckedIOException     If a worker cannot be started.
+     */
+    public ProcessEncryptionTool(String settings, int workers, List<String> jvmOptions) {
+        super();
+        HashingWorker.createTool(settings);
+        if (workers < 1) {
+            throw new IllegalArgumentException("Workers must be greater than 0.");
+        }
+        this.settings = settings;
+        this.jvmOptions = List.copyOf(jvmOptions);
+        this.workers = new Worker[workers];
+        try {
+            for (int i = 0; i < workers; i++) {
+                this.workers[i] = this.startWorker();
+            }
+        } catch (UncheckedIOException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String encrypt(final String toEncrypt) {
+        return await(this.encryptAsync(toEncrypt));
+    }
+
+    /**
+     * Check a value on a worker and wait for the result.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return true if they match, false otherwise.
+     * @throws IllegalArgumentException If the encrypted value is invalid.
+     * @throws IllegalStateException If the worker stopped or the tool is closed.
+     */
+    @Override
+    public boolean check(final String encrypted, final String clear) {
+        return await(this.checkAsync(encrypted, clear));
+    }
+
+    /**
+     * Encrypt a value on a worker.
+     * @param toEncrypt Value to encrypt.
+     * @return Future completed with the encrypted value, or exceptionally with an IllegalArgumentException if the value
+     * is too long, or with an IllegalStateException if the worker stopped or the tool is closed.
+     */
+    @Override
+    public CompletableFuture<String> encryptAsync(final String toEncrypt) {
+        Objects.requireNonNull(toEncrypt);
+        int id = this.ids.incrementAndGet();
+        try {
+            return this.send(id, WorkerProtocol.encryptRequest(id, toEncrypt)).thenApply(String.class::cast);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Check a value on a worker.
+     * @param encrypted Encrypted value to be checked against.
+     * @param clear Clear value to check.
+     * @return Future completed with true if they match, false otherwise, or exceptionally with an IllegalArgumentException
+     * if a value is invalid, or with an IllegalStateException if the worker stopped or the tool is closed.
+     */
+    @Override
+    public CompletableFuture<Boolean> checkAsync(final String encrypted, final String clear) {
+        Objects.requireNonNull(encrypted);
+        Objects.requireNonNull(clear);
+        int id = this.ids.incrementAndGet();
+        try {
+            return this.send(id, WorkerProtocol.checkRequest(id, encrypted, clear)).thenApply(Boolean.class::cast);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Encrypt a batch of values on the workers and wait for the result. All the requests are sent at once and
+     * pipelined, no thread is blocked per value.
+     * @param toEncrypt Values to encrypt.
+     * @return The encrypted values, in the same order as the values to encrypt, immutable.
+     * @throws NullPointerException If toEncrypt is null or contains null.
+     * @throws IllegalArgumentException If a value is too long.
+     * @throws IllegalStateException If a worker stopped or the tool is closed.
+     */
+    @Override
+    public List<String> encryptAll(final List<String> toEncrypt) {
+        String[] values = toEncrypt.toArray(new String[0]);
+        for (String value : values) {
+            Objects.requireNonNull(value);
+        }
+        List<CompletableFuture<String>> futures = new ArrayList<>(values.length);
+        for (String value : values) {
+            futures.add(this.encryptAsync(value));
+        }
+        String[] results = new String[values.length];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = await(futures.get(i));
+        }
+        return List.of(results);
+    }
+
+    /**
+     * Check a batch of encrypted and clear value pairs on the workers and wait for the result. All the requests are
+     * sent at once and pipelined, no thread is blocked per pair.
+     * @param encrypted Encrypted values to be checked against.
+     * @param clear Clear values to check, at the same index as their encrypted value.
+     * @return The index of the matching pairs. A pair whose check fails, an invalid value or a stopped worker
+     * for example, does not match, and the other pairs are still checked.
+     * @throws NullPointerException If a list is null or contains null.
+     * @throws IllegalArgumentException If the lists do not have the same size.
+     */
+    @Override
+    public BitSet checkAll(final List<String> encrypted, final List<String> clear) {
+        String[] encryptedValues = encrypted.toArray(new String[0]);
+        String[] clearValues = clear.toArray(new String[0]);
+        if (encryptedValues.length != clearValues.length) {
+            throw new IllegalArgumentException("Encrypted and clear values must have the same size: "
+                    + encryptedValues.length + ", " + clearValues.length);
+        }
+        for (int i = 0; i < encryptedValues.length; i++) {
+            Objects.requireNonNull(encryptedValues[i]);
+            Objects.requireNonNull(clearValues[i]);
+        }
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(encryptedValues.length);
+        for (int i = 0; i < encryptedValues.length; i++) {
+            futures.add(this.checkAsync(encryptedValues[i], clearValues[i]));
+        }
+        BitSet matches = new BitSet(encryptedValues.length);
+        for (int i = 0; i < encryptedValues.length; i++) {
+            matches.set(i, futures.get(i).exceptionally(e -> Boolean.FALSE).join());
+        }
+        return matches;
+    }
+
+    /**
+     * @return The process ids of the running workers.
+     */
+    public synchronized List<Long> getWorkerPids() {
+        List<Long> pids = new ArrayList<>(this.workers.length);
+        for (Worker worker : this.workers) {
+            if (worker != null && worker.running) {
+                pids.add(worker.process.pid());
+            }
+        }
+        return pids;
+    }
+
+    /**
+     * @return The number of requests sent to the workers and not answered yet.
+     */
+    public int getPendingRequests() {
+        int pending = 0;
+        for (Worker worker : this.workers) {
+            if (worker != null) {
+                pending += worker.pending.size();
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Stop the workers, the pending requests fail.
+     */
+    @Override
+    public synchronized void close() {
+        this.closed = true;
+        for (Worker worker : this.workers) {
+            if (worker != null) {
+                worker.stop();
+            }
+        }
+    }
+
+    private static <T> T await(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CompletableFuture<Object> send(final int id, final ByteBuffer frame) {
+        if (this.closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Tool closed."));
+        }
+        Worker worker;
+        try {
+            worker = this.chooseWorker();
+        } catch (UncheckedIOException e) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Cannot start a hashing worker.", e));
+        }
+        return worker.send(id, frame);
+    }
+
+    /**
+     * Choose the worker with the fewest pending requests, restarting it if it stopped.
+     */
+    private Worker chooseWorker() {
+        int chosen = 0;
+        int fewest = Integer.MAX_VALUE;
+        for (int i = 0; i < this.workers.length; i++) {
+            Worker worker = this.workers[i];
+            int pending = worker.running ? worker.pending.size() : -1;
+            if (pending < fewest) {
+                fewest = pending;
+                chosen = i;
+            }
+        }
+        Worker worker = this.workers[chosen];
+        if (worker.running) {
+            return worker;
+        }
+        synchronized (this) {
+            if (!this.workers[chosen].running && !this.closed) {
+                this.workers[chosen] = this.startWorker();
+            }
+            return this.workers[chosen];
+        }
+    }
+
+    /**
+     * Start a worker process, and wait for its connection on a new socket.
+     */
+    private Worker startWorker() {
+        Path directory = null;
+        Path socket = null;
+        Process process = null;
+        try {
+            directory = Files.createTempDirectory("hashing-worker");
+            socket = directory.resolve("worker.socket");
+            try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+                server.bind(UnixDomainSocketAddress.of(socket));
+                server.configureBlocking(false);
+                process = new ProcessBuilder(this.command(socket))
+                        .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                SocketChannel channel = accept(server, process);
+                channel.configureBlocking(true);
+                return new Worker(process, channel);
+            }
+        } catch (IOException e) {
+            if (process != null) {
+                process.destroyForcibly();
+            }
+            throw new UncheckedIOException("Cannot start a hashing worker.", e);
+        } finally {
+            deleteQuietly(socket);
+            deleteQuietly(directory);
+        }
+    }
+
+    private static SocketChannel accept(final ServerSocketChannel server, final Process process) throws IOException {
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (true) {
+            SocketChannel channel = server.accept();
+            if (channel != null) {
+                return channel;
+            }
+            if (!process.isAlive()) {
+                throw new IOException("Hashing worker stopped with exit code " + process.exitValue());
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IOException("Hashing worker not connected after " + START_TIMEOUT);
+            }
+            try {
+                process.waitFor(10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while starting a hashing worker.", e);
+            }
+        }
+    }
+
+    /**
+     * Build the command starting a worker with the same java runtime, class or module path.
+     */
+    private List<String> command(final Path socket) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(this.jvmOptions);
+        Module module = HashingWorker.class.getModule();
+        String modulePath = System.getProperty("jdk.module.path");
+        if (module.isNamed() && modulePath != null) {
+            command.add("--module-path");
+            command.add(modulePath);
+            command.add("--module");
+            command.add(module.getName() + "/" + HashingWorker.class.getName());
+        } else {
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(HashingWorker.class.getName());
+        }
+        command.add(socket.toString());
+        command.add(this.settings);
+        return command;
+    }
+
+    private static void deleteQuietly(final Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // The temporary file is left, it is harmless.
+            }
+        }
+    }
+
+    /**
+     * Connection to a worker process, with a thread reading its responses.
+     */
+    private static final class Worker {
+
+        /**
+         * Worker process.
+         */
+        private final Process process;
+
+        /**
+         * Connection to the worker.
+         */
+        private final SocketChannel channel;
+
+        /**
+         * Requests waiting for their response, by id.
+         */
+        private final Map<Integer, CompletableFuture<Object>> pending = new ConcurrentHashMap<>();
+
+        /**
+         * Lock for the writes, so the frames are not interleaved.
+         */
+        private final Object writeLock = new Object();
+
+        /**
+         * false once the connection is lost.
+         */
+        private volatile boolean running = true;
+
+        private Worker(Process process, SocketChannel channel) {
+            super();
+            this.process = process;
+            this.channel = channel;
+            Thread reader = new Thread(this::read, "hashing-worker-" + WORKER_COUNT.incrementAndGet());
+            reader.setDaemon(true);
+            reader.start();
+        }
+
+        private CompletableFuture<Object> send(final int id, final ByteBuffer frame) {
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            this.pending.put(id, future);
+            if (!this.running) {
+                this.fail(id);
+                return future;
+            }
+            try {
+                synchronized (this.writeLock) {
+                    WorkerProtocol.write(this.channel, frame);
+                }
+            } catch (IOException e) {
+                this.stop();
+                this.fail(id);
+            }
+            return future;
+        }
+
+        /**
+         * Complete the requests with the responses until the connection is lost, then fail the pending requests.
+         */
+        private void read() {
+            try {
+                ByteBuffer response;
+                while ((response = WorkerProtocol.read(this.channel)) != null) {
+                    this.complete(response);
+                }
+            } catch (IOException e) {
+                // Connection lost, the pending requests fail below.
+            }
+            this.stop();
+            for (Integer id : this.pending.keySet()) {
+                this.fail(id);
+            }
+        }
+
+        private void complete(final ByteBuffer response) {
+            CompletableFuture<Object> future = this.pending.remove(response.getInt());
+            if (future == null) {
+                return;
+            }
+            byte result = response.get();
+            String value = WorkerProtocol.getString(response);
+            switch (result) {
+                case WorkerProtocol.RESULT_VALUE -> future.complete(value);
+                case WorkerProtocol.RESULT_MATCH -> future.complete(Boolean.TRUE);
+                case WorkerProtocol.RESULT_MISMATCH -> future.complete(Boolean.FALSE);
+                case WorkerProtocol.RESULT_INVALID -> future.completeExceptionally(new IllegalArgumentException(value));
+                default -> future.completeExceptionally(new IllegalStateException(value));
+            }
+        }
+
+        private void fail(final int id) {
+            CompletableFuture<Object> future = this.pending.remove(id);
+            if (future != null) {
+                future.completeExceptionally(new IllegalStateException("Hashing worker " + this.process.pid() + " stopped."));
+            }
+        }
+
+        /**
+         * Close the connection, the worker stops once it has read all the requests, it is destroyed if it does not.
+         */
+        private void stop() {
+            this.running = false;
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                // Already closed.
+            }
+            try {
+                if (!this.process.waitFor(STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    this.process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.process.destroyForcibly();
+            }
+        }
+    }
+}
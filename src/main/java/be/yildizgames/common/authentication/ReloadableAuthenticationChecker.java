@@ -0,0 +1,156 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * Authentication checker whose rules can be replaced at runtime, without lock and without restarting.
+ * The rules are compiled into a new checker when reloaded, and this checker is published at once to all validating
+ * threads: each validation performs a single volatile read and then works on an immutable checker, so a validation
+ * running during a reload uses either the previous rules or the new ones, never a mix of both.
+ *
+ * @author Grégory Van den Borre
+ */
+public class ReloadableAuthenticationChecker implements AuthenticationChecker {
+
+    /**
+     * Checker compiled from the current rules, read without lock, replaced under the instance lock so a reload keeping
+     * the policy cannot overwrite a concurrent policy change.
+     */
+    private volatile SimpleAuthenticationChecker current;
+
+    /**
+     * Create a new reloadable checker.
+     *
+     * @param rules Initial rules, cannot be null.
+     * @throws NullPointerException If rules is null.
+     */
+    public ReloadableAuthenticationChecker(AuthenticationRules rules) {
+        super();
+        this.current = new SimpleAuthenticationChecker(rules);
+    }
+
+    /**
+     * Create a new reloadable checker with a password policy.
+     *
+     * @param rules  Initial rules, cannot be null.
+     * @param policy Initial password policy, cannot be null.
+     * @throws NullPointerException If rules or policy is null.
+     */
+    public ReloadableAuthenticationChecker(AuthenticationRules rules, PasswordPolicy policy) {
+        super();
+        this.current = new SimpleAuthenticationChecker(rules, policy);
+    }
+
+    /**
+     * Replace the rules and keep the current password policy, the validations started after this call use the new rules.
+     *
+     * @param rules New rules, cannot be null.
+     * @throws NullPointerException If rules is null.
+     */
+    public final synchronized void reload(final AuthenticationRules rules) {
+        this.current = new SimpleAuthenticationChecker(rules, this.current.getPolicy());
+    }
+
+    /**
+     * Replace the rules and the password policy, the validations started after this call use the new ones.
+     *
+     * @param rules  New rules, cannot be null.
+     * @param policy New password policy, cannot be null.
+     * @throws NullPointerException If rules or policy is null.
+     */
+    public final synchronized void reload(final AuthenticationRules rules, final PasswordPolicy policy) {
+        this.current = new SimpleAuthenticationChecker(rules, policy);
+    }
+
+    /**
+     * Replace the rules with the ones read from a properties file, see {@link AuthenticationRules#fromProperties(Properties)}.
+     * If the file cannot be read or contains invalid values, the current rules are kept.
+     *
+     * @param file File to read, encoded in UTF-8.
+     * @throws IOException If the file cannot be read.
+     * @throws IllegalArgumentException If the file contains invalid values.
+     */
+    public final void reload(final Path file) throws IOException {
+        Objects.requireNonNull(file);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        this.reload(AuthenticationRules.fromProperties(properties));
+    }
+
+    /**
+     * @return The rules currently applied.
+     */
+    public final AuthenticationRules getRules() {
+        return this.current.getRules();
+    }
+
+    /**
+     * @return The password policy currently applied.
+     */
+    public final PasswordPolicy getPolicy() {
+        return this.current.getPolicy();
+    }
+
+    @Override
+    public final Credentials check(final String login, final String password) throws CredentialException {
+        return this.current.check(login, password);
+    }
+
+    @Override
+    public final ValidationResult validate(final String login, final String password) {
+        return this.current.validate(login, password);
+    }
+
+    @Override
+    public final ValidationResult validate(final CharSequence login, final CharSequence password) {
+        return this.current.validate(login, password);
+    }
+
+    @Override
+    public final ValidationResult validateChars(final char[] login, final char[] password) {
+        return this.current.validateChars(login, password);
+    }
+
+    @Override
+    public final ValidationResult validateAscii(final ByteBuffer login, final ByteBuffer password) {
+        return this.current.validateAscii(login, password);
+    }
+
+    @Override
+    public final ValidationResult validateAscii(final byte[] data, final int loginOffset, final int loginLength, final int passwordOffset, final int passwordLength) {
+        return this.current.validateAscii(data, loginOffset, loginLength, passwordOffset, passwordLength);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.nio.ByteBuffer;
+import java.security.DrbgParameters;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+
+/**
+ * Generate the random salts of the encrypted values.
+ * Every thread gets its own DRBG (NIST SP 800-90A, SHA-256 based) SecureRandom, instantiated once with entropy from
+ * the JDK seeder, itself seeded once from the operating system. The instances are never reseeded from the system,
+ * so a salt generation never waits for entropy, and no lock is shared between the threads.
+ * Thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class SaltGenerator {
+
+    private static final SaltGenerator INSTANCE = new SaltGenerator();
+
+    /**
+     * Security strength of the generators, in bits.
+     */
+    private static final int STRENGTH = 256;
+
+    /**
+     * Generator of the current thread.
+     */
+    private final ThreadLocal<SecureRandom> randoms = ThreadLocal.withInitial(SaltGenerator::createRandom);
+
+    private SaltGenerator() {
+        super();
+    }
+
+    /**
+     * Provide the generator shared by the application, every thread using its own SecureRandom.
+     *
+     * @return The unique instance.
+     */
+    public static SaltGenerator getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Generate a salt.
+     *
+     * @param length Salt length, in bytes.
+     * @return The salt.
+     * @throws NegativeArraySizeException If length is negative.
+     */
+    public byte[] generate(final int length) {
+        byte[] salt = new byte[length];
+        this.randoms.get().nextBytes(salt);
+        return salt;
+    }
+
+    /**
+     * Fill an array with random bytes.
+     *
+     * @param salt Array to fill.
+     * @throws NullPointerException If salt is null.
+     */
+    public void nextBytes(final byte[] salt) {
+        this.randoms.get().nextBytes(salt);
+    }
+
+    /**
+     * Create a generator, the thread id is used as personalization string so every instance has a distinct state.
+     */
+    private static SecureRandom createRandom() {
+        byte[] personalization = ByteBuffer.allocate(Long.BYTES).putLong(Thread.currentThread().threadId()).array();
+        try {
+            return SecureRandom.getInstance("DRBG",
+                    DrbgParameters.instantiation(STRENGTH, DrbgParameters.Capability.NONE, personalization));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("DRBG not available.", e);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import be.yildizgames.common.model.PlayerId;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Binary format of the signed tokens, issued by the {@link SignedTokenIssuer} of the authentication server, and
+ * checked by the {@link SignedTokenVerifier} of the game servers, without asking the authentication server.
+ * A token is 62 bytes, the integers are big endian:
+ * <ul>
+ * <li>0: format version, 1 byte.</li>
+ * <li>1: signing key id, 4 bytes.</li>
+ * <li>5: player id, 4 bytes.</li>
+ * <li>9: status, 1 byte.</li>
+ * <li>10: authentication key, 4 bytes.</li>
+ * <li>14: issue time, milliseconds since the epoch, 8 bytes.</li>
+ * <li>22: expiration time, milliseconds since the epoch, 8 bytes.</li>
+ * <li>30: HMAC-SHA256 of the previous 30 bytes, 32 bytes.</li>
+ * </ul>
+ * The fields are read without allocating, they are only meaningful once the token is verified.
+ * The tokens can also be sent as text, in URL safe base 64 without padding.
+ * @author Grégory Van den Borre
+ */
+public final class SignedToken {
+
+    /**
+     * Current format version.
+     */
+    public static final byte VERSION = 1;
+
+    /**
+     * Number of signed bytes.
+     */
+    public static final int PAYLOAD_LENGTH = 30;
+
+    /**
+     * Number of bytes of a token.
+     */
+    public static final int LENGTH = PAYLOAD_LENGTH + HmacSha256.TAG_LENGTH;
+
+    static final int KEY_ID = 1;
+
+    private static final int PLAYER_ID = 5;
+
+    private static final int STATUS = 9;
+
+    private static final int KEY = 10;
+
+    private static final int ISSUE_TIME = 14;
+
+    private static final int EXPIRATION_TIME = 22;
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    /**
+     * Status by value.
+     */
+    private static final Token.Status[] STATUSES = new Token.Status[Token.Status.values().length];
+
+    static {
+        for (Token.Status status : Token.Status.values()) {
+            STATUSES[status.value] = status;
+        }
+    }
+
+    private SignedToken() {
+        super();
+    }
+
+    /**
+     * Write the payload of a token, without its tag.
+     */
+    static void write(final byte[] token, final int keyId, final Token content, final long issueTime, final long expirationTime) {
+        token[0] = VERSION;
+        INT.set(token, KEY_ID, keyId);
+        INT.set(token, PLAYER_ID, content.getId().value);
+        token[STATUS] = (byte) content.getStatus().value;
+        INT.set(token, KEY, content.getKey());
+        LONG.set(token, ISSUE_TIME, issueTime);
+        LONG.set(token, EXPIRATION_TIME, expirationTime);
+    }
+
+    /**
+     * @param token Token bytes, starting at offset 0.
+     * @return The id of the key that signed the token.
+     */
+    public static int getKeyId(final byte[] token) {
+        return (int) INT.get(token, KEY_ID);
+    }
+
+    /**
+     * @param token Token bytes, starting at offset 0.
+     * @return The player id value.
+     */
+    public static int getPlayerId(final byte[] token) {
+        return (int) INT.get(token, PLAYER_ID);
+    }
+
+    /**
+     * @param token Token bytes, starting at offset 0.
+     * @return The authentication status.
+     * @throws IllegalArgumentException If the status is unknown.
+     */
+    public static Token.Status getStatus(final byte[] token) {
+        int value = token[STATUS];
+        if (value < 0 || value >= STATUSES.length || STATUSES[value] == null) {
+            throw new IllegalArgumentException("Unknown status: " + value);
+        }
+        return STATUSES[value];
+    }
+
+    /**
+     * @param token Token bytes, starting at offset 0.
+     * @return The authentication key.
+     */
+    public static int getKey(final byte[] token) {
+        return (int) INT.get(token, KEY);
+    }
+
+    /**
+     * @param token Token bytes, starting at offset 0.
+     * @return The issue time, in milliseconds since the epoch.
+     */
+    public static long getIssueTime(final byte[] token) {
+        return (long) LONG.get(token, ISSUE_TIME);
+    }
+
+    /**
+     * @param token Token bytes, starting at offset 0.
+     * @return The expiration time, in milliseconds since the epoch.
+     */
+    public static long getExpirationTime(final byte[] token) {
+        return (long) LONG.get(token, EXPIRATION_TIME);
+    }
+
+    /**
+     * Build the token carried by a signed token, the authenticated tokens get the issue time as authentication time.
+     * @param token Token bytes, starting at offset 0, cannot be null.
+     * @return The token content.
+     * @throws NullPointerException If token is null.
+     * @throws IllegalArgumentException If the status is unknown.
+     */
+    public static Token toToken(final byte[] token) {
+        Objects.requireNonNull(token);
+        PlayerId id = PlayerId.valueOf(getPlayerId(token));
+        Token.Status status = getStatus(token);
+        if (status == Token.Status.AUTHENTICATED) {
+            return Token.authenticated(id, getIssueTime(token), getKey(token));
+        }
+        return Token.any(id, getKey(token), status);
+    }
+
+    /**
+     * Encode a token as text.
+     * @param token Token bytes, cannot be null.
+     * @return The token in URL safe base 64, without padding.
+     * @throws NullPointerException If token is null.
+     */
+    public static String encode(final byte[] token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token);
+    }
+
+    /**
+     * Decode a token encoded as text.
+     * @param token Token in URL safe base 64, cannot be null.
+     * @return The token bytes.
+     * @throws NullPointerException If token is null.
+     * @throws IllegalArgumentException If token is not valid base 64.
+     */
+    public static byte[] decode(final String token) {
+        return Base64.getUrlDecoder().decode(token);
+    }
+}
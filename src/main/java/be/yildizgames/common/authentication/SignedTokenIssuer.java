@@ -0,0 +1,109 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Issue signed tokens with the current key of a key set, to be checked by the game servers with a
+ * {@link SignedTokenVerifier} sharing the keys.
+ * The key set can be replaced at any time to rotate the keys.
+ * Thread safe.
+ * @author Grégory Van den Borre
+ */
+public final class SignedTokenIssuer {
+
+    /**
+     * Validity of the issued tokens, in milliseconds.
+     */
+    private final long validity;
+
+    /**
+     * Time source, in milliseconds since the epoch.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Keys, the current one signs the tokens.
+     */
+    private volatile SigningKeySet keys;
+
+    /**
+     * Create a new instance.
+     * @param keys Signing keys, cannot be null.
+     * @param validity Validity of the issued tokens, cannot be null.
+     * @throws NullPointerException If a parameter is null.
+     * @throws IllegalArgumentException If validity is not positive.
+     */
+    public SignedTokenIssuer(SigningKeySet keys, Duration validity) {
+        this(keys, validity, System::currentTimeMillis);
+    }
+
+    SignedTokenIssuer(SigningKeySet keys, Duration validity, LongSupplier clock) {
+        super();
+        this.keys = Objects.requireNonNull(keys);
+        Objects.requireNonNull(validity);
+        if (validity.isNegative() || validity.isZero()) {
+            throw new IllegalArgumentException("Validity must be positive.");
+        }
+        this.validity = validity.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Issue a signed token, valid from now.
+     * @param token Token content: player id, status and key, cannot be null.
+     * @return The signed token bytes.
+     * @throws NullPointerException If token is null.
+     */
+    public byte[] issue(final Token token) {
+        Objects.requireNonNull(token);
+        SigningKey key = this.keys.getCurrent();
+        long now = this.clock.getAsLong();
+        byte[] result = new byte[SignedToken.LENGTH];
+        SignedToken.write(result, key.getId(), token, now, now + this.validity);
+        HmacSha256.get().sign(key, result, 0, SignedToken.PAYLOAD_LENGTH, result, SignedToken.PAYLOAD_LENGTH);
+        return result;
+    }
+
+    /**
+     * Replace the signing keys, the new tokens are signed with the current key of the new set.
+     * @param keys New signing keys, cannot be null.
+     * @throws NullPointerException If keys is null.
+     */
+    public void setKeys(final SigningKeySet keys) {
+        this.keys = Objects.requireNonNull(keys);
+    }
+
+    /**
+     * @return The signing keys.
+     */
+    public SigningKeySet getKeys() {
+        return this.keys;
+    }
+}
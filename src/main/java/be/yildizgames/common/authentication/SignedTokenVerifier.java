@@ -0,0 +1,148 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Verify signed tokens locally, with the keys shared by the authentication server, instead of asking it with a
+ * token verification request.
+ * A token is valid if its format is known, its key is in the key set, its HMAC-SHA256 tag matches, compared in
+ * constant time, and it is not expired. The verification does not allocate.
+ * The key set can be replaced at any time to rotate the keys.
+ * Thread safe.
+ * @author Grégory Van den Borre
+ */
+public final class SignedTokenVerifier {
+
+    /**
+     * Time source, in milliseconds since the epoch.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * Keys accepted to sign the tokens.
+     */
+    private volatile SigningKeySet keys;
+
+    /**
+     * Create a new instance.
+     * @param keys Keys accepted to sign the tokens, cannot be null.
+     * @throws NullPointerException If keys is null.
+     */
+    public SignedTokenVerifier(SigningKeySet keys) {
+        this(keys, System::currentTimeMillis);
+    }
+
+    SignedTokenVerifier(SigningKeySet keys, LongSupplier clock) {
+        super();
+        this.keys = Objects.requireNonNull(keys);
+        this.clock = clock;
+    }
+
+    /**
+     * Verify a token at the current time.
+     * @param token Token bytes, cannot be null.
+     * @return The verification result, the token content can only be trusted if it is VALID.
+     * @throws NullPointerException If token is null.
+     */
+    public Result verify(final byte[] token) {
+        return this.verify(token, this.clock.getAsLong());
+    }
+
+    /**
+     * Verify a token at a given time.
+     * @param token Token bytes, cannot be null.
+     * @param now Verification time, in milliseconds since the epoch.
+     * @return The verification result, the token content can only be trusted if it is VALID.
+     * @throws NullPointerException If token is null.
+     */
+    public Result verify(final byte[] token, final long now) {
+        Objects.requireNonNull(token);
+        if (token.length != SignedToken.LENGTH || token[0] != SignedToken.VERSION) {
+            return Result.MALFORMED;
+        }
+        SigningKey key = this.keys.get(SignedToken.getKeyId(token));
+        if (key == null) {
+            return Result.UNKNOWN_KEY;
+        }
+        if (!HmacSha256.get().verify(key, token, 0, SignedToken.PAYLOAD_LENGTH, token, SignedToken.PAYLOAD_LENGTH)) {
+            return Result.INVALID_SIGNATURE;
+        }
+        if (now >= SignedToken.getExpirationTime(token)) {
+            return Result.EXPIRED;
+        }
+        return Result.VALID;
+    }
+
+    /**
+     * Replace the accepted keys.
+     * @param keys New accepted keys, cannot be null.
+     * @throws NullPointerException If keys is null.
+     */
+    public void setKeys(final SigningKeySet keys) {
+        this.keys = Objects.requireNonNull(keys);
+    }
+
+    /**
+     * @return The accepted keys.
+     */
+    public SigningKeySet getKeys() {
+        return this.keys;
+    }
+
+    /**
+     * Possible verification results.
+     */
+    public enum Result {
+
+        /**
+         * The token is authentic and not expired.
+         */
+        VALID,
+
+        /**
+         * The token does not have the expected length or format version.
+         */
+        MALFORMED,
+
+        /**
+         * The token was signed with a key that is not, or no longer, accepted.
+         */
+        UNKNOWN_KEY,
+
+        /**
+         * The token tag does not match its content.
+         */
+        INVALID_SIGNATURE,
+
+        /**
+         * The token is authentic but expired.
+         */
+        EXPIRED
+    }
+}
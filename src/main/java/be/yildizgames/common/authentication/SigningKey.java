@@ -0,0 +1,131 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Secret key signing the tokens with HMAC-SHA256, identified by an id written in every token it signs, so the
+ * verifiers can still find it after a new key is used for the new tokens.
+ * The key pads used by HMAC are computed once when the key is created.
+ * Immutable class.
+ * @author Grégory Van den Borre
+ */
+public final class SigningKey {
+
+    /**
+     * Minimum secret length, in bytes.
+     */
+    public static final int MIN_LENGTH = 32;
+
+    /**
+     * Maximum secret length, in bytes, the SHA-256 block size.
+     */
+    public static final int MAX_LENGTH = 64;
+
+    /**
+     * Key identifier.
+     */
+    private final int id;
+
+    /**
+     * Secret bytes.
+     */
+    private final byte[] secret;
+
+    /**
+     * Secret padded to the block size, xored with 0x36.
+     */
+    private final byte[] innerPad = new byte[MAX_LENGTH];
+
+    /**
+     * Secret padded to the block size, xored with 0x5c.
+     */
+    private final byte[] outerPad = new byte[MAX_LENGTH];
+
+    /**
+     * Create a new instance.
+     * @param id Key identifier.
+     * @param secret Secret bytes, copied, between 32 and 64 bytes.
+     * @throws NullPointerException If secret is null.
+     * @throws IllegalArgumentException If the secret length is out of range.
+     */
+    public SigningKey(int id, byte[] secret) {
+        super();
+        Objects.requireNonNull(secret);
+        if (secret.length < MIN_LENGTH || secret.length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Secret must be between " + MIN_LENGTH + " and " + MAX_LENGTH + " bytes, value is " + secret.length);
+        }
+        this.id = id;
+        this.secret = secret.clone();
+        Arrays.fill(this.innerPad, (byte) 0x36);
+        Arrays.fill(this.outerPad, (byte) 0x5c);
+        for (int i = 0; i < secret.length; i++) {
+            this.innerPad[i] ^= secret[i];
+            this.outerPad[i] ^= secret[i];
+        }
+    }
+
+    /**
+     * Create a new key with a random 32 bytes secret.
+     * @param id Key identifier.
+     * @return The created key.
+     */
+    public static SigningKey generate(final int id) {
+        byte[] secret = SaltGenerator.getInstance().generate(MIN_LENGTH);
+        SigningKey key = new SigningKey(id, secret);
+        Arrays.fill(secret, (byte) 0);
+        return key;
+    }
+
+    /**
+     * @return The key identifier.
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * @return A copy of the secret bytes, to share the key with the verifiers.
+     */
+    public byte[] getSecret() {
+        return this.secret.clone();
+    }
+
+    byte[] getInnerPad() {
+        return this.innerPad;
+    }
+
+    byte[] getOuterPad() {
+        return this.outerPad;
+    }
+
+    @Override
+    public String toString() {
+        return "SigningKey " + this.id;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keys known to sign the tokens: the current key, signing the new tokens, and the previous keys, still accepted for
+ * the tokens they signed until they are removed.
+ * A key is rotated by distributing a set with the new key to the verifiers, then using it as current key to sign,
+ * and removing the old key once its last tokens expired.
+ * Keys are found by id with a linear search, the sets are expected to contain a few keys.
+ * Immutable class.
+ * @author Grégory Van den Borre
+ */
+public final class SigningKeySet {
+
+    /**
+     * Key signing the new tokens.
+     */
+    private final SigningKey current;
+
+    /**
+     * All the keys, including the current one.
+     */
+    private final SigningKey[] keys;
+
+    private SigningKeySet(SigningKey current, SigningKey[] keys) {
+        super();
+        this.current = current;
+        this.keys = keys;
+    }
+
+    /**
+     * Create a new key set.
+     * @param current Key signing the new tokens, cannot be null.
+     * @param previous Keys still accepted, cannot be null nor contain null.
+     * @return The created set.
+     * @throws NullPointerException If a key is null.
+     * @throws IllegalArgumentException If two keys have the same id.
+     */
+    public static SigningKeySet of(final SigningKey current, final SigningKey... previous) {
+        Objects.requireNonNull(current);
+        SigningKey[] keys = new SigningKey[previous.length + 1];
+        keys[0] = current;
+        for (int i = 0; i < previous.length; i++) {
+            SigningKey key = Objects.requireNonNull(previous[i]);
+            for (int j = 0; j <= i; j++) {
+                if (keys[j].getId() == key.getId()) {
+                    throw new IllegalArgumentException("Duplicated key id: " + key.getId());
+                }
+            }
+            keys[i + 1] = key;
+        }
+        return new SigningKeySet(current, keys);
+    }
+
+    /**
+     * Create a set signing with a new key, and still accepting the keys of this set.
+     * @param key New current key, cannot be null.
+     * @return The created set.
+     * @throws NullPointerException If key is null.
+     * @throws IllegalArgumentException If the set already contains a key with the same id.
+     */
+    public SigningKeySet withCurrent(final SigningKey key) {
+        return of(key, this.keys);
+    }
+
+    /**
+     * Create a set without a previous key, the tokens it signed are no longer accepted.
+     * @param id Id of the key to remove.
+     * @return The created set, or this set if it does not contain the key.
+     * @throws IllegalArgumentException If the key is the current one.
+     */
+    public SigningKeySet without(final int id) {
+        if (this.current.getId() == id) {
+            throw new IllegalArgumentException("Current key cannot be removed.");
+        }
+        List<SigningKey> remaining = new ArrayList<>(this.keys.length);
+        for (SigningKey key : this.keys) {
+            if (key.getId() != id && key != this.current) {
+                remaining.add(key);
+            }
+        }
+        if (remaining.size() == this.keys.length - 1) {
+            return this;
+        }
+        return of(this.current, remaining.toArray(new SigningKey[0]));
+    }
+
+    /**
+     * @return The key signing the new tokens.
+     */
+    public SigningKey getCurrent() {
+        return this.current;
+    }
+
+    /**
+     * Find a key by id.
+     * @param id Key id.
+     * @return The key, or null if the set does not contain it.
+     */
+    public SigningKey get(final int id) {
+        for (SigningKey key : this.keys) {
+            if (key.getId() == id) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The number of keys, including the current one.
+     */
+    public int size() {
+        return this.keys.length;
+    }
+}
@@ -24,10 +24,9 @@
 
 package be.yildizgames.common.authentication;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.Objects;
-import java.util.regex.Pattern;
 
 /**
  * Check a login and a password following the requirement in the parameter
@@ -37,11 +36,36 @@ import java.util.regex.Pattern;
  */
 public class SimpleAuthenticationChecker implements AuthenticationChecker {
 
+    /**
+     * Result for a login containing invalid characters.
+     */
+    private static final ValidationResult INVALID_LOGIN = ValidationResult.of(AuthenticationError.INVALID_LOGIN_CHAR);
+
+    /**
+     * Result for a password containing invalid characters.
+     */
+    private static final ValidationResult INVALID_PASSWORD = ValidationResult.of(AuthenticationError.INVALID_PASS_CHAR);
+
     /**
      * Parameter rules.
      */
     private final AuthenticationRules parameters;
 
+    /**
+     * Validator compiled from the login pattern.
+     */
+    private final CharacterValidator loginValidator;
+
+    /**
+     * Validator compiled from the password pattern.
+     */
+    private final CharacterValidator passwordValidator;
+
+    /**
+     * Password strength policy, applied once the password respects the rules.
+     */
+    private final PasswordPolicy policy;
+
     /**
      * Create a new AuthenticationChecker from rules.
      *
@@ -49,72 +73,166 @@ public class SimpleAuthenticationChecker implements AuthenticationChecker {
      * @throws NullPointerException if parameters is null.
      */
     public SimpleAuthenticationChecker(AuthenticationRules parameters) {
+        this(parameters, PasswordPolicy.NONE);
+    }
+
+    /**
+     * Create a new AuthenticationChecker from rules and a password policy.
+     *
+     * @param parameters List of rules to apply when authenticating, cannot be null.
+     * @param policy Password strength policy applied once the password respects the rules, cannot be null.
+     * @throws NullPointerException if parameters or policy is null.
+     */
+    public SimpleAuthenticationChecker(AuthenticationRules parameters, PasswordPolicy policy) {
         this.parameters = Objects.requireNonNull(parameters);
+        this.policy = Objects.requireNonNull(policy);
+        this.loginValidator = CharacterValidator.compile(parameters.loginPattern);
+        this.passwordValidator = CharacterValidator.compile(parameters.passPattern);
+    }
+
+    /**
+     * @return The rules applied by this checker.
+     */
+    final AuthenticationRules getRules() {
+        return this.parameters;
+    }
+
+    /**
+     * @return The password policy applied by this checker.
+     */
+    final PasswordPolicy getPolicy() {
+        return this.policy;
     }
 
     @Override
     public final Credentials check(final String login, final String password) throws CredentialException {
-        List<AuthenticationError> errors = new ArrayList<>();
-        boolean loginValid = this.checkLogin(login, errors);
-        boolean pwdValid = this.checkPassword(password, errors);
-        if (loginValid && pwdValid) {
+        ValidationResult result = this.validate(login, password);
+        if (result.isValid()) {
             return new Credentials(login, password);
         }
-        throw new CredentialException(errors);
+        throw new CredentialException(result.getErrors());
+    }
+
+    @Override
+    public final ValidationResult validate(final String login, final String password) {
+        return this.validate((CharSequence) login, password);
+    }
+
+    @Override
+    public final ValidationResult validate(final CharSequence login, final CharSequence password) {
+        ValidationResult loginResult = this.checkLoginLength(login == null ? 0 : login.length());
+        if (loginResult.isValid() && !this.loginValidator.matches(login)) {
+            loginResult = INVALID_LOGIN;
+        }
+        ValidationResult passwordResult = this.checkPasswordLength(password == null ? 0 : password.length());
+        if (passwordResult.isValid()) {
+            passwordResult = this.passwordValidator.matches(password) ? this.policy.evaluate(password) : INVALID_PASSWORD;
+        }
+        return loginResult.merge(passwordResult);
+    }
+
+    @Override
+    public final ValidationResult validateChars(final char[] login, final char[] password) {
+        ValidationResult loginResult = this.checkLoginLength(login == null ? 0 : login.length);
+        if (loginResult.isValid() && !this.loginValidator.matches(login, 0, login.length)) {
+            loginResult = INVALID_LOGIN;
+        }
+        ValidationResult passwordResult = this.checkPasswordLength(password == null ? 0 : password.length);
+        if (passwordResult.isValid()) {
+            passwordResult = this.passwordValidator.matches(password, 0, password.length) ? this.applyPolicy(password) : INVALID_PASSWORD;
+        }
+        return loginResult.merge(passwordResult);
+    }
+
+    @Override
+    public final ValidationResult validateAscii(final ByteBuffer login, final ByteBuffer password) {
+        ValidationResult loginResult = this.checkLoginLength(login == null ? 0 : login.remaining());
+        if (loginResult.isValid() && !this.loginValidator.matches(login)) {
+            loginResult = INVALID_LOGIN;
+        }
+        ValidationResult passwordResult = this.checkPasswordLength(password == null ? 0 : password.remaining());
+        if (passwordResult.isValid()) {
+            passwordResult = this.passwordValidator.matches(password) ? this.applyPolicy(password) : INVALID_PASSWORD;
+        }
+        return loginResult.merge(passwordResult);
+    }
+
+    @Override
+    public final ValidationResult validateAscii(final byte[] data, final int loginOffset, final int loginLength, final int passwordOffset, final int passwordLength) {
+        Objects.checkFromIndexSize(loginOffset, loginLength, data.length);
+        Objects.checkFromIndexSize(passwordOffset, passwordLength, data.length);
+        ValidationResult loginResult = this.checkLoginLength(loginLength);
+        if (loginResult.isValid() && !this.loginValidator.matches(data, loginOffset, loginLength)) {
+            loginResult = INVALID_LOGIN;
+        }
+        ValidationResult passwordResult = this.checkPasswordLength(passwordLength);
+        if (passwordResult.isValid()) {
+            passwordResult = this.passwordValidator.matches(data, passwordOffset, passwordLength)
+                    ? this.applyPolicy(data, passwordOffset, passwordLength)
+                    : INVALID_PASSWORD;
+        }
+        return loginResult.merge(passwordResult);
+    }
+
+    /**
+     * Apply the password policy on a character array, the view over the array is only created if there is a policy.
+     */
+    private ValidationResult applyPolicy(final char[] password) {
+        return this.policy == PasswordPolicy.NONE ? ValidationResult.VALID : this.policy.evaluate(CharBuffer.wrap(password));
+    }
+
+    /**
+     * Apply the password policy on a byte buffer, the view over the buffer is only created if there is a policy.
+     */
+    private ValidationResult applyPolicy(final ByteBuffer password) {
+        return this.policy == PasswordPolicy.NONE ? ValidationResult.VALID : this.policy.evaluate(new AsciiCharSequence(password));
     }
 
     /**
-     * Check the login against the given rules.
+     * Apply the password policy on a byte array range, the view over the array is only created if there is a policy.
+     */
+    private ValidationResult applyPolicy(final byte[] data, final int offset, final int length) {
+        return this.policy == PasswordPolicy.NONE
+                ? ValidationResult.VALID
+                : this.policy.evaluate(new AsciiCharSequence(ByteBuffer.wrap(data), offset, offset + length));
+    }
+
+    /**
+     * Check the login length against the given rules.
      *
-     * @param login  Login to check.
-     * @param errors List to store the errors.
-     * @return True if the login is valid.
-     * @throws NullPointerException If errors is null.
+     * @param length Login length, 0 if the login is null.
+     * @return The result of the login length validation.
      */
-    private boolean checkLogin(final String login, final List<AuthenticationError> errors) {
-        Objects.requireNonNull(errors);
-        boolean noError = true;
-        if (login == null || login.isEmpty()) {
-            errors.add(AuthenticationError.LOGIN_EMPTY);
-            noError = false;
-        } else if (login.length() < this.parameters.loginMinLength) {
-            errors.add(AuthenticationError.LOGIN_TOO_SHORT);
-            noError = false;
-        } else if (login.length() > this.parameters.passMaxLength) {
-            errors.add(AuthenticationError.LOGIN_TOO_LONG);
-            noError = false;
-        } else if (!Pattern.matches(this.parameters.loginPattern.pattern(), login)) {
-            errors.add(AuthenticationError.INVALID_LOGIN_CHAR);
-            noError = false;
+    private ValidationResult checkLoginLength(final int length) {
+        if (length == 0) {
+            return ValidationResult.of(AuthenticationError.LOGIN_EMPTY);
         }
-        return noError;
+        if (length < this.parameters.loginMinLength) {
+            return ValidationResult.of(AuthenticationError.LOGIN_TOO_SHORT);
+        }
+        if (length > this.parameters.loginMaxLength) {
+            return ValidationResult.of(AuthenticationError.LOGIN_TOO_LONG);
+        }
+        return ValidationResult.VALID;
     }
 
     /**
-     * Check the password against the given rules.
+     * Check the password length against the given rules.
      *
-     * @param password Password to check.
-     * @param errors   List to store the errors.
-     * @return True if password is valid.
-     * @throws AssertionError If errors is null.
+     * @param length Password length, 0 if the password is null.
+     * @return The result of the password length validation.
      */
-    private boolean checkPassword(final String password, final List<AuthenticationError> errors) {
-        assert errors != null;
-        boolean noError = true;
-        if(password == null || password.isEmpty()) {
-            errors.add(AuthenticationError.PASS_EMPTY);
-            noError = false;
-        } else if (password.length() < this.parameters.passMinLength) {
-            errors.add(AuthenticationError.PASS_TOO_SHORT);
-            noError = false;
-        } else if (password.length() > this.parameters.passMaxLength) {
-            errors.add(AuthenticationError.PASS_TOO_LONG);
-            noError = false;
-        } else if (!Pattern.matches(this.parameters.passPattern.pattern(), password)) {
-            errors.add(AuthenticationError.INVALID_PASS_CHAR);
-            noError = false;
+    private ValidationResult checkPasswordLength(final int length) {
+        if (length == 0) {
+            return ValidationResult.of(AuthenticationError.PASS_EMPTY);
+        }
+        if (length < this.parameters.passMinLength) {
+            return ValidationResult.of(AuthenticationError.PASS_TOO_SHORT);
+        }
+        if (length > this.parameters.passMaxLength) {
+            return ValidationResult.of(AuthenticationError.PASS_TOO_LONG);
         }
-        return noError;
+        return ValidationResult.VALID;
     }
 
 }
@@ -24,9 +24,8 @@
 
 package be.yildizgames.common.authentication;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * A temporary account is an account that has not yet been validated, once validated, it will be converted into a regular account.
@@ -34,11 +33,10 @@ import java.util.regex.Pattern;
  */
 public class TemporaryAccount {
 
-    private static final AuthenticationChecker CHECKER = new SimpleAuthenticationChecker(AuthenticationRules.DEFAULT);
-
-    private static final String EMAIL_REGEX = "(?:[a-z\\d!#$%&'*+/=?^_`{|}~-]+(?:\\.[a-z\\d!#$%&'*+/=?^_`{|}~-]+)*|\"(?:[\\x01-\\x08\\x0b\\x0c\\x0e-\\x1f\\x21\\x23-\\x5b\\x5d-\\x7f]|\\\\[\\x01-\\x09\\x0b\\x0c\\x0e-\\x7f])*\")@(?:(?:[a-z\\d](?:[a-z\\d-]*[a-z\\d])?\\.)+[a-z\\d](?:[a-z\\d-]*[a-z\\d])?|\\[(?:(?:25[0-5]|2[0-4]\\d|[01]?\\d\\d?)\\.){3}(?:25[0-5]|2[0-4]\\d|[01]?\\d\\d?|[a-z\\d-]*[a-z\\d]:(?:[\\x01-\\x08\\x0b\\x0c\\x0e-\\x1f\\x21-\\x5a\\x53-\\x7f]|\\\\[\\x01-\\x09\\x0b\\x0c\\x0e-\\x7f])+)\\])";
-
-    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEX);
+    /**
+     * Checker used to validate the login and password, its rules can be reloaded at runtime.
+     */
+    private static final ReloadableAuthenticationChecker CHECKER = new ReloadableAuthenticationChecker(AuthenticationRules.DEFAULT);
 
     /**
      * User login.
@@ -76,25 +74,63 @@ public class TemporaryAccount {
      * @return The created TemporaryAccount if the validation passes.
      */
     public static TemporaryAccount create(final String login, final String password, final String email, String language) {
-        validate(login, password, email);
+        ValidationResult result = validate(login, password, email);
+        if(!result.isValid()) {
+            throw new TemporaryAccountValidationException(result.getErrors());
+        }
         return new TemporaryAccount(login, password, email, language);
     }
 
-    private static void validate(String login, String password, String email) {
-        List<AuthenticationError> errors = new ArrayList<>();
-        try {
-            CHECKER.check(login, password);
-        } catch (CredentialException e) {
-            errors.addAll(e.getErrors());
-        }
+    /**
+     * Validate the values of a temporary account without creating it and without throwing any exception.
+     * @param login Login to check, null is allowed.
+     * @param password Password to check, null is allowed.
+     * @param email Email to check, null is allowed.
+     * @return The validation result, with the errors if the validation fails.
+     */
+    public static ValidationResult validate(final String login, final String password, final String email) {
+        ValidationResult result = CHECKER.validate(login, password);
         if(email == null) {
-            errors.add(AuthenticationError.MAIL_EMPTY);
-        } else if(!EMAIL_PATTERN.matcher(email).matches()) {
-            errors.add(AuthenticationError.MAIL_INVALID);
+            return result.with(AuthenticationError.MAIL_EMPTY);
         }
-        if(!errors.isEmpty()) {
-            throw new TemporaryAccountValidationException(errors);
+        if(!EmailValidator.isValid(email)) {
+            return result.with(AuthenticationError.MAIL_INVALID);
         }
+        return result;
+    }
+
+    /**
+     * Provide the checker used to validate the login and password of the temporary accounts.
+     * Its rules are the default ones until reloaded.
+     * @return The checker, shared by all temporary account validations.
+     */
+    public static ReloadableAuthenticationChecker getChecker() {
+        return CHECKER;
+    }
+
+    /**
+     * Validate the values of a batch of accounts in parallel on the common fork join pool, without throwing any exception.
+     * @param accounts Values of the accounts to validate, their password is provided in clear, a missing value is
+     * reported in the result of its account.
+     * @return The validation results, in the same order as the accounts.
+     * @throws NullPointerException If accounts is null or contains null.
+     */
+    public static List<ValidationResult> validateAll(final List<AccountValues> accounts) {
+        return validateAll(accounts, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Validate the values of a batch of accounts in parallel on a given fork join pool, without throwing any exception.
+     * @param accounts Values of the accounts to validate, their password is provided in clear, a missing value is
+     * reported in the result of its account.
+     * @param pool Pool executing the validations.
+     * @return The validation results, in the same order as the accounts.
+     * @throws NullPointerException If accounts or pool is null, or if accounts contains null.
+     */
+    public static List<ValidationResult> validateAll(final List<AccountValues> accounts, final ForkJoinPool pool) {
+        AccountValues[] values = accounts.toArray(new AccountValues[0]);
+        return BulkTask.run(new ValidationResult[values.length],
+                i -> validate(values[i].login(), values[i].password(), values[i].email()), BulkTask.VALIDATION_THRESHOLD, pool);
     }
 
     public final String getLogin() {
@@ -106,6 +106,15 @@ public final class Token {
         return new Token(PlayerId.WORLD, 0, -1, Status.NOT_FOUND);
     }
 
+    /**
+     * Create a new token for a request refused because the server is overloaded, the client should retry later.
+     *
+     * @return A token with no user information, no authentication time, no authentication key and an overloaded status.
+     */
+    public static Token overloaded() {
+        return new Token(PlayerId.WORLD, 0, -1, Status.OVERLOADED);
+    }
+
     public static Token any(final PlayerId id, final int key, final Status status) {
         return new Token(id, 0, key, status);
     }
@@ -178,7 +187,12 @@ public final class Token {
         /**
          * Status when the user is not found, or considered as not found(to avoid to send sensitive information to the client).
          */
-        NOT_FOUND(3);
+        NOT_FOUND(3),
+
+        /**
+         * Status when the server is overloaded and did not check the credentials, the client should retry later.
+         */
+        OVERLOADED(4);
 
         public final int value;
 
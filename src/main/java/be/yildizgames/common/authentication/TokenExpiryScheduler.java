@@ -0,0 +1,371 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import be.yildizgames.common.model.PlayerId;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Expire the tokens a fixed time after their authentication time, or after their last renewal, and notify a listener,
+ * so any token store can remove them without scanning all its tokens, a TokenRegistry for example:
+ * {@code new TokenExpiryScheduler(ttl, tick, token -> registry.revoke(token.getId().value, token.getKey())).start()}.
+ * The listener is called once the token is removed from the wheel, outside its lock: the store must remove the token
+ * only if it still has the expired key, as the player may have been issued a new token in the meantime.
+ * The tokens are kept in a hierarchical timing wheel of 6 levels of 64 slots, the first level slots last one tick,
+ * the slots of the next levels last 64 times the slots of the previous level. A token is added to the level covering
+ * its expiration and moved to a lower level when its slot is reached, so scheduling and cancelling take a constant
+ * time, and a token is moved at most 6 times before it expires.
+ * A renewal only updates the expiration time, the token is moved when its previous slot is reached.
+ * The wheel is advanced by a daemon thread, every tick, or by the application calling {@link #advance(long)}.
+ * The current time is cached when the wheel is advanced, so the renewals do not read the system clock,
+ * and the expirations have the precision of a tick.
+ * Thread safe.
+ * @author Grégory Van den Borre
+ */
+public final class TokenExpiryScheduler implements AutoCloseable {
+
+    /**
+     * Number of bits of a slot index.
+     */
+    private static final int SLOT_BITS = 6;
+
+    private static final int SLOTS = 1 << SLOT_BITS;
+
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private static final int LEVELS = 6;
+
+    /**
+     * Maximum number of ticks between now and the slot of a token, farther tokens are moved again when reached.
+     */
+    private static final long MAX_DELAY = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+    /**
+     * Time to live of a token after its authentication or its last renewal, in milliseconds.
+     */
+    private final long ttl;
+
+    /**
+     * Tick duration, in milliseconds.
+     */
+    private final long tick;
+
+    /**
+     * Listener notified with the expired tokens.
+     */
+    private final Consumer<Token> listener;
+
+    /**
+     * First entry of every slot, level by level.
+     */
+    private final Entry[] slots = new Entry[LEVELS * SLOTS];
+
+    /**
+     * Entries, by player.
+     */
+    private final Map<PlayerId, Entry> entries = new HashMap<>();
+
+    /**
+     * Last processed tick.
+     */
+    private long currentTick;
+
+    /**
+     * Time of the last advance, in milliseconds.
+     */
+    private volatile long now;
+
+    /**
+     * Thread advancing the wheel, null if not started.
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * Create a new instance, the wheel must be advanced by calling start, or advance.
+     * @param ttl Time to live of a token after its authentication or its last renewal, cannot be null.
+     * @param tick Precision of the expirations, cannot be null.
+     * @param listener Listener notified with the expired tokens, cannot be null.
+     * @throws NullPointerException If a parameter is null.
+     * @throws IllegalArgumentException If ttl is not positive, or tick is shorter than 1 millisecond.
+     */
+    public TokenExpiryScheduler(Duration ttl, Duration tick, Consumer<Token> listener) {
+        this(ttl, tick, listener, System.currentTimeMillis());
+    }
+
+    TokenExpiryScheduler(Duration ttl, Duration tick, Consumer<Token> listener, long now) {
+        super();
+        Objects.requireNonNull(ttl);
+        Objects.requireNonNull(tick);
+        this.listener = Objects.requireNonNull(listener);
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Time to live must be positive.");
+        }
+        if (tick.toMillis() < 1) {
+            throw new IllegalArgumentException("Tick must be at least 1 millisecond.");
+        }
+        this.ttl = ttl.toMillis();
+        this.tick = tick.toMillis();
+        this.now = now;
+        this.currentTick = now / this.tick;
+    }
+
+    /**
+     * Start a daemon thread advancing the wheel every tick with the system clock.
+     * @return This instance.
+     * @throws IllegalStateException If the thread is already started.
+     */
+    public synchronized TokenExpiryScheduler start() {
+        if (this.executor != null) {
+            throw new IllegalStateException("Already started.");
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.scheduleAtFixedRate(() -> this.advance(System.currentTimeMillis()), this.tick, this.tick, TimeUnit.MILLISECONDS);
+        return this;
+    }
+
+    /**
+     * Schedule the expiration of a token, its time to live starts at its authentication time.
+     * A token already scheduled for the same player is replaced, and will not be notified.
+     * @param token Token to expire, cannot be null.
+     * @throws NullPointerException If token is null.
+     */
+    public void schedule(final Token token) {
+        Objects.requireNonNull(token);
+        long deadline = token.getAuthenticationTime() + this.ttl;
+        synchronized (this) {
+            Entry entry = this.entries.get(token.getId());
+            if (entry == null) {
+                entry = new Entry();
+                this.entries.put(token.getId(), entry);
+            } else {
+                this.unlink(entry);
+            }
+            entry.token = token;
+            entry.deadline = deadline;
+            this.insert(entry, 1);
+        }
+    }
+
+    /**
+     * Restart the time to live of the token of a player from the current time, a sliding expiration.
+     * @param playerId Player whose token is renewed, cannot be null.
+     * @return true if the player had a scheduled token.
+     * @throws NullPointerException If playerId is null.
+     */
+    public boolean renew(final PlayerId playerId) {
+        Objects.requireNonNull(playerId);
+        long deadline = this.now + this.ttl;
+        synchronized (this) {
+            Entry entry = this.entries.get(playerId);
+            if (entry == null) {
+                return false;
+            }
+            // The deadline only increases, the entry is moved to its new slot when its current slot is reached.
+            entry.deadline = Math.max(entry.deadline, deadline);
+            return true;
+        }
+    }
+
+    /**
+     * Cancel the expiration of the token of a player, the listener will not be notified.
+     * @param playerId Player whose token expiration is cancelled, cannot be null.
+     * @return true if the player had a scheduled token.
+     * @throws NullPointerException If playerId is null.
+     */
+    public synchronized boolean cancel(final PlayerId playerId) {
+        Objects.requireNonNull(playerId);
+        Entry entry = this.entries.remove(playerId);
+        if (entry == null) {
+            return false;
+        }
+        this.unlink(entry);
+        return true;
+    }
+
+    /**
+     * Advance the wheel to a given time, and notify the listener with the tokens expired at that time, from the
+     * calling thread. An exception thrown by the listener is passed to the uncaught exception handler of the thread,
+     * and the other tokens are still notified.
+     * @param time Current time, in milliseconds, a time before the last advance is ignored.
+     */
+    public void advance(final long time) {
+        Entry expired = null;
+        synchronized (this) {
+            if (time <= this.now) {
+                return;
+            }
+            this.now = time;
+            long target = time / this.tick;
+            while (this.currentTick < target) {
+                this.currentTick++;
+                this.cascade();
+                Entry entry = this.detach((int) (this.currentTick & SLOT_MASK));
+                while (entry != null) {
+                    Entry next = entry.next;
+                    if (entry.deadline <= time) {
+                        this.entries.remove(entry.token.getId());
+                        entry.next = expired;
+                        expired = entry;
+                    } else {
+                        this.insert(entry, 1);
+                    }
+                    entry = next;
+                }
+            }
+        }
+        while (expired != null) {
+            try {
+                this.listener.accept(expired.token);
+            } catch (RuntimeException e) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+            }
+            expired = expired.next;
+        }
+    }
+
+    /**
+     * @return The number of scheduled tokens.
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * @return The time of the last advance, in milliseconds.
+     */
+    public long getTime() {
+        return this.now;
+    }
+
+    /**
+     * Stop the thread advancing the wheel, if started, the scheduled tokens are kept.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+            this.executor = null;
+        }
+    }
+
+    /**
+     * Move the entries of the higher level slots reached by the current tick to the lower levels, starting with the
+     * highest level, so their entries can still be moved to the slots of the next levels reached at the same tick.
+     */
+    private void cascade() {
+        int level = 0;
+        while (level + 1 < LEVELS && (this.currentTick & ((1L << (SLOT_BITS * (level + 1))) - 1)) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            int slot = level * SLOTS + (int) ((this.currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Entry entry = this.detach(slot);
+            while (entry != null) {
+                Entry next = entry.next;
+                this.insert(entry, 0);
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * Add an entry in the slot of its deadline tick, in the lowest level covering it.
+     * @param minDelay 0 to allow the slot of the current tick, when it is not processed yet, 1 otherwise.
+     */
+    private void insert(final Entry entry, final long minDelay) {
+        long deadlineTick = (entry.deadline + this.tick - 1) / this.tick;
+        long delay = Math.min(Math.max(deadlineTick - this.currentTick, minDelay), MAX_DELAY);
+        long target = this.currentTick + delay;
+        int level = delay == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(delay)) / SLOT_BITS;
+        int slot = level * SLOTS + (int) ((target >>> (SLOT_BITS * level)) & SLOT_MASK);
+        Entry head = this.slots[slot];
+        entry.slot = slot;
+        entry.previous = null;
+        entry.next = head;
+        if (head != null) {
+            head.previous = entry;
+        }
+        this.slots[slot] = entry;
+    }
+
+    private void unlink(final Entry entry) {
+        if (entry.previous == null) {
+            this.slots[entry.slot] = entry.next;
+        } else {
+            entry.previous.next = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.previous = entry.previous;
+        }
+        entry.previous = null;
+        entry.next = null;
+    }
+
+    /**
+     * Empty a slot.
+     * @return The first entry of the slot, linked to the others by next.
+     */
+    private Entry detach(final int slot) {
+        Entry head = this.slots[slot];
+        this.slots[slot] = null;
+        return head;
+    }
+
+    /**
+     * Scheduled token, in a slot list.
+     */
+    private static final class Entry {
+
+        private Token token;
+
+        /**
+         * Expiration time, in milliseconds.
+         */
+        private long deadline;
+
+        /**
+         * Index of the slot containing the entry.
+         */
+        private int slot;
+
+        private Entry previous;
+
+        private Entry next;
+    }
+}
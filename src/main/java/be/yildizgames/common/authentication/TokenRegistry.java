@@ -0,0 +1,419 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import be.yildizgames.common.model.PlayerId;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Issued tokens, one per player, keyed by the primitive player id value.
+ * The tokens are not kept as objects: the player id, the key, the status and the authentication time are stored
+ * in parallel primitive arrays of open addressing tables with linear probing, 17 bytes per token, with at least one
+ * quarter of the slots free. The tables are split in segments, each one with its own lock, and grow by doubling a
+ * single segment.
+ * Issuing, verifying and revoking a token take a constant time and do not allocate, except when a segment grows.
+ * Verifications do not lock: they read the table optimistically, and only lock the segment if it was modified
+ * during the read.
+ * Thread safe.
+ * @author Grégory Van den Borre
+ */
+public final class TokenRegistry {
+
+    /**
+     * Number of segments, a power of 2.
+     */
+    private static final int SEGMENTS = 64;
+
+    private static final int SEGMENT_SHIFT = Integer.SIZE - Integer.numberOfTrailingZeros(SEGMENTS);
+
+    /**
+     * Minimum number of slots in a segment.
+     */
+    private static final int MIN_CAPACITY = 16;
+
+    private static final Token.Status[] STATUSES = Token.Status.values();
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+
+    /**
+     * Create a new instance, sized for a few hundreds tokens, growing as needed.
+     */
+    public TokenRegistry() {
+        this(SEGMENTS * MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Create a new instance sized to hold an expected number of tokens without growing.
+     * @param expectedSize Expected number of tokens.
+     * @throws IllegalArgumentException If expectedSize is negative.
+     */
+    public TokenRegistry(int expectedSize) {
+        super();
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be positive, value is " + expectedSize);
+        }
+        long perSegment = (expectedSize + SEGMENTS - 1L) / SEGMENTS;
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3L / 4 < perSegment) {
+            capacity <<= 1;
+        }
+        for (int i = 0; i < SEGMENTS; i++) {
+            this.segments[i] = new Segment(capacity);
+        }
+    }
+
+    /**
+     * Store a token, replacing the token of the same player if any.
+     * @param token Token to store, cannot be null.
+     * @throws NullPointerException If token is null.
+     */
+    public void issue(final Token token) {
+        Objects.requireNonNull(token);
+        this.issue(token.getId().value, token.getKey(), token.getStatus(), token.getAuthenticationTime());
+    }
+
+    /**
+     * Store a token, replacing the token of the same player if any.
+     * @param playerId Player id value.
+     * @param key Authentication key.
+     * @param status Authentication status, cannot be null.
+     * @param authenticationTime Time when the authentication occurred.
+     * @throws NullPointerException If status is null.
+     */
+    public void issue(final int playerId, final int key, final Token.Status status, final long authenticationTime) {
+        Objects.requireNonNull(status);
+        int hash = hash(playerId);
+        this.segment(hash).put(hash, playerId, key, status, authenticationTime);
+    }
+
+    /**
+     * Check if a player has an authenticated token with a given key.
+     * @param playerId Player to check, cannot be null.
+     * @param key Key to check.
+     * @return true if the player token is authenticated and has this key.
+     * @throws NullPointerException If playerId is null.
+     */
+    public boolean verify(final PlayerId playerId, final int key) {
+        return this.verify(playerId.value, key);
+    }
+
+    /**
+     * Check if a player has an authenticated token with a given key.
+     * @param playerId Player id value.
+     * @param key Key to check.
+     * @return true if the player token is authenticated and has this key.
+     */
+    public boolean verify(final int playerId, final int key) {
+        int hash = hash(playerId);
+        return this.segment(hash).verify(hash, playerId, key);
+    }
+
+    /**
+     * Remove the token of a player.
+     * @param playerId Player whose token is removed, cannot be null.
+     * @return true if the player had a token.
+     * @throws NullPointerException If playerId is null.
+     */
+    public boolean revoke(final PlayerId playerId) {
+        return this.revoke(playerId.value);
+    }
+
+    /**
+     * Remove the token of a player.
+     * @param playerId Player id value.
+     * @return true if the player had a token.
+     */
+    public boolean revoke(final int playerId) {
+        int hash = hash(playerId);
+        return this.segment(hash).remove(hash, playerId);
+    }
+
+    /**
+     * Remove the token of a player only if it still has a given key, so a token issued again in the meantime,
+     * for a new session, is kept.
+     * @param playerId Player id value.
+     * @param key Key of the token to remove.
+     * @return true if the player had a token with this key.
+     */
+    public boolean revoke(final int playerId, final int key) {
+        int hash = hash(playerId);
+        return this.segment(hash).remove(hash, playerId, key);
+    }
+
+    /**
+     * Retrieve the token of a player, built from the stored values.
+     * @param playerId Player whose token is retrieved, cannot be null.
+     * @return The token, or null if the player has none.
+     * @throws NullPointerException If playerId is null.
+     */
+    public Token get(final PlayerId playerId) {
+        int hash = hash(playerId.value);
+        return this.segment(hash).get(hash, playerId);
+    }
+
+    /**
+     * @return The number of stored tokens.
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Remove all the tokens, the tables keep their capacity.
+     */
+    public void clear() {
+        for (Segment segment : this.segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Spread the player id bits, the highest bits select the segment, the lowest bits the slot.
+     */
+    private static int hash(final int playerId) {
+        int h = playerId * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment segment(final int hash) {
+        return this.segments[hash >>> SEGMENT_SHIFT];
+    }
+
+    /**
+     * Open addressing table, the arrays are never resized, a segment replaces its table when it grows.
+     */
+    private static final class Table {
+
+        private final int[] ids;
+
+        private final int[] keys;
+
+        private final long[] times;
+
+        /**
+         * 0 for a free slot, the status ordinal + 1 otherwise.
+         */
+        private final byte[] states;
+
+        private final int mask;
+
+        private Table(int capacity) {
+            super();
+            this.ids = new int[capacity];
+            this.keys = new int[capacity];
+            this.times = new long[capacity];
+            this.states = new byte[capacity];
+            this.mask = capacity - 1;
+        }
+
+        /**
+         * Find the slot of a player id, or the free slot ending its probe sequence.
+         */
+        private int find(final int hash, final int playerId) {
+            int slot = hash & this.mask;
+            // The bound only matters for optimistic reads seeing a table being modified.
+            for (int i = 0; i <= this.mask; i++) {
+                if (this.states[slot] == 0 || this.ids[slot] == playerId) {
+                    return slot;
+                }
+                slot = (slot + 1) & this.mask;
+            }
+            return slot;
+        }
+    }
+
+    /**
+     * Table segment, modified under its write lock.
+     */
+    private static final class Segment {
+
+        private final StampedLock lock = new StampedLock();
+
+        private Table table;
+
+        private int size;
+
+        private Segment(int capacity) {
+            super();
+            this.table = new Table(capacity);
+        }
+
+        private void put(final int hash, final int playerId, final int key, final Token.Status status, final long time) {
+            long stamp = this.lock.writeLock();
+            try {
+                Table t = this.table;
+                int slot = t.find(hash, playerId);
+                if (t.states[slot] == 0) {
+                    if ((this.size + 1) * 4L > t.states.length * 3L) {
+                        t = this.grow();
+                        slot = t.find(hash, playerId);
+                    }
+                    this.size++;
+                }
+                t.ids[slot] = playerId;
+                t.keys[slot] = key;
+                t.times[slot] = time;
+                t.states[slot] = (byte) (status.ordinal() + 1);
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+        }
+
+        private boolean verify(final int hash, final int playerId, final int key) {
+            long stamp = this.lock.tryOptimisticRead();
+            boolean result = verify(this.table, hash, playerId, key);
+            if (this.lock.validate(stamp)) {
+                return result;
+            }
+            stamp = this.lock.readLock();
+            try {
+                return verify(this.table, hash, playerId, key);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+
+        private static boolean verify(final Table t, final int hash, final int playerId, final int key) {
+            int slot = t.find(hash, playerId);
+            return t.states[slot] == Token.Status.AUTHENTICATED.ordinal() + 1 && t.ids[slot] == playerId && t.keys[slot] == key;
+        }
+
+        private Token get(final int hash, final PlayerId playerId) {
+            long stamp = this.lock.readLock();
+            try {
+                Table t = this.table;
+                int slot = t.find(hash, playerId.value);
+                if (t.states[slot] == 0) {
+                    return null;
+                }
+                Token.Status status = STATUSES[t.states[slot] - 1];
+                if (status == Token.Status.AUTHENTICATED) {
+                    return Token.authenticated(playerId, t.times[slot], t.keys[slot]);
+                }
+                return Token.any(playerId, t.keys[slot], status);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+
+        private boolean remove(final int hash, final int playerId) {
+            long stamp = this.lock.writeLock();
+            try {
+                int slot = this.table.find(hash, playerId);
+                if (this.table.states[slot] == 0) {
+                    return false;
+                }
+                this.removeSlot(slot);
+                return true;
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+        }
+
+        private boolean remove(final int hash, final int playerId, final int key) {
+            long stamp = this.lock.writeLock();
+            try {
+                int slot = this.table.find(hash, playerId);
+                if (this.table.states[slot] == 0 || this.table.keys[slot] != key) {
+                    return false;
+                }
+                this.removeSlot(slot);
+                return true;
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+        }
+
+        /**
+         * Free a slot, and shift back the following entries of the probe sequence, so no tombstone is needed.
+         * Called under the write lock.
+         */
+        private void removeSlot(final int removed) {
+            Table t = this.table;
+            int free = removed;
+            int slot = free;
+            while (true) {
+                slot = (slot + 1) & t.mask;
+                if (t.states[slot] == 0) {
+                    break;
+                }
+                int home = hash(t.ids[slot]) & t.mask;
+                // Move the entry if its home slot is not between the free slot and its current slot.
+                if (((slot - home) & t.mask) >= ((slot - free) & t.mask)) {
+                    t.ids[free] = t.ids[slot];
+                    t.keys[free] = t.keys[slot];
+                    t.times[free] = t.times[slot];
+                    t.states[free] = t.states[slot];
+                    free = slot;
+                }
+            }
+            t.states[free] = 0;
+            this.size--;
+        }
+
+        private Table grow() {
+            Table old = this.table;
+            Table t = new Table(old.states.length << 1);
+            for (int i = 0; i < old.states.length; i++) {
+                if (old.states[i] != 0) {
+                    int slot = t.find(hash(old.ids[i]), old.ids[i]);
+                    t.ids[slot] = old.ids[i];
+                    t.keys[slot] = old.keys[i];
+                    t.times[slot] = old.times[i];
+                    t.states[slot] = old.states[i];
+                }
+            }
+            this.table = t;
+            return t;
+        }
+
+        private int size() {
+            long stamp = this.lock.readLock();
+            try {
+                return this.size;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+
+        private void clear() {
+            long stamp = this.lock.writeLock();
+            try {
+                Arrays.fill(this.table.states, (byte) 0);
+                this.size = 0;
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Result of a credential validation, the errors are stored as a bit mask of {@link AuthenticationError} values.
+ * Every possible result is created once and shared, so producing a result, even a failed one, never allocates.
+ * Immutable class.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class ValidationResult {
+
+    /**
+     * Order used to report the errors: login errors first, then password, then email.
+     */
+    private static final AuthenticationError[] REPORT_ORDER = {
+            AuthenticationError.LOGIN_EMPTY,
+            AuthenticationError.LOGIN_TOO_SHORT,
+            AuthenticationError.LOGIN_TOO_LONG,
+            AuthenticationError.INVALID_LOGIN_CHAR,
+            AuthenticationError.PASS_EMPTY,
+            AuthenticationError.PASS_TOO_SHORT,
+            AuthenticationError.PASS_TOO_LONG,
+            AuthenticationError.INVALID_PASS_CHAR,
+            AuthenticationError.PASS_TOO_WEAK,
+            AuthenticationError.PASS_BREACHED,
+            AuthenticationError.MAIL_EMPTY,
+            AuthenticationError.MAIL_INVALID};
+
+    /**
+     * All possible results, indexed by their mask.
+     */
+    private static final ValidationResult[] RESULTS = new ValidationResult[1 << AuthenticationError.values().length];
+
+    static {
+        for (int i = 0; i < RESULTS.length; i++) {
+            RESULTS[i] = new ValidationResult(i);
+        }
+    }
+
+    /**
+     * Result without any error.
+     */
+    public static final ValidationResult VALID = RESULTS[0];
+
+    /**
+     * Bit mask of the errors, the bit position is the error ordinal.
+     */
+    private final int mask;
+
+    private ValidationResult(int mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Provide the result containing a single error.
+     *
+     * @param error Error to contain.
+     * @return The result with the error.
+     * @throws NullPointerException If error is null.
+     */
+    public static ValidationResult of(final AuthenticationError error) {
+        return RESULTS[bit(error)];
+    }
+
+    /**
+     * Provide the result containing a set of errors.
+     *
+     * @param errors Errors to contain.
+     * @return The result with the errors, VALID if the collection is empty.
+     * @throws NullPointerException If errors is null or contains null.
+     */
+    public static ValidationResult of(final Collection<AuthenticationError> errors) {
+        int mask = 0;
+        for (AuthenticationError error : errors) {
+            mask |= bit(error);
+        }
+        return RESULTS[mask];
+    }
+
+    /**
+     * Provide the result matching a bit mask.
+     *
+     * @param mask Bit mask, as returned by getMask.
+     * @return The result for the mask.
+     * @throws IllegalArgumentException If the mask contains unknown errors.
+     */
+    public static ValidationResult fromMask(final int mask) {
+        if (mask < 0 || mask >= RESULTS.length) {
+            throw new IllegalArgumentException("Invalid mask: " + mask);
+        }
+        return RESULTS[mask];
+    }
+
+    /**
+     * Provide a result containing the errors of this one and an additional error.
+     *
+     * @param error Error to add.
+     * @return The result with both errors.
+     * @throws NullPointerException If error is null.
+     */
+    public ValidationResult with(final AuthenticationError error) {
+        return RESULTS[this.mask | bit(error)];
+    }
+
+    /**
+     * Provide a result containing the errors of this one and another one.
+     *
+     * @param other Result to merge with.
+     * @return The result with the errors of both.
+     * @throws NullPointerException If other is null.
+     */
+    public ValidationResult merge(final ValidationResult other) {
+        return RESULTS[this.mask | other.mask];
+    }
+
+    /**
+     * @return True if there is no error.
+     */
+    public boolean isValid() {
+        return this.mask == 0;
+    }
+
+    /**
+     * Check if an error is part of this result.
+     *
+     * @param error Error to check.
+     * @return True if the error is present.
+     * @throws NullPointerException If error is null.
+     */
+    public boolean hasError(final AuthenticationError error) {
+        return (this.mask & bit(error)) != 0;
+    }
+
+    /**
+     * @return The errors as a bit mask, the bit position is the error ordinal.
+     */
+    public int getMask() {
+        return this.mask;
+    }
+
+    /**
+     * Provide the errors, login errors first, then password, then email.
+     *
+     * @return An immutable list of the errors.
+     */
+    public List<AuthenticationError> getErrors() {
+        if (this.mask == 0) {
+            return Collections.emptyList();
+        }
+        List<AuthenticationError> errors = new ArrayList<>(Integer.bitCount(this.mask));
+        for (AuthenticationError error : REPORT_ORDER) {
+            if (this.hasError(error)) {
+                errors.add(error);
+            }
+        }
+        return Collections.unmodifiableList(errors);
+    }
+
+    private static int bit(final AuthenticationError error) {
+        return 1 << Objects.requireNonNull(error).ordinal();
+    }
+
+    @Override
+    public String toString() {
+        return this.getErrors().toString();
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Check whole vectors of characters against an ASCII character set with the vector API, 16 to 64 characters at a time
+ * depending on the hardware.
+ * The set is stored as a small list of ranges, a character is allowed if it is in one of them, every range costs two
+ * lane-wise comparisons for all the characters of a vector.
+ * This class must only be loaded when the jdk.incubator.vector module is readable, see {@link CharacterValidator}.
+ * Immutable class.
+ *
+ * @author Grégory Van den Borre
+ */
+final class VectorCharacterScanner {
+
+    /**
+     * Maximum number of ranges, above it the lookup table of the scalar loop is faster.
+     */
+    static final int MAX_RANGES = 8;
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    private static final VectorSpecies<Short> CHARS = ShortVector.SPECIES_PREFERRED;
+
+    /**
+     * First character of every range.
+     */
+    private final byte[] firsts;
+
+    /**
+     * Last character of every range, included.
+     */
+    private final byte[] lasts;
+
+    /**
+     * Create a scanner for a set of ASCII characters.
+     *
+     * @param allowed Allowed ASCII characters, indexed by character.
+     * @throws IllegalArgumentException If the set has more than MAX_RANGES ranges.
+     */
+    VectorCharacterScanner(final boolean[] allowed) {
+        super();
+        int count = countRanges(allowed);
+        if (count > MAX_RANGES) {
+            throw new IllegalArgumentException("Too many ranges: " + count);
+        }
+        this.firsts = new byte[count];
+        this.lasts = new byte[count];
+        int range = 0;
+        for (int c = 0; c < allowed.length; c++) {
+            if (allowed[c] && (c == 0 || !allowed[c - 1])) {
+                this.firsts[range] = (byte) c;
+            }
+            if (allowed[c] && (c == allowed.length - 1 || !allowed[c + 1])) {
+                this.lasts[range] = (byte) c;
+                range++;
+            }
+        }
+    }
+
+    /**
+     * Count the ranges of consecutive allowed characters.
+     *
+     * @param allowed Allowed ASCII characters, indexed by character.
+     * @return The number of ranges.
+     */
+    static int countRanges(final boolean[] allowed) {
+        int count = 0;
+        for (int c = 0; c < allowed.length; c++) {
+            if (allowed[c] && (c == 0 || !allowed[c - 1])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Check the whole vectors at the beginning of a range of single byte characters.
+     * Non ASCII bytes are negative and never in a range.
+     *
+     * @param value  Array holding the value.
+     * @param offset Index of the first character.
+     * @param length Number of characters.
+     * @return The number of characters checked, all allowed, the remaining ones must be checked by the caller,
+     * or -1 if a character is not allowed.
+     */
+    int scan(final byte[] value, final int offset, final int length) {
+        int bound = BYTES.loopBound(length);
+        for (int i = 0; i < bound; i += BYTES.length()) {
+            ByteVector v = ByteVector.fromArray(BYTES, value, offset + i);
+            VectorMask<Byte> valid = v.compare(VectorOperators.GE, this.firsts[0]).and(v.compare(VectorOperators.LE, this.lasts[0]));
+            for (int r = 1; r < this.firsts.length; r++) {
+                valid = valid.or(v.compare(VectorOperators.GE, this.firsts[r]).and(v.compare(VectorOperators.LE, this.lasts[r])));
+            }
+            if (!valid.allTrue()) {
+                return -1;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * Check the whole vectors at the beginning of a range of characters.
+     * Characters above 0x7FFF are negative and never in a range, the others above 0x7F are after the last range.
+     *
+     * @param value  Array holding the value.
+     * @param offset Index of the first character.
+     * @param length Number of characters.
+     * @return The number of characters checked, all allowed, the remaining ones must be checked by the caller,
+     * or -1 if a character is not allowed.
+     */
+    int scan(final char[] value, final int offset, final int length) {
+        int bound = CHARS.loopBound(length);
+        for (int i = 0; i < bound; i += CHARS.length()) {
+            ShortVector v = ShortVector.fromCharArray(CHARS, value, offset + i);
+            VectorMask<Short> valid = v.compare(VectorOperators.GE, this.firsts[0]).and(v.compare(VectorOperators.LE, this.lasts[0]));
+            for (int r = 1; r < this.firsts.length; r++) {
+                valid = valid.or(v.compare(VectorOperators.GE, this.firsts[r]).and(v.compare(VectorOperators.LE, this.lasts[r])));
+            }
+            if (!valid.allTrue()) {
+                return -1;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * @return The number of characters in a vector of bytes.
+     */
+    static int byteLanes() {
+        return BYTES.length();
+    }
+
+    /**
+     * @return The number of characters in a vector of chars.
+     */
+    static int charLanes() {
+        return CHARS.length();
+    }
+}
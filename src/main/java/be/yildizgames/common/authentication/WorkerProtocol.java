@@ -0,0 +1,203 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary framing between a {@link ProcessEncryptionTool} and its {@link HashingWorker} processes.
+ * Every frame is a big endian int giving the payload length, followed by the payload.
+ * A request payload is the request id (int), the operation (byte), and the operation strings: the clear value for
+ * an encryption, the encrypted and the clear values for a check.
+ * A response payload is the request id (int), the result (byte), and a string: the encrypted value for an encryption,
+ * the error message for an error, empty otherwise.
+ * A string is its UTF-8 length as an unsigned short followed by its UTF-8 bytes.
+ * The requests are pipelined, the worker answers them in order, the ids match the responses to the requests.
+ *
+ * @author Grégory Van den Borre
+ */
+final class WorkerProtocol {
+
+    /**
+     * Encryption request.
+     */
+    static final byte ENCRYPT = 1;
+
+    /**
+     * Check request.
+     */
+    static final byte CHECK = 2;
+
+    /**
+     * Encryption result, followed by the encrypted value.
+     */
+    static final byte RESULT_VALUE = 0;
+
+    /**
+     * Check result, the values match.
+     */
+    static final byte RESULT_MATCH = 1;
+
+    /**
+     * Check result, the values do not match.
+     */
+    static final byte RESULT_MISMATCH = 2;
+
+    /**
+     * The request has an invalid value, followed by the error message.
+     */
+    static final byte RESULT_INVALID = 3;
+
+    /**
+     * The request failed, followed by the error message.
+     */
+    static final byte RESULT_ERROR = 4;
+
+    /**
+     * Maximum UTF-8 length of a string.
+     */
+    static final int MAX_STRING_LENGTH = 0xFFFF;
+
+    /**
+     * Maximum payload length, a check with two strings of the maximum length.
+     */
+    private static final int MAX_PAYLOAD_LENGTH = Integer.BYTES + 1 + 2 * (Short.BYTES + MAX_STRING_LENGTH);
+
+    private WorkerProtocol() {
+        super();
+    }
+
+    /**
+     * Build an encryption request frame.
+     * @throws IllegalArgumentException If the value is too long.
+     */
+    static ByteBuffer encryptRequest(final int id, final String clear) {
+        byte[] clearBytes = toBytes(clear);
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES * 2 + 1 + Short.BYTES + clearBytes.length);
+        frame.putInt(frame.capacity() - Integer.BYTES).putInt(id).put(ENCRYPT);
+        putString(frame, clearBytes);
+        return frame.flip();
+    }
+
+    /**
+     * Build a check request frame.
+     * @throws IllegalArgumentException If a value is too long.
+     */
+    static ByteBuffer checkRequest(final int id, final String encrypted, final String clear) {
+        byte[] encryptedBytes = toBytes(encrypted);
+        byte[] clearBytes = toBytes(clear);
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES * 2 + 1 + Short.BYTES * 2 + encryptedBytes.length + clearBytes.length);
+        frame.putInt(frame.capacity() - Integer.BYTES).putInt(id).put(CHECK);
+        putString(frame, encryptedBytes);
+        putString(frame, clearBytes);
+        return frame.flip();
+    }
+
+    /**
+     * Build a response frame.
+     */
+    static ByteBuffer response(final int id, final byte result, final String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_STRING_LENGTH);
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES * 2 + 1 + Short.BYTES + length);
+        frame.putInt(frame.capacity() - Integer.BYTES).putInt(id).put(result);
+        frame.putShort((short) length).put(bytes, 0, length);
+        return frame.flip();
+    }
+
+    /**
+     * Read a frame.
+     * @param channel Channel to read, in blocking mode.
+     * @return The frame payload, or null if the channel reached its end before the frame.
+     * @throws IOException If the channel cannot be read, reached its end in the frame, or the frame is invalid.
+     */
+    static ByteBuffer read(final ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        if (!fill(channel, header, true)) {
+            return null;
+        }
+        int length = header.flip().getInt();
+        if (length < Integer.BYTES + 1 || length > MAX_PAYLOAD_LENGTH) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        fill(channel, payload, false);
+        return payload.flip();
+    }
+
+    /**
+     * Write a frame completely.
+     */
+    static void write(final WritableByteChannel channel, final ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining()) {
+            channel.write(frame);
+        }
+    }
+
+    /**
+     * Read a string from a payload.
+     */
+    static String getString(final ByteBuffer payload) {
+        int length = Short.toUnsignedInt(payload.getShort());
+        String value = new String(payload.array(), payload.arrayOffset() + payload.position(), length, StandardCharsets.UTF_8);
+        payload.position(payload.position() + length);
+        return value;
+    }
+
+    private static byte[] toBytes(final String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_LENGTH) {
+            throw new IllegalArgumentException("Value too long: " + bytes.length + " bytes, maximum is " + MAX_STRING_LENGTH);
+        }
+        return bytes;
+    }
+
+    private static void putString(final ByteBuffer frame, final byte[] bytes) {
+        frame.putShort((short) bytes.length).put(bytes);
+    }
+
+    /**
+     * Fill a buffer from a channel.
+     * @param endAllowed true if the channel can end before the first byte.
+     * @return false if the channel ended before the first byte.
+     */
+    private static boolean fill(final ReadableByteChannel channel, final ByteBuffer buffer, final boolean endAllowed) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                if (endAllowed && buffer.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("Channel closed in a frame.");
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication.warmup;
+
+import be.yildizgames.common.authentication.AuthenticationChecker;
+import be.yildizgames.common.authentication.AuthenticationRules;
+import be.yildizgames.common.authentication.BCryptEncryptionTool;
+import be.yildizgames.common.authentication.Credentials;
+import be.yildizgames.common.authentication.EncryptionTool;
+import be.yildizgames.common.authentication.SimpleAuthenticationChecker;
+import be.yildizgames.common.authentication.TemporaryAccount;
+import be.yildizgames.common.authentication.Token;
+import be.yildizgames.common.authentication.protocol.AccountConfirmationDto;
+import be.yildizgames.common.authentication.protocol.TemporaryAccountCreationResultDto;
+import be.yildizgames.common.authentication.protocol.TokenVerification;
+import be.yildizgames.common.authentication.protocol.mapper.AccountConfirmationMapper;
+import be.yildizgames.common.authentication.protocol.mapper.CredentialsMapper;
+import be.yildizgames.common.authentication.protocol.mapper.TemporaryAccountMapper;
+import be.yildizgames.common.authentication.protocol.mapper.TemporaryAccountResultMapper;
+import be.yildizgames.common.authentication.protocol.mapper.TokenMapper;
+import be.yildizgames.common.authentication.protocol.mapper.TokenVerificationMapper;
+import be.yildizgames.common.model.PlayerId;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Exercise the hashing, validation and protocol mapping code with synthetic data, so the just in time compiler
+ * compiles it before the first real requests, which would otherwise run interpreted and noticeably slower.
+ * A round encrypts and checks a password, then validates credentials and temporary accounts, valid and invalid,
+ * and maps every protocol message in both directions, several times.
+ * The rounds run on background threads until they are all done or the time budget is reached,
+ * the service should report ready once the warm-up completes.
+ * The BCrypt default cost is 4: the compiled code is the same for all costs, a higher one only makes the rounds longer.
+ * Thread safe.
+ *
+ * @author Grégory Van den Borre
+ */
+public final class JitWarmup {
+
+    /**
+     * Default number of rounds per thread, enough for the validation and mapping methods to reach the compilation thresholds.
+     */
+    private static final int DEFAULT_ROUNDS = 200;
+
+    /**
+     * Number of validations and mappings per round, they are much cheaper than the hashing.
+     */
+    private static final int OPERATIONS_PER_ROUND = 100;
+
+    /**
+     * Warm-up number, used in the thread names.
+     */
+    private static final AtomicInteger WARMUP_COUNT = new AtomicInteger();
+
+    /**
+     * Tool to warm up.
+     */
+    private final EncryptionTool encryptionTool;
+
+    /**
+     * Checker to warm up.
+     */
+    private final AuthenticationChecker checker;
+
+    /**
+     * Number of threads running the rounds.
+     */
+    private final int threads;
+
+    /**
+     * Number of rounds per thread.
+     */
+    private final int rounds;
+
+    /**
+     * Result of the operations, to prevent the compiler from removing them.
+     */
+    private volatile int sink;
+
+    /**
+     * Create a new instance warming up BCrypt with a cost of 4 and the default authentication rules,
+     * on half of the cores.
+     */
+    public JitWarmup() {
+        this(new BCryptEncryptionTool(4), new SimpleAuthenticationChecker(AuthenticationRules.DEFAULT),
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2), DEFAULT_ROUNDS);
+    }
+
+    /**
+     * Create a new instance.
+     *
+     * @param encryptionTool Tool to warm up, with a low cost to run many rounds in the time budget.
+     * @param checker        Checker to warm up, the synthetic logins are letters and digits, from 7 to 9 characters,
+     *                       and the passwords from 9 to 11 characters.
+     * @param threads        Number of threads running the rounds.
+     * @param rounds         Number of rounds per thread.
+     * @throws NullPointerException     If encryptionTool or checker is null.
+     * @throws IllegalArgumentException If threads or rounds is smaller than 1.
+     */
+    public JitWarmup(EncryptionTool encryptionTool, AuthenticationChecker checker, int threads, int rounds) {
+        super();
+        this.encryptionTool = Objects.requireNonNull(encryptionTool);
+        this.checker = Objects.requireNonNull(checker);
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be greater than 0.");
+        }
+        if (rounds < 1) {
+            throw new IllegalArgumentException("Rounds must be greater than 0.");
+        }
+        this.threads = threads;
+        this.rounds = rounds;
+    }
+
+    /**
+     * Run the warm-up and wait for its end.
+     *
+     * @param budget Maximum duration of the warm-up.
+     * @return The warm-up measures.
+     * @throws NullPointerException     If budget is null.
+     * @throws IllegalArgumentException If budget is not positive.
+     */
+    public WarmupResult run(final Duration budget) {
+        return this.start(budget).join();
+    }
+
+    /**
+     * Start the warm-up on background threads.
+     *
+     * @param budget Maximum duration of the warm-up.
+     * @return Future completed with the warm-up measures, or exceptionally if an operation failed.
+     * @throws NullPointerException     If budget is null.
+     * @throws IllegalArgumentException If budget is not positive.
+     */
+    public CompletableFuture<WarmupResult> start(final Duration budget) {
+        Objects.requireNonNull(budget);
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Budget must be positive.");
+        }
+        long start = System.nanoTime();
+        long deadline = start + budget.toNanos();
+        int number = WARMUP_COUNT.incrementAndGet();
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(this.threads, r -> {
+            Thread thread = new Thread(r, "jit-warmup-" + number + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        LongAdder executed = new LongAdder();
+        long[] roundTimes = new long[2];
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[this.threads];
+        for (int i = 0; i < this.threads; i++) {
+            long[] times = i == 0 ? roundTimes : new long[2];
+            futures[i] = CompletableFuture.runAsync(() -> this.warm(deadline, executed, times), executor);
+        }
+        executor.shutdown();
+        return CompletableFuture.allOf(futures).thenApply(v -> new WarmupResult(Duration.ofNanos(System.nanoTime() - start),
+                executed.sum(), executed.sum() == (long) this.threads * this.rounds,
+                Duration.ofNanos(roundTimes[0]), Duration.ofNanos(roundTimes[1])));
+    }
+
+    /**
+     * Run the rounds of a thread.
+     * @param times Receive the duration of the first and the last round.
+     */
+    private void warm(final long deadline, final LongAdder executed, final long[] times) {
+        for (int round = 0; round < this.rounds && System.nanoTime() - deadline < 0; round++) {
+            long start = System.nanoTime();
+            this.round(round);
+            long time = System.nanoTime() - start;
+            if (round == 0) {
+                times[0] = time;
+            }
+            times[1] = time;
+            executed.increment();
+        }
+    }
+
+    private void round(final int round) {
+        String login = "player" + (round % 1000);
+        String password = "Passw0rd" + round;
+        String encrypted = this.encryptionTool.encrypt(password);
+        int result = Boolean.hashCode(this.encryptionTool.check(encrypted, password));
+        result += Boolean.hashCode(this.encryptionTool.check(encrypted, login));
+        PlayerId player = PlayerId.valueOf(round);
+        for (int i = 0; i < OPERATIONS_PER_ROUND; i++) {
+            result += this.checker.validate(login, password).hashCode();
+            result += this.checker.validate("p", password).hashCode();
+            result += this.checker.validate(login + '!', password).hashCode();
+            result += TemporaryAccount.validate(login, password, login + "@example.com").hashCode();
+            result += TemporaryAccount.validate(login, password, login).hashCode();
+            Token token = Token.authenticated(player, round, i);
+            result += TokenMapper.getInstance().from(TokenMapper.getInstance().to(token)).hashCode();
+            result += CredentialsMapper.getInstance().from(CredentialsMapper.getInstance().to(Credentials.unchecked(login, password))).hashCode();
+            result += TokenVerificationMapper.getInstance().from(TokenVerificationMapper.getInstance().to(new TokenVerification(player, true))).hashCode();
+            TemporaryAccountCreationResultDto creation = TemporaryAccountCreationResultDto.success();
+            creation.setInvalidLogin(i % 2 == 0);
+            result += TemporaryAccountResultMapper.getInstance().from(TemporaryAccountResultMapper.getInstance().to(creation)).hashCode();
+            result += AccountConfirmationMapper.getInstance().from(AccountConfirmationMapper.getInstance().to(new AccountConfirmationDto(login, password))).hashCode();
+            TemporaryAccount account = TemporaryAccount.create(login, password, login + "@example.com", "en");
+            result += TemporaryAccountMapper.getInstance().from(TemporaryAccountMapper.getInstance().to(account)).hashCode();
+        }
+        this.sink = result;
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication.warmup;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Measures of a warm-up.
+ * Immutable class.
+ *
+ * @param duration       Time taken by the warm-up.
+ * @param rounds         Number of rounds executed, by all threads.
+ * @param completed      true if all threads executed all their rounds before the time budget was reached.
+ * @param firstRoundTime Time taken by the first round of the first thread, mostly interpreted.
+ * @param lastRoundTime  Time taken by the last round of the first thread, mostly compiled.
+ * @author Grégory Van den Borre
+ */
+public record WarmupResult(Duration duration, long rounds, boolean completed, Duration firstRoundTime, Duration lastRoundTime) {
+
+    public WarmupResult {
+        Objects.requireNonNull(duration);
+        Objects.requireNonNull(firstRoundTime);
+        Objects.requireNonNull(lastRoundTime);
+    }
+}
@@ -27,9 +27,11 @@ open module be.yildizgames.common.authentication {
     requires be.yildizgames.common.model;
     requires be.yildizgames.common.mapping.model;
 
-    requires jBCrypt;
+    requires java.management;
+    requires static jdk.incubator.vector;
 
     exports be.yildizgames.common.authentication;
     exports be.yildizgames.common.authentication.protocol;
     exports be.yildizgames.common.authentication.protocol.mapper;
+    exports be.yildizgames.common.authentication.warmup;
 }
\ No newline at end of file
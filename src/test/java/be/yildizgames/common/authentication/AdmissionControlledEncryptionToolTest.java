@@ -0,0 +1,190 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class AdmissionControlledEncryptionToolTest {
+
+    private static final String SALT = "$2a$04$7.PJwtiY7Y2heDKA7AoVF.";
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new AdmissionControlledEncryptionTool(null, 1, 1, Duration.ZERO));
+            assertThrows(NullPointerException.class, () -> new AdmissionControlledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1, null));
+            assertThrows(NullPointerException.class, () -> new AdmissionControlledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1, Duration.ZERO, null));
+        }
+
+        @Test
+        void invalidValues() {
+            EncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+            assertThrows(IllegalArgumentException.class, () -> new AdmissionControlledEncryptionTool(bcrypt, 0, 1, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class, () -> new AdmissionControlledEncryptionTool(bcrypt, 1, -1, Duration.ZERO));
+            assertThrows(IllegalArgumentException.class, () -> new AdmissionControlledEncryptionTool(bcrypt, 1, 1, Duration.ofSeconds(-1)));
+        }
+    }
+
+    @Nested
+    class Admitted {
+
+        @Test
+        void happyFlow() {
+            BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+            AdmissionControlledEncryptionTool tool = new AdmissionControlledEncryptionTool(bcrypt, 1, 0, Duration.ZERO);
+            String encrypted = tool.encrypt("azerty");
+            assertEquals(bcrypt.encrypt("azerty"), encrypted);
+            assertTrue(tool.check(encrypted, "azerty"));
+            assertEquals(0, tool.getInFlight());
+            assertEquals(0, tool.getRejected());
+            assertTrue(tool.getAverageTime().toNanos() > 0);
+        }
+
+        @Test
+        void waitReported() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            AdmissionControlledEncryptionTool tool = new AdmissionControlledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 0, Duration.ZERO, metrics);
+            tool.encrypt("azerty");
+            assertEquals(1, metrics.getWaitTimes().getCount());
+            assertEquals(0, metrics.getWaitTimes().getMax());
+        }
+
+        @Test
+        void permitReleasedOnFailure() {
+            AdmissionControlledEncryptionTool tool = new AdmissionControlledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 0, Duration.ZERO);
+            assertThrows(IllegalArgumentException.class, () -> tool.check("invalid", "azerty"));
+            assertEquals(0, tool.getInFlight());
+        }
+    }
+
+    @Nested
+    class Rejected {
+
+        @Test
+        void queueFull() throws Exception {
+            Blocking blocking = new Blocking();
+            AdmissionControlledEncryptionTool tool = new AdmissionControlledEncryptionTool(blocking, 1, 0, Duration.ofSeconds(10));
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> tool.encrypt("running"));
+            blocking.started.await();
+            assertEquals(1, tool.getInFlight());
+            assertThrows(OverloadedException.class, () -> tool.encrypt("rejected"));
+            assertEquals(1, tool.getRejected());
+            blocking.release.countDown();
+            assertEquals("running", running.get(10, TimeUnit.SECONDS));
+        }
+
+        @Test
+        void deadlineReached() throws Exception {
+            Blocking blocking = new Blocking();
+            AdmissionControlledEncryptionTool tool = new AdmissionControlledEncryptionTool(blocking, 1, 1, Duration.ofMillis(50));
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> tool.encrypt("running"));
+            blocking.started.await();
+            assertThrows(OverloadedException.class, () -> tool.check("queued", "queued"));
+            assertEquals(0, tool.getQueued());
+            blocking.release.countDown();
+            running.get(10, TimeUnit.SECONDS);
+        }
+
+        @Test
+        void estimatedWaitBeyondDeadline() throws Exception {
+            Blocking blocking = new Blocking();
+            AdmissionControlledEncryptionTool tool = new AdmissionControlledEncryptionTool(blocking, 1, 10, Duration.ofMillis(500));
+            // First computation, 1 second long, the average becomes greater than the deadline.
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> tool.encrypt("first"));
+            blocking.started.await();
+            Thread.sleep(1000);
+            blocking.release.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            assertTrue(tool.getAverageTime().toMillis() >= 1000);
+            blocking.reset();
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> tool.encrypt("running"));
+            blocking.started.await();
+            long start = System.nanoTime();
+            assertThrows(OverloadedException.class, () -> tool.encrypt("rejected"));
+            // Rejected without waiting for the deadline.
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+            blocking.release.countDown();
+            running.get(10, TimeUnit.SECONDS);
+        }
+
+        @Test
+        void interrupted() {
+            AdmissionControlledEncryptionTool tool = new AdmissionControlledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1, Duration.ofSeconds(10));
+            Thread.currentThread().interrupt();
+            assertThrows(OverloadedException.class, () -> tool.encrypt("azerty"));
+            assertTrue(Thread.interrupted());
+            assertEquals(1, tool.getRejected());
+            assertEquals(0, tool.getInFlight());
+        }
+    }
+
+    /**
+     * Encryption blocking until released.
+     */
+    private static final class Blocking implements EncryptionTool {
+
+        private CountDownLatch started = new CountDownLatch(1);
+
+        private CountDownLatch release = new CountDownLatch(1);
+
+        void reset() {
+            this.started = new CountDownLatch(1);
+            this.release = new CountDownLatch(1);
+        }
+
+        @Override
+        public String encrypt(String toEncrypt) {
+            this.started.countDown();
+            try {
+                this.release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return toEncrypt;
+        }
+
+        @Override
+        public boolean check(String encrypted, String clear) {
+            this.encrypt(clear);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class Argon2EncryptionToolTest {
+
+    /**
+     * Produced by a reference implementation.
+     */
+    private static final String ENCRYPTED = "$argon2id$v=19$m=64,t=2,p=2$c29tZXNhbHRzb21lc2FsdA$wmMxfQAvhLU0L6ZvoWnkvOajVqE/GRkzRjIu81IuBwI";
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void defaultParameters() {
+            Argon2EncryptionTool tool = new Argon2EncryptionTool();
+            assertEquals(19456, tool.getMemory());
+            assertEquals(2, tool.getIterations());
+            assertEquals(1, tool.getParallelism());
+        }
+
+        @Test
+        void invalidParameters() {
+            assertThrows(IllegalArgumentException.class, () -> new Argon2EncryptionTool(15, 1, 2));
+            assertThrows(IllegalArgumentException.class, () -> new Argon2EncryptionTool(64, 0, 1));
+            assertThrows(IllegalArgumentException.class, () -> new Argon2EncryptionTool(64, 1, 0));
+        }
+    }
+
+    @Nested
+    class Encrypt {
+
+        @Test
+        void happyFlow() {
+            Argon2EncryptionTool tool = new Argon2EncryptionTool(64, 1, 1);
+            String encrypted = tool.encrypt("password");
+            assertTrue(encrypted.startsWith("$argon2id$v=19$m=64,t=1,p=1$"));
+            assertTrue(tool.check(encrypted, "password"));
+        }
+
+        @Test
+        void saltPerValue() {
+            Argon2EncryptionTool tool = new Argon2EncryptionTool(64, 1, 1);
+            assertNotEquals(tool.encrypt("password"), tool.encrypt("password"));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new Argon2EncryptionTool(64, 1, 1).encrypt(null));
+        }
+    }
+
+    @Nested
+    class Check {
+
+        @Test
+        void referenceValue() {
+            Argon2EncryptionTool tool = new Argon2EncryptionTool(8, 1, 1);
+            assertTrue(tool.check(ENCRYPTED, "password"));
+            assertFalse(tool.check(ENCRYPTED, "passwore"));
+        }
+
+        @Test
+        void invalidValue() {
+            Argon2EncryptionTool tool = new Argon2EncryptionTool(8, 1, 1);
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$argon2i$v=19$m=64,t=2,p=2$c29tZXNhbHRzb21lc2FsdA$wmMx", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$argon2id$v=16$m=64,t=2,p=2$c29tZXNhbHRzb21lc2FsdA$wmMx", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$argon2id$v=19$m=64,t=2$c29tZXNhbHRzb21lc2FsdA$wmMx", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$argon2id$v=19$m=a,t=2,p=2$c29tZXNhbHRzb21lc2FsdA$wmMx", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$2a$10$7.PJwtiY7Y2heDKA7AoVF.", "password"));
+        }
+
+        @Test
+        void withNull() {
+            Argon2EncryptionTool tool = new Argon2EncryptionTool(8, 1, 1);
+            assertThrows(NullPointerException.class, () -> tool.check((String) null, "password"));
+            assertThrows(NullPointerException.class, () -> tool.check(ENCRYPTED, null));
+        }
+    }
+
+    @Nested
+    class NeedsRehash {
+
+        @Test
+        void sameOrStronger() {
+            assertFalse(new Argon2EncryptionTool(64, 2, 1).needsRehash(ENCRYPTED));
+            assertFalse(new Argon2EncryptionTool(32, 1, 4).needsRehash(ENCRYPTED));
+        }
+
+        @Test
+        void weaker() {
+            assertTrue(new Argon2EncryptionTool(128, 2, 2).needsRehash(ENCRYPTED));
+            assertTrue(new Argon2EncryptionTool(64, 3, 2).needsRehash(ENCRYPTED));
+        }
+
+        @Test
+        void otherFormat() {
+            assertTrue(new Argon2EncryptionTool(64, 2, 2).needsRehash("$2a$10$7.PJwtiY7Y2heDKA7AoVF."));
+        }
+    }
+}
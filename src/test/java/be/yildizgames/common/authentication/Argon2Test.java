@@ -0,0 +1,132 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class Argon2Test {
+
+    @Nested
+    class Blake2bDigest {
+
+        @Test
+        void abc() {
+            assertEquals("ba80a53f981c4d0d6a2797b69f12f6e94c212f14685ac4b74b12bb6fdbffa2d1"
+                            + "7d87c5392aab792dc252d5de4533cc9518d38aa8dbf1925ab92386edd4009923",
+                    HexFormat.of().formatHex(Blake2b.digest(64, "abc".getBytes(StandardCharsets.US_ASCII))));
+        }
+
+        @Test
+        void empty() {
+            assertEquals("786a02f742015903c6c6fd852552d272912f4740e15847618a86e217f71f5419"
+                            + "d25e1031afee585313896444934eb04b903a685b1448b755d56f701afe9be2ce",
+                    HexFormat.of().formatHex(Blake2b.digest(64, new byte[0])));
+        }
+
+        @Test
+        void severalBlocks() {
+            byte[] value = new byte[300];
+            Arrays.fill(value, (byte) 'a');
+            Blake2b incremental = new Blake2b(32);
+            incremental.update(value, 0, 128);
+            incremental.update(value, 128, 1);
+            for (int i = 129; i < 300; i++) {
+                incremental.update(value[i]);
+            }
+            byte[] result = new byte[32];
+            incremental.digest(result, 0);
+            assertArrayEquals(Blake2b.digest(32, value), result);
+        }
+
+        @Test
+        void invalidSize() {
+            assertThrows(IllegalArgumentException.class, () -> new Blake2b(0));
+            assertThrows(IllegalArgumentException.class, () -> new Blake2b(65));
+        }
+    }
+
+    @Nested
+    class Hash {
+
+        /**
+         * Test vector from RFC 9106, section 5.3.
+         */
+        @Test
+        void rfcVector() {
+            byte[] password = new byte[32];
+            Arrays.fill(password, (byte) 1);
+            byte[] salt = new byte[16];
+            Arrays.fill(salt, (byte) 2);
+            byte[] secret = new byte[8];
+            Arrays.fill(secret, (byte) 3);
+            byte[] associatedData = new byte[12];
+            Arrays.fill(associatedData, (byte) 4);
+            assertEquals("0d640df58d78766c08c037a34a8b53c9d01ef0452d75b65eb52520e96b01e659",
+                    HexFormat.of().formatHex(Argon2.hash(password, salt, secret, associatedData, 32, 3, 4, 32)));
+        }
+
+        @Test
+        void referenceValues() {
+            check("password", "somesaltsomesalt", 64, 2, 2, "wmMxfQAvhLU0L6ZvoWnkvOajVqE/GRkzRjIu81IuBwI");
+            check("testtest", "0123456789abcdef", 256, 3, 4, "Gn5bbJHSxtYxPpejjWU8Cw6S92fZlABnYsDac5CCDJE");
+            check("", "saltsaltsaltsalt", 8, 1, 1, "bpck3K01y0JKndgUpPhTqg");
+            // Memory not a multiple of 4 times the parallelism.
+            check("password", "somesaltsomesalt", 70, 2, 3, "0hfSyjNRxe+YnYgP2NVmuqoj5HBL9tWP3HsR6md2bCE");
+            // Tag longer than a BLAKE2b digest.
+            check("pé", "saltsaltsaltsalt", 1024, 1, 1, "4SmN6FRCFZ6y2SfM0L/kz5IVcLkXH6NYYAi5b0sM1JZvohpCYNGCh58hIgcK6CCIN6T8NBnUIv0qVAL+8Ylt0lN8291ile8cchJNzBUHdTLM+8mbZtLm7p7PqjSL3rUqzUPKIg");
+        }
+
+        @Test
+        void invalidParameters() {
+            byte[] salt = new byte[16];
+            assertThrows(IllegalArgumentException.class, () -> Argon2.hash(new byte[0], new byte[7], 8, 1, 1, 32));
+            assertThrows(IllegalArgumentException.class, () -> Argon2.hash(new byte[0], salt, 7, 1, 1, 32));
+            assertThrows(IllegalArgumentException.class, () -> Argon2.hash(new byte[0], salt, 16, 1, 3, 32));
+            assertThrows(IllegalArgumentException.class, () -> Argon2.hash(new byte[0], salt, 8, 0, 1, 32));
+            assertThrows(IllegalArgumentException.class, () -> Argon2.hash(new byte[0], salt, 8, 1, 0, 32));
+            assertThrows(IllegalArgumentException.class, () -> Argon2.hash(new byte[0], salt, 8, 1, 1, 3));
+        }
+
+        private void check(String password, String salt, int memory, int iterations, int lanes, String expected) {
+            byte[] tag = Base64.getDecoder().decode(expected);
+            assertArrayEquals(tag, Argon2.hash(password.getBytes(StandardCharsets.UTF_8), salt.getBytes(StandardCharsets.UTF_8),
+                    memory, iterations, lanes, tag.length));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class AsciiCharSequenceTest {
+
+    private static ByteBuffer givenABuffer() {
+        return ByteBuffer.wrap("abcdef".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void remaining() {
+            ByteBuffer buffer = givenABuffer().position(2);
+            AsciiCharSequence s = new AsciiCharSequence(buffer);
+            assertEquals("cdef", s.toString());
+            assertEquals(2, buffer.position());
+        }
+
+        @Test
+        void range() {
+            AsciiCharSequence s = new AsciiCharSequence(givenABuffer(), 1, 3);
+            assertEquals(2, s.length());
+            assertEquals('b', s.charAt(0));
+            assertEquals('c', s.charAt(1));
+        }
+
+        @Test
+        void outOfBounds() {
+            ByteBuffer buffer = givenABuffer();
+            assertThrows(IndexOutOfBoundsException.class, () -> new AsciiCharSequence(buffer, 2, 7));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new AsciiCharSequence(null));
+        }
+    }
+
+    @Nested
+    class CharAt {
+
+        @Test
+        void unsigned() {
+            AsciiCharSequence s = new AsciiCharSequence(ByteBuffer.wrap(new byte[]{(byte) 0xE9}));
+            assertEquals('é', s.charAt(0));
+        }
+
+        @Test
+        void outOfBounds() {
+            AsciiCharSequence s = new AsciiCharSequence(givenABuffer(), 1, 3);
+            assertThrows(IndexOutOfBoundsException.class, () -> s.charAt(2));
+        }
+    }
+
+    @Nested
+    class SubSequence {
+
+        @Test
+        void happyFlow() {
+            AsciiCharSequence s = new AsciiCharSequence(givenABuffer(), 1, 5);
+            assertEquals("cd", s.subSequence(1, 3).toString());
+        }
+    }
+}
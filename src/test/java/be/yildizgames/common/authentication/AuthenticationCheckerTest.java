@@ -27,6 +27,13 @@ package be.yildizgames.common.authentication;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.regex.Pattern;
+
 import static be.yildizgames.common.authentication.AuthenticationTestHelper.LOGIN_EMPTY;
 import static be.yildizgames.common.authentication.AuthenticationTestHelper.LOGIN_INVALID;
 import static be.yildizgames.common.authentication.AuthenticationTestHelper.LOGIN_OK;
@@ -40,6 +47,7 @@ import static be.yildizgames.common.authentication.AuthenticationTestHelper.PASS
 import static be.yildizgames.common.authentication.AuthenticationTestHelper.givenADefaultAuthenticationChecker;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Grégory Van den Borre
@@ -107,6 +115,14 @@ final class AuthenticationCheckerTest {
                     assertThrows(CredentialException.class, () -> c.check(LOGIN_TOO_LONG, PASSWORD_OK)).getErrors().get(0));
         }
 
+        @Test
+        void loginTooLongWithDifferentPasswordMaximum() {
+            AuthenticationRules rules = new AuthenticationRules(5, 20, 3, 5, AuthenticationRules.DEFAULT.loginPattern, AuthenticationRules.DEFAULT.passPattern);
+            AuthenticationChecker c = new SimpleAuthenticationChecker(rules);
+            assertEquals(AuthenticationError.LOGIN_TOO_LONG,
+                    assertThrows(CredentialException.class, () -> c.check("abcdef", PASSWORD_OK)).getErrors().get(0));
+        }
+
         @Test
         void passwordTooLong() {
             AuthenticationChecker c = givenADefaultAuthenticationChecker();
@@ -143,4 +159,193 @@ final class AuthenticationCheckerTest {
                     assertThrows(CredentialException.class, () -> c.check(LOGIN_OK, PASSWORD_INVALID)).getErrors().get(0));
         }
     }
+
+    @Nested
+    class Validate {
+
+        @Test
+        void happyFlow() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertTrue(c.validate(LOGIN_OK, PASSWORD_OK).isValid());
+        }
+
+        @Test
+        void bothInvalid() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertEquals(List.of(AuthenticationError.LOGIN_TOO_SHORT, AuthenticationError.INVALID_PASS_CHAR),
+                    c.validate(LOGIN_TOO_SHORT, PASSWORD_INVALID).getErrors());
+        }
+
+        @Test
+        void withNull() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            ValidationResult r = c.validate(null, null);
+            assertTrue(r.hasError(AuthenticationError.LOGIN_EMPTY));
+            assertTrue(r.hasError(AuthenticationError.PASS_EMPTY));
+        }
+
+        @Test
+        void sameErrorsAsCheck() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertEquals(c.validate(LOGIN_TOO_LONG, PASSWORD_TOO_SHORT).getErrors(),
+                    assertThrows(CredentialException.class, () -> c.check(LOGIN_TOO_LONG, PASSWORD_TOO_SHORT)).getErrors());
+        }
+
+        @Test
+        void defaultImplementation() {
+            AuthenticationChecker c = (login, password) -> {
+                throw new CredentialException(List.of(AuthenticationError.LOGIN_EMPTY));
+            };
+            assertEquals(List.of(AuthenticationError.LOGIN_EMPTY), c.validate(LOGIN_OK, PASSWORD_OK).getErrors());
+        }
+    }
+
+    @Nested
+    class ValidateAll {
+
+        @Test
+        void happyFlow() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            List<Credentials> credentials = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                credentials.add(Credentials.unchecked(i % 3 == 0 ? LOGIN_INVALID : LOGIN_OK, i % 5 == 0 ? PASSWORD_TOO_SHORT : PASSWORD_OK));
+            }
+            List<ValidationResult> results = c.validateAll(credentials);
+            assertEquals(credentials.size(), results.size());
+            for (int i = 0; i < credentials.size(); i++) {
+                assertEquals(c.validate(credentials.get(i).login, credentials.get(i).password), results.get(i));
+            }
+        }
+
+        @Test
+        void withPool() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            ForkJoinPool pool = new ForkJoinPool(2);
+            try {
+                List<ValidationResult> results = c.validateAll(List.of(Credentials.unchecked(LOGIN_OK, PASSWORD_OK),
+                        Credentials.unchecked(LOGIN_EMPTY, PASSWORD_OK)), pool);
+                assertEquals(List.of(ValidationResult.VALID, ValidationResult.of(AuthenticationError.LOGIN_EMPTY)), results);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        @Test
+        void empty() {
+            assertTrue(givenADefaultAuthenticationChecker().validateAll(List.of()).isEmpty());
+        }
+
+        @Test
+        void withNull() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertThrows(NullPointerException.class, () -> c.validateAll(null));
+        }
+
+        @Test
+        void withNullPool() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            List<Credentials> credentials = List.of(Credentials.unchecked(LOGIN_OK, PASSWORD_OK));
+            assertThrows(NullPointerException.class, () -> c.validateAll(credentials, null));
+        }
+    }
+
+    @Nested
+    class ValidateCharSequence {
+
+        @Test
+        void happyFlow() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertTrue(c.validate(new StringBuilder(LOGIN_OK), new StringBuilder(PASSWORD_OK)).isValid());
+        }
+
+        @Test
+        void invalid() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertEquals(c.validate(LOGIN_INVALID, PASSWORD_TOO_LONG), c.validate(new StringBuilder(LOGIN_INVALID), new StringBuilder(PASSWORD_TOO_LONG)));
+        }
+
+        @Test
+        void withNull() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertEquals(c.validate(null, null), c.validate((CharSequence) null, new StringBuilder()));
+        }
+    }
+
+    @Nested
+    class ValidateChars {
+
+        @Test
+        void happyFlow() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertTrue(c.validateChars(LOGIN_OK.toCharArray(), PASSWORD_OK.toCharArray()).isValid());
+        }
+
+        @Test
+        void invalid() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertEquals(c.validate(LOGIN_TOO_SHORT, PASSWORD_INVALID), c.validateChars(LOGIN_TOO_SHORT.toCharArray(), PASSWORD_INVALID.toCharArray()));
+        }
+
+        @Test
+        void withNull() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            assertEquals(c.validate(null, null), c.validateChars(null, null));
+        }
+
+        @Test
+        void complexPattern() {
+            AuthenticationRules rules = new AuthenticationRules(20, 20, 3, 5, Pattern.compile("[a-z]+[0-9]*"), Pattern.compile("[a-z]+[0-9]*"));
+            AuthenticationChecker c = new SimpleAuthenticationChecker(rules);
+            assertTrue(c.validateChars("abc12".toCharArray(), "abcde".toCharArray()).isValid());
+            assertEquals(c.validate("12abc", "abcde"), c.validateChars("12abc".toCharArray(), "abcde".toCharArray()));
+        }
+
+        @Test
+        void defaultImplementation() {
+            AuthenticationChecker c = (login, password) -> new NoAuthenticationChecker().check(login, password);
+            assertTrue(c.validateChars(LOGIN_OK.toCharArray(), PASSWORD_OK.toCharArray()).isValid());
+        }
+    }
+
+    @Nested
+    class ValidateAscii {
+
+        @Test
+        void byteBuffer() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            ByteBuffer login = ByteBuffer.wrap(("xx" + LOGIN_OK).getBytes(StandardCharsets.US_ASCII)).position(2);
+            ByteBuffer password = ByteBuffer.wrap(PASSWORD_INVALID.getBytes(StandardCharsets.US_ASCII));
+            assertEquals(ValidationResult.of(AuthenticationError.INVALID_PASS_CHAR), c.validateAscii(login, password));
+            assertEquals(2, login.position());
+        }
+
+        @Test
+        void byteArray() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            byte[] data = (LOGIN_OK + ":" + PASSWORD_OK).getBytes(StandardCharsets.US_ASCII);
+            assertTrue(c.validateAscii(data, 0, LOGIN_OK.length(), LOGIN_OK.length() + 1, PASSWORD_OK.length()).isValid());
+            assertEquals(ValidationResult.of(AuthenticationError.INVALID_LOGIN_CHAR), c.validateAscii(data, 0, LOGIN_OK.length() + 1, LOGIN_OK.length() + 1, PASSWORD_OK.length()));
+        }
+
+        @Test
+        void nonAscii() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            byte[] data = "t\u00e9st:testOk".getBytes(StandardCharsets.UTF_8);
+            assertTrue(c.validateAscii(data, 0, 5, 6, 6).hasError(AuthenticationError.INVALID_LOGIN_CHAR));
+        }
+
+        @Test
+        void outOfBounds() {
+            AuthenticationChecker c = givenADefaultAuthenticationChecker();
+            byte[] data = new byte[4];
+            assertThrows(IndexOutOfBoundsException.class, () -> c.validateAscii(data, 0, 5, 0, 1));
+        }
+
+        @Test
+        void defaultImplementation() {
+            AuthenticationChecker c = (login, password) -> new SimpleAuthenticationChecker(AuthenticationRules.DEFAULT).check(login, password);
+            byte[] data = (LOGIN_OK + PASSWORD_INVALID).getBytes(StandardCharsets.US_ASCII);
+            assertEquals(ValidationResult.of(AuthenticationError.INVALID_PASS_CHAR), c.validateAscii(data, 0, LOGIN_OK.length(), LOGIN_OK.length(), PASSWORD_INVALID.length()));
+        }
+    }
 }
@@ -26,6 +26,7 @@ package be.yildizgames.common.authentication;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Properties;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -91,4 +92,56 @@ class AuthenticationRuleTest {
     void testNullPassPattern() {
         assertThrows(NullPointerException.class, () -> new AuthenticationRules(10, 15, 3, 5, ALPHA, null));
     }
+
+    @Test
+    void testFromProperties() {
+        Properties p = new Properties();
+        p.setProperty(AuthenticationRules.LOGIN_MIN_KEY, "4");
+        p.setProperty(AuthenticationRules.LOGIN_MAX_KEY, " 12 ");
+        p.setProperty(AuthenticationRules.LOGIN_PATTERN_KEY, "\\d*");
+        p.setProperty(AuthenticationRules.PASS_MIN_KEY, "6");
+        p.setProperty(AuthenticationRules.PASS_MAX_KEY, "30");
+        p.setProperty(AuthenticationRules.PASS_PATTERN_KEY, "[a-z]*");
+        AuthenticationRules r = AuthenticationRules.fromProperties(p);
+        assertEquals(4, r.loginMinLength);
+        assertEquals(12, r.loginMaxLength);
+        assertEquals("\\d*", r.loginPattern.pattern());
+        assertEquals(6, r.passMinLength);
+        assertEquals(30, r.passMaxLength);
+        assertEquals("[a-z]*", r.passPattern.pattern());
+    }
+
+    @Test
+    void testFromPropertiesDefaultValues() {
+        AuthenticationRules r = AuthenticationRules.fromProperties(new Properties());
+        assertEquals(AuthenticationRules.DEFAULT.loginMaxLength, r.loginMaxLength);
+        assertEquals(AuthenticationRules.DEFAULT.passMinLength, r.passMinLength);
+        assertEquals(AuthenticationRules.DEFAULT.loginPattern.pattern(), r.loginPattern.pattern());
+    }
+
+    @Test
+    void testFromPropertiesInvalidNumber() {
+        Properties p = new Properties();
+        p.setProperty(AuthenticationRules.PASS_MAX_KEY, "many");
+        assertThrows(IllegalArgumentException.class, () -> AuthenticationRules.fromProperties(p));
+    }
+
+    @Test
+    void testFromPropertiesInvalidPattern() {
+        Properties p = new Properties();
+        p.setProperty(AuthenticationRules.LOGIN_PATTERN_KEY, "[a-z");
+        assertThrows(IllegalArgumentException.class, () -> AuthenticationRules.fromProperties(p));
+    }
+
+    @Test
+    void testFromPropertiesInconsistent() {
+        Properties p = new Properties();
+        p.setProperty(AuthenticationRules.LOGIN_MIN_KEY, "30");
+        assertThrows(IllegalArgumentException.class, () -> AuthenticationRules.fromProperties(p));
+    }
+
+    @Test
+    void testFromPropertiesNull() {
+        assertThrows(NullPointerException.class, () -> AuthenticationRules.fromProperties(null));
+    }
 }
@@ -28,7 +28,14 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
@@ -55,6 +62,81 @@ class BCryptEncryptionToolTest {
         void nullParameter() {
             Assertions.assertThrows(NullPointerException.class, () -> new BCryptEncryptionTool(null));
         }
+
+        @Test
+        void withCost() {
+            BCryptEncryptionTool enc = new BCryptEncryptionTool(5);
+            assertEquals(5, enc.getCost());
+            assertTrue(enc.encrypt(CLEAR).startsWith("$2a$05$"));
+        }
+
+        @Test
+        void withInvalidCost() {
+            assertThrows(IllegalArgumentException.class, () -> new BCryptEncryptionTool(3));
+            assertThrows(IllegalArgumentException.class, () -> new BCryptEncryptionTool(31));
+        }
+
+        @Test
+        void costFromSalt() {
+            assertEquals(10, new BCryptEncryptionTool(SALT).getCost());
+            assertEquals(-1, new BCryptEncryptionTool("azerty").getCost());
+        }
+    }
+
+    @Nested
+    class Calibrate {
+
+        @Test
+        void happyFlow() {
+            BCryptEncryptionTool enc = BCryptEncryptionTool.calibrate(Duration.ofMillis(20), 4, 8);
+            assertTrue(enc.getCost() >= 4 && enc.getCost() <= 8);
+            assertTrue(enc.check(enc.encrypt(CLEAR), CLEAR));
+        }
+
+        @Test
+        void minimumCostAboveTarget() {
+            assertEquals(5, BCryptEncryptionTool.calibrate(Duration.ofNanos(1), 5, 8).getCost());
+        }
+
+        @Test
+        void maximumCost() {
+            assertEquals(5, BCryptEncryptionTool.calibrate(Duration.ofHours(1), 4, 5).getCost());
+        }
+
+        @Test
+        void invalidValues() {
+            assertThrows(NullPointerException.class, () -> BCryptEncryptionTool.calibrate(null, 4, 5));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEncryptionTool.calibrate(Duration.ZERO, 4, 5));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEncryptionTool.calibrate(Duration.ofMillis(1), 3, 5));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEncryptionTool.calibrate(Duration.ofMillis(1), 6, 5));
+        }
+    }
+
+    @Nested
+    class NeedsRehash {
+
+        @Test
+        void lowerCost() {
+            assertTrue(new BCryptEncryptionTool(12).needsRehash(ENCRYPTED));
+        }
+
+        @Test
+        void sameOrHigherCost() {
+            assertFalse(new BCryptEncryptionTool(SALT).needsRehash(ENCRYPTED));
+            assertFalse(new BCryptEncryptionTool(4).needsRehash(ENCRYPTED));
+            assertFalse(new BCryptEncryptionTool(4).needsRehash("$2b$10$7.PJwtiY7Y2heDKA7AoVF.tZnqlnekLweOYrV0qf3WOGiQ6nlKEk."));
+        }
+
+        @Test
+        void notBCrypt() {
+            assertTrue(new BCryptEncryptionTool(4).needsRehash("{plain}azerty"));
+            assertTrue(new BCryptEncryptionTool(4).needsRehash("$2a$1x$"));
+        }
+
+        @Test
+        void nullParameter() {
+            assertThrows(NullPointerException.class, () -> new BCryptEncryptionTool(4).needsRehash(null));
+        }
     }
 
     @Nested
@@ -74,6 +156,59 @@ class BCryptEncryptionToolTest {
         }
     }
 
+    @Nested
+    class Salt {
+
+        @Test
+        void newSaltPerValue() {
+            EncryptionTool enc = new BCryptEncryptionTool(4);
+            String first = enc.encrypt(CLEAR);
+            String second = enc.encrypt(CLEAR);
+            assertNotEquals(first, second);
+            assertTrue(first.startsWith("$2a$04$"));
+            assertTrue(enc.check(first, CLEAR));
+            assertTrue(enc.check(second, CLEAR));
+        }
+
+        @Test
+        void fixedSalt() {
+            EncryptionTool enc = new BCryptEncryptionTool(SALT);
+            assertEquals(enc.encrypt(CLEAR), enc.encrypt(CLEAR));
+        }
+    }
+
+    @Nested
+    class ClearArrays {
+
+        @Test
+        void charArray() {
+            BCryptEncryptionTool enc = new BCryptEncryptionTool(SALT);
+            char[] clear = CLEAR.toCharArray();
+            assertEquals(ENCRYPTED, enc.encrypt(clear));
+            assertTrue(enc.check(ENCRYPTED, clear));
+            assertFalse(enc.check(ENCRYPTED, "other".toCharArray()));
+            assertArrayEquals(CLEAR.toCharArray(), clear);
+        }
+
+        @Test
+        void byteArray() {
+            BCryptEncryptionTool enc = new BCryptEncryptionTool(4);
+            byte[] clear = CLEAR.getBytes(StandardCharsets.UTF_8);
+            assertTrue(enc.check(enc.encrypt(clear), CLEAR));
+            assertTrue(enc.check(ENCRYPTED, clear));
+            assertFalse(enc.check(ENCRYPTED, "other".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Test
+        void nullParameter() {
+            BCryptEncryptionTool enc = new BCryptEncryptionTool(4);
+            assertThrows(NullPointerException.class, () -> enc.encrypt((char[]) null));
+            assertThrows(NullPointerException.class, () -> enc.encrypt((byte[]) null));
+            assertThrows(NullPointerException.class, () -> enc.check(ENCRYPTED, (char[]) null));
+            assertThrows(NullPointerException.class, () -> enc.check((String) null, new byte[0]));
+        }
+    }
+
     @Nested
     class Check {
 
@@ -86,7 +221,7 @@ class BCryptEncryptionToolTest {
         @Test
         void nullEncrypted() {
             EncryptionTool enc = new BCryptEncryptionTool();
-            Assertions.assertThrows(NullPointerException.class, () -> enc.check(null, CLEAR));
+            Assertions.assertThrows(NullPointerException.class, () -> enc.check((String) null, CLEAR));
         }
 
         @Test
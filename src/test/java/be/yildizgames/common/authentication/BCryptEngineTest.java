@@ -0,0 +1,125 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class BCryptEngineTest {
+
+    private static final String ENCRYPTED = "$2a$05$CCCCCCCCCCCCCCCCCCCCC.E5YPO9kmyuRGyh0XouQYb4YMJKvyOeW";
+
+    private static final String UNICODE = "été 日本 😀";
+
+    private static final String UNICODE_ENCRYPTED = "$2a$06$DCq7YPn5Rq63x1Lad4cll.OwTxRJ40hfUVAp9xELI1oqIstXqzdGu";
+
+    @Nested
+    class Hash {
+
+        @Test
+        void knownValue() {
+            assertEquals(ENCRYPTED, BCryptEngine.get().hash("U*U", "$2a$05$CCCCCCCCCCCCCCCCCCCCC."));
+        }
+
+        @Test
+        void unicode() {
+            assertEquals(UNICODE_ENCRYPTED, BCryptEngine.get().hash(UNICODE, "$2a$06$DCq7YPn5Rq63x1Lad4cll."));
+            assertEquals(UNICODE_ENCRYPTED, BCryptEngine.get().hash(UNICODE.getBytes(StandardCharsets.UTF_8), "$2a$06$DCq7YPn5Rq63x1Lad4cll."));
+        }
+
+        @Test
+        void truncatedAfter72Bytes() {
+            String expected = "$2a$04$5DCebwootqWMCp59ISrMJ.AwGvs5ZsGMc2iu7Qt31dmEeW3yeXGly";
+            assertEquals(expected, BCryptEngine.get().hash("a".repeat(72), "$2a$04$5DCebwootqWMCp59ISrMJ."));
+            assertEquals(expected, BCryptEngine.get().hash("a".repeat(80), "$2a$04$5DCebwootqWMCp59ISrMJ."));
+        }
+
+        @Test
+        void otherVersions() {
+            assertEquals("$2b$" + ENCRYPTED.substring(4), BCryptEngine.get().hash("U*U", "$2b$05$CCCCCCCCCCCCCCCCCCCCC."));
+            assertEquals("$2y$" + ENCRYPTED.substring(4), BCryptEngine.get().hash("U*U", "$2y$05$CCCCCCCCCCCCCCCCCCCCC."));
+        }
+
+        @Test
+        void newSalt() {
+            String first = BCryptEngine.get().hash("U*U", 4);
+            String second = BCryptEngine.get().hash("U*U", 4);
+            assertEquals(BCryptEngine.ENCRYPTED_LENGTH, first.length());
+            assertTrue(first.startsWith("$2a$04$"));
+            assertFalse(first.equals(second));
+        }
+
+        @Test
+        void invalidCost() {
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().hash("U*U", 3));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().hash("U*U", 31));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().hash("U*U", "$2a$03$CCCCCCCCCCCCCCCCCCCCC."));
+        }
+
+        @Test
+        void invalidSalt() {
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().hash("U*U", "azerty"));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().hash("U*U", "$2x$05$CCCCCCCCCCCCCCCCCCCCC."));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().hash("U*U", "$2a$05$CCCCCCCCCCCCCCCCCCCC!."));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().hash("U*U", "$2a$05$CCCCCCCCCCCCCCCCCCCC"));
+        }
+    }
+
+    @Nested
+    class Check {
+
+        @Test
+        void happyFlow() {
+            assertTrue(BCryptEngine.get().check("U*U", ENCRYPTED));
+            assertTrue(BCryptEngine.get().check("U*U".getBytes(StandardCharsets.UTF_8), ENCRYPTED));
+            assertTrue(BCryptEngine.get().check(UNICODE, UNICODE_ENCRYPTED));
+            assertTrue(BCryptEngine.get().check("U*U", "$2y$" + ENCRYPTED.substring(4)));
+        }
+
+        @Test
+        void wrongPassword() {
+            assertFalse(BCryptEngine.get().check("U*V", ENCRYPTED));
+            assertFalse(BCryptEngine.get().check("", ENCRYPTED));
+            assertFalse(BCryptEngine.get().check("U*U".getBytes(StandardCharsets.UTF_8), UNICODE_ENCRYPTED));
+        }
+
+        @Test
+        void invalidValue() {
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().check("U*U", ENCRYPTED + "."));
+            assertThrows(IllegalArgumentException.class, () -> BCryptEngine.get().check("U*U", "{plain}U*U"));
+        }
+    }
+}
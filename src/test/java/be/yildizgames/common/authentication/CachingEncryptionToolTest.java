@@ -0,0 +1,178 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class CachingEncryptionToolTest {
+
+    private static final String SALT = "$2a$04$7.PJwtiY7Y2heDKA7AoVF.";
+
+    private final CountingTool counting = new CountingTool();
+
+    private final AtomicLong time = new AtomicLong();
+
+    private final CachingEncryptionTool tool = new CachingEncryptionTool(this.counting, Duration.ofSeconds(10), 2, this.time::get);
+
+    private final String encrypted = this.counting.encrypt("azerty");
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void invalidValues() {
+            EncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+            assertThrows(NullPointerException.class, () -> new CachingEncryptionTool(null, Duration.ofSeconds(1), 1));
+            assertThrows(NullPointerException.class, () -> new CachingEncryptionTool(bcrypt, null, 1));
+            assertThrows(IllegalArgumentException.class, () -> new CachingEncryptionTool(bcrypt, Duration.ZERO, 1));
+            assertThrows(IllegalArgumentException.class, () -> new CachingEncryptionTool(bcrypt, Duration.ofSeconds(1), 0));
+        }
+    }
+
+    @Nested
+    class Check {
+
+        @Test
+        void cached() {
+            assertTrue(tool.check("player", encrypted, "azerty"));
+            assertTrue(tool.check("player", encrypted, "azerty"));
+            assertEquals(1, counting.checks.get());
+        }
+
+        @Test
+        void withoutLogin() {
+            assertTrue(tool.check(encrypted, "azerty"));
+            assertTrue(tool.check(encrypted, "azerty"));
+            assertEquals(1, counting.checks.get());
+        }
+
+        @Test
+        void failureNotCached() {
+            assertFalse(tool.check("player", encrypted, "qwerty"));
+            assertFalse(tool.check("player", encrypted, "qwerty"));
+            assertEquals(2, counting.checks.get());
+            assertEquals(0, tool.size());
+        }
+
+        @Test
+        void otherPassword() {
+            assertTrue(tool.check("player", encrypted, "azerty"));
+            assertFalse(tool.check("player", encrypted, "qwerty"));
+            assertEquals(2, counting.checks.get());
+        }
+
+        @Test
+        void expired() {
+            assertTrue(tool.check("player", encrypted, "azerty"));
+            time.addAndGet(Duration.ofSeconds(10).toNanos());
+            assertTrue(tool.check("player", encrypted, "azerty"));
+            assertEquals(2, counting.checks.get());
+        }
+
+        @Test
+        void hashChanged() {
+            assertTrue(tool.check("player", encrypted, "azerty"));
+            String changed = new BCryptEncryptionTool(5).encrypt("qwerty");
+            assertFalse(tool.check("player", changed, "azerty"));
+            assertEquals(2, counting.checks.get());
+        }
+
+        @Test
+        void leastRecentlyUsedEvicted() {
+            tool.check("first", encrypted, "azerty");
+            tool.check("second", encrypted, "azerty");
+            tool.check("first", encrypted, "azerty");
+            tool.check("third", encrypted, "azerty");
+            assertEquals(2, tool.size());
+            assertEquals(3, counting.checks.get());
+            tool.check("first", encrypted, "azerty");
+            assertEquals(3, counting.checks.get());
+            tool.check("second", encrypted, "azerty");
+            assertEquals(4, counting.checks.get());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> tool.check(null, encrypted, "azerty"));
+            assertThrows(NullPointerException.class, () -> tool.check("player", null, "azerty"));
+            assertThrows(NullPointerException.class, () -> tool.check("player", encrypted, null));
+        }
+    }
+
+    @Nested
+    class Invalidate {
+
+        @Test
+        void login() {
+            tool.check("player", encrypted, "azerty");
+            tool.invalidate("player");
+            tool.check("player", encrypted, "azerty");
+            assertEquals(2, counting.checks.get());
+        }
+
+        @Test
+        void all() {
+            tool.check("player", encrypted, "azerty");
+            tool.check("other", encrypted, "azerty");
+            tool.invalidateAll();
+            assertEquals(0, tool.size());
+        }
+    }
+
+    /**
+     * BCrypt counting the checks.
+     */
+    private static final class CountingTool implements EncryptionTool {
+
+        private final EncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+
+        private final AtomicInteger checks = new AtomicInteger();
+
+        @Override
+        public String encrypt(String toEncrypt) {
+            return this.bcrypt.encrypt(toEncrypt);
+        }
+
+        @Override
+        public boolean check(String encrypted, String clear) {
+            this.checks.incrementAndGet();
+            return this.bcrypt.check(encrypted, clear);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class CharacterValidatorTest {
+
+    @Nested
+    class Compile {
+
+        @Test
+        void defaultPattern() {
+            assertTrue(CharacterValidator.compile(AuthenticationRules.DEFAULT.loginPattern).isTableBased());
+        }
+
+        @Test
+        void shorthand() {
+            assertTrue(CharacterValidator.compile(Pattern.compile("\\d*")).isTableBased());
+        }
+
+        @Test
+        void escapedCharacters() {
+            assertTrue(CharacterValidator.compile(Pattern.compile("[a-z\\.\\-_]+")).isTableBased());
+        }
+
+        @Test
+        void complexPattern() {
+            assertFalse(CharacterValidator.compile(Pattern.compile("[a-z]+[0-9]*")).isTableBased());
+        }
+
+        @Test
+        void negatedClass() {
+            assertFalse(CharacterValidator.compile(Pattern.compile("[^&]*")).isTableBased());
+        }
+
+        @Test
+        void withFlags() {
+            assertFalse(CharacterValidator.compile(Pattern.compile("[a-z]*", Pattern.CASE_INSENSITIVE)).isTableBased());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> CharacterValidator.compile(null));
+        }
+    }
+
+    @Nested
+    class Matches {
+
+        @Test
+        void defaultPattern() {
+            CharacterValidator v = CharacterValidator.compile(AuthenticationRules.DEFAULT.loginPattern);
+            assertTrue(v.matches("azAZ09"));
+            assertTrue(v.matches(""));
+            assertFalse(v.matches("az&"));
+            assertFalse(v.matches("é"));
+        }
+
+        @Test
+        void oneOrMore() {
+            CharacterValidator v = CharacterValidator.compile(Pattern.compile("[a-c]+"));
+            assertTrue(v.matches("abc"));
+            assertFalse(v.matches(""));
+            assertFalse(v.matches("abcd"));
+        }
+
+        @Test
+        void literalHyphen() {
+            CharacterValidator v = CharacterValidator.compile(Pattern.compile("[a-c-]*"));
+            assertTrue(v.matches("a-b"));
+            assertFalse(v.matches("a_b"));
+        }
+
+        @Test
+        void sameResultAsPattern() {
+            String[] patterns = {"[a-zA-Z0-9]*", "\\w+", "[\\d.]*", "[a-f0-9-]+", "[a-z]+[0-9]*", "[^&]*"};
+            String[] values = {"", "abc", "ABC_09", "a.b", "a-b", "1.2", "abc12", "&", "é", "a b"};
+            for (String regex : patterns) {
+                Pattern pattern = Pattern.compile(regex);
+                CharacterValidator v = CharacterValidator.compile(pattern);
+                for (String value : values) {
+                    assertTrue(pattern.matcher(value).matches() == v.matches(value), regex + " / " + value);
+                }
+            }
+        }
+    }
+
+    @Nested
+    class Vectorized {
+
+        @Test
+        void usedWhenAvailable() {
+            assumeTrue(CharacterValidator.isVectorAvailable());
+            assertTrue(CharacterValidator.compile(AuthenticationRules.DEFAULT.loginPattern).isVectorized());
+        }
+
+        @Test
+        void notUsedForPattern() {
+            assertFalse(CharacterValidator.compile(Pattern.compile("[a-z]+[0-9]*"), true).isVectorized());
+        }
+
+        @Test
+        void notUsedWithTooManyRanges() {
+            assertFalse(CharacterValidator.compile(Pattern.compile("[acegikmoqsu]*"), true).isVectorized());
+        }
+
+        @Test
+        void sameResultAsScalar() {
+            assumeTrue(CharacterValidator.isVectorAvailable());
+            String[] patterns = {"[a-zA-Z0-9]*", "\\w+", "[\\d.]*", "[a-f0-9-]+", "[ -~]*"};
+            char[] alphabet = {'a', 'z', 'A', 'Z', '0', '9', '_', '.', '-', ' ', '~', '@', 0x7F, 0x80, 'é', 0x7FFF, 0x8000, 0xFFFF, 'a' + 0x100};
+            Random random = new Random(42);
+            for (String regex : patterns) {
+                CharacterValidator scalar = CharacterValidator.compile(Pattern.compile(regex), false);
+                CharacterValidator vector = CharacterValidator.compile(Pattern.compile(regex), true);
+                assertTrue(vector.isVectorized(), regex);
+                for (int n = 0; n < 5_000; n++) {
+                    char[] value = new char[random.nextInt(150)];
+                    for (int i = 0; i < value.length; i++) {
+                        value[i] = random.nextInt(4) == 0 ? alphabet[random.nextInt(alphabet.length)] : 'b';
+                    }
+                    int offset = value.length == 0 ? 0 : random.nextInt(value.length);
+                    int length = value.length - offset;
+                    String message = regex + " / " + new String(value);
+                    assertEquals(scalar.matches(value, offset, length), vector.matches(value, offset, length), message);
+                    byte[] bytes = new byte[value.length];
+                    for (int i = 0; i < value.length; i++) {
+                        bytes[i] = (byte) value[i];
+                    }
+                    assertEquals(scalar.matches(bytes, offset, length), vector.matches(bytes, offset, length), message);
+                    ByteBuffer buffer = ByteBuffer.wrap(bytes).position(offset);
+                    assertEquals(scalar.matches(buffer), vector.matches(buffer), message);
+                    assertEquals(offset, buffer.position());
+                }
+            }
+        }
+
+        @Test
+        void invalidInTail() {
+            assumeTrue(CharacterValidator.isVectorAvailable());
+            CharacterValidator v = CharacterValidator.compile(AuthenticationRules.DEFAULT.loginPattern, true);
+            char[] value = "abcdefghijklmnopqrstuvwxyzabcdefghijklmnopqrstuvwxyzabcdefghijklmnopqrstuvwxyz!".toCharArray();
+            assertFalse(v.matches(value, 0, value.length));
+            assertTrue(v.matches(value, 0, value.length - 1));
+        }
+    }
+}
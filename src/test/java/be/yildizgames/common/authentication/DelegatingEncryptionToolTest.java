@@ -0,0 +1,134 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class DelegatingEncryptionToolTest {
+
+    private static final String BCRYPT = "$2a$04$7.PJwtiY7Y2heDKA7AoVF.";
+
+    private final BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(BCRYPT);
+
+    private final Argon2EncryptionTool argon2 = new Argon2EncryptionTool(64, 1, 1);
+
+    private final Pbkdf2EncryptionTool pbkdf2 = new Pbkdf2EncryptionTool(1000);
+
+    private DelegatingEncryptionTool tool(String encoding) {
+        return new DelegatingEncryptionTool(encoding, Map.of(
+                "2a", this.bcrypt,
+                Argon2EncryptionTool.IDENTIFIER, this.argon2,
+                Pbkdf2EncryptionTool.IDENTIFIER, this.pbkdf2));
+    }
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void unknownEncoding() {
+            assertThrows(IllegalArgumentException.class, () -> tool("md5"));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new DelegatingEncryptionTool(null, Map.of()));
+            assertThrows(NullPointerException.class, () -> new DelegatingEncryptionTool("2a", null));
+        }
+    }
+
+    @Nested
+    class Encrypt {
+
+        @Test
+        void happyFlow() {
+            assertTrue(tool(Argon2EncryptionTool.IDENTIFIER).encrypt("password").startsWith("$argon2id$"));
+            assertTrue(tool("2a").encrypt("password").startsWith("$2a$"));
+        }
+    }
+
+    @Nested
+    class Check {
+
+        @Test
+        void dispatch() {
+            DelegatingEncryptionTool tool = tool(Argon2EncryptionTool.IDENTIFIER);
+            String fromBCrypt = bcrypt.encrypt("password");
+            String fromArgon2 = argon2.encrypt("password");
+            String fromPbkdf2 = pbkdf2.encrypt("password");
+            assertTrue(tool.check(fromBCrypt, "password"));
+            assertTrue(tool.check(fromArgon2, "password"));
+            assertTrue(tool.check(fromPbkdf2, "password"));
+            assertFalse(tool.check(fromBCrypt, "other"));
+            assertFalse(tool.check(fromArgon2, "other"));
+            assertFalse(tool.check(fromPbkdf2, "other"));
+        }
+
+        @Test
+        void parsedValue() {
+            DelegatingEncryptionTool tool = tool(Argon2EncryptionTool.IDENTIFIER);
+            PasswordHash hash = PasswordHash.parse(bcrypt.encrypt("password"));
+            assertTrue(tool.check(hash, "password"));
+            assertFalse(tool.check(hash, "other"));
+        }
+
+        @Test
+        void unknownFormat() {
+            DelegatingEncryptionTool tool = tool("2a");
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$1$abc$def", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("password", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("", "password"));
+        }
+    }
+
+    @Nested
+    class NeedsRehash {
+
+        @Test
+        void otherAlgorithm() {
+            DelegatingEncryptionTool tool = tool(Argon2EncryptionTool.IDENTIFIER);
+            assertTrue(tool.needsRehash(bcrypt.encrypt("password")));
+            assertTrue(tool.needsRehash(pbkdf2.encrypt("password")));
+            assertTrue(tool.needsRehash("password"));
+            assertFalse(tool.needsRehash(argon2.encrypt("password")));
+        }
+
+        @Test
+        void weakerParameters() {
+            DelegatingEncryptionTool tool = tool(Argon2EncryptionTool.IDENTIFIER);
+            assertTrue(tool.needsRehash(new Argon2EncryptionTool(32, 1, 1).encrypt("password")));
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class EmailValidatorTest {
+
+    /**
+     * Regular expression previously used by TemporaryAccount, kept as reference for the differential tests.
+     */
+    private static final Pattern REFERENCE = Pattern.compile("(?:[a-z\\d!#$%&'*+/=?^_`{|}~-]+(?:\\.[a-z\\d!#$%&'*+/=?^_`{|}~-]+)*|\"(?:[\\x01-\\x08\\x0b\\x0c\\x0e-\\x1f\\x21\\x23-\\x5b\\x5d-\\x7f]|\\\\[\\x01-\\x09\\x0b\\x0c\\x0e-\\x7f])*\")@(?:(?:[a-z\\d](?:[a-z\\d-]*[a-z\\d])?\\.)+[a-z\\d](?:[a-z\\d-]*[a-z\\d])?|\\[(?:(?:25[0-5]|2[0-4]\\d|[01]?\\d\\d?)\\.){3}(?:25[0-5]|2[0-4]\\d|[01]?\\d\\d?|[a-z\\d-]*[a-z\\d]:(?:[\\x01-\\x08\\x0b\\x0c\\x0e-\\x1f\\x21-\\x5a\\x53-\\x7f]|\\\\[\\x01-\\x09\\x0b\\x0c\\x0e-\\x7f])+)\\])");
+
+    private static final List<String> CORPUS = List.of(
+            "me@me.com",
+            "first.last@sub.domain.org",
+            "a@b.c",
+            "x+tag@mail-server.example.com",
+            "!#$%&'*+/=?^_`{|}~-@ab.cd",
+            "\"quoted\"@me.com",
+            "\"with space and @\"@me.com",
+            "\"esc\\\"aped\"@me.com",
+            "\"\"@me.com",
+            "me@[192.168.0.1]",
+            "me@[255.255.255.255]",
+            "me@[010.1.2.3]",
+            "me@[1.2.3.tag:content]",
+            "me@[1.2.3.4a:\\ x]",
+            "me@[1.2.3.a:]]",
+            "me@[1.2.3.a:\\]",
+            "me@[1.2.3.a:\\\\]",
+            "",
+            "me",
+            "me@",
+            "@me.com",
+            "me@me",
+            "Me@me.com",
+            "me@Me.com",
+            "me.@me.com",
+            ".me@me.com",
+            "m..e@me.com",
+            "me@-me.com",
+            "me@me-.com",
+            "me@me..com",
+            "me@me.com.",
+            "me@.me.com",
+            "me@me.c-",
+            "me@@me.com",
+            "m e@me.com",
+            "\"unclosed@me.com",
+            "\"bad\"escape\"@me.com",
+            "\"tab\there\"@me.com",
+            "\"esc\\\ttab\"@me.com",
+            "me@[256.1.1.1]",
+            "me@[1.2.3]",
+            "me@[1.2.3.4",
+            "me@[1.2.3.4.5]",
+            "me@[1.2.3.1234]",
+            "me@[1.2.3.-a:x]",
+            "me@[1.2.3.a-:x]",
+            "me@[1.2.3.a:]",
+            "me@[1.2.3.a:x y]",
+            "me@[1.2.3.a:x\\ y]",
+            "mé@me.com",
+            "me@mé.com");
+
+    @Nested
+    class IsValid {
+
+        @Test
+        void happyFlow() {
+            assertTrue(EmailValidator.isValid("me@me.com"));
+        }
+
+        @Test
+        void withNull() {
+            assertFalse(EmailValidator.isValid(null));
+        }
+
+        @Test
+        void tooLong() {
+            String email = "a".repeat(EmailValidator.MAX_LENGTH - 6) + "@me.com";
+            assertFalse(EmailValidator.isValid(email));
+            assertTrue(EmailValidator.isValid(email.substring(1)));
+        }
+
+        @Test
+        void sameResultAsReferenceForCorpus() {
+            for (String email : CORPUS) {
+                assertEquals(REFERENCE.matcher(email).matches(), EmailValidator.isValid(email), email);
+            }
+        }
+
+        @Test
+        void sameResultAsReferenceForRandomValues() {
+            String[] pieces = {"a", "z", "0", "9", "1", "25", "255", "256", ".", "@", "-", "\"", "\\", "[", "]", ":",
+                    " ", "\t", "!", "Z", "\u00e9", "\u0001", "\u007f", "@[1.2.3.", "@ab.", "a:"};
+            Random random = new Random(42);
+            for (int i = 0; i < 200_000; i++) {
+                StringBuilder sb = new StringBuilder();
+                int size = random.nextInt(12);
+                for (int j = 0; j < size; j++) {
+                    sb.append(pieces[random.nextInt(pieces.length)]);
+                }
+                String email = sb.toString();
+                assertEquals(REFERENCE.matcher(email).matches(), EmailValidator.isValid(email), email);
+            }
+        }
+
+        @Test
+        void pathologicalValues() {
+            List<String> values = List.of(
+                    "\"" + "\\\\".repeat(5000),
+                    "a" + ".a".repeat(5000) + "!",
+                    "a@" + "a.".repeat(5000) + "-",
+                    "a@[1.1.1.a:" + "\\\\".repeat(5000) + "\\");
+            assertTimeoutPreemptively(Duration.ofMillis(500), () -> {
+                for (int i = 0; i < 1000; i++) {
+                    for (String value : values) {
+                        assertFalse(EmailValidator.isValid(value));
+                    }
+                }
+            });
+        }
+    }
+}
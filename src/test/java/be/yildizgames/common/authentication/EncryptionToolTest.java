@@ -0,0 +1,184 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class EncryptionToolTest {
+
+    @Nested
+    class EncryptAll {
+
+        @Test
+        void happyFlow() {
+            List<String> clear = IntStream.range(0, 1000).mapToObj(String::valueOf).collect(Collectors.toList());
+            List<String> result = new PlainTool().encryptAll(clear);
+            assertEquals(1000, result.size());
+            for (int i = 0; i < 1000; i++) {
+                assertEquals("#" + i, result.get(i));
+            }
+        }
+
+        @Test
+        void empty() {
+            assertTrue(new PlainTool().encryptAll(List.of()).isEmpty());
+        }
+
+        @Test
+        void immutable() {
+            List<String> result = new PlainTool().encryptAll(List.of("a"));
+            assertThrows(UnsupportedOperationException.class, () -> result.add("b"));
+        }
+
+        @Test
+        void dedicatedPool() {
+            PlainTool tool = new PlainTool();
+            tool.encryptAll(List.of("a", "b", "c", "d"));
+            assertTrue(tool.threads.stream().allMatch(t -> t.startsWith("bulk-hashing-")));
+        }
+
+        @Test
+        void withPool() {
+            PlainTool tool = new PlainTool();
+            ForkJoinPool pool = new ForkJoinPool(2);
+            try {
+                tool.encryptAll(List.of("a", "b", "c", "d"), pool);
+            } finally {
+                pool.shutdown();
+            }
+            assertTrue(tool.threads.stream().allMatch(t -> t.contains("ForkJoinPool-")));
+        }
+
+        @Test
+        void nullParameter() {
+            assertThrows(NullPointerException.class, () -> new PlainTool().encryptAll(null));
+            assertThrows(NullPointerException.class, () -> new PlainTool().encryptAll(List.of("a"), null));
+        }
+    }
+
+    @Nested
+    class CheckAll {
+
+        @Test
+        void happyFlow() {
+            BitSet result = new PlainTool().checkAll(List.of("#a", "#b", "#c", "#d"), List.of("a", "x", "c", "y"));
+            assertTrue(result.get(0));
+            assertFalse(result.get(1));
+            assertTrue(result.get(2));
+            assertFalse(result.get(3));
+            assertEquals(2, result.cardinality());
+        }
+
+        @Test
+        void failedCheck() {
+            BitSet result = new PlainTool().checkAll(List.of("#a", "overloaded", "closed", "#d"), List.of("a", "b", "c", "d"));
+            assertTrue(result.get(0));
+            assertFalse(result.get(1));
+            assertFalse(result.get(2));
+            assertTrue(result.get(3));
+        }
+
+        @Test
+        void nullValue() {
+            List<String> withNull = Arrays.asList("#a", null);
+            assertThrows(NullPointerException.class, () -> new PlainTool().checkAll(withNull, List.of("a", "b")));
+            assertThrows(NullPointerException.class, () -> new PlainTool().checkAll(List.of("#a", "#b"), withNull));
+        }
+
+        @Test
+        void invalidEncryptedValue() {
+            BitSet result = new PlainTool().checkAll(List.of("a", "#b"), List.of("a", "b"));
+            assertFalse(result.get(0));
+            assertTrue(result.get(1));
+        }
+
+        @Test
+        void withBCrypt() {
+            BCryptEncryptionTool tool = new BCryptEncryptionTool(4);
+            List<String> encrypted = tool.encryptAll(List.of("first", "second", "third"));
+            BitSet result = tool.checkAll(encrypted, List.of("first", "other", "third"));
+            assertEquals(BitSet.valueOf(new long[]{0b101}), result);
+        }
+
+        @Test
+        void differentSizes() {
+            assertThrows(IllegalArgumentException.class, () -> new PlainTool().checkAll(List.of("#a"), List.of("a", "b")));
+        }
+
+        @Test
+        void nullParameter() {
+            assertThrows(NullPointerException.class, () -> new PlainTool().checkAll(null, List.of()));
+            assertThrows(NullPointerException.class, () -> new PlainTool().checkAll(List.of(), null));
+            assertThrows(NullPointerException.class, () -> new PlainTool().checkAll(List.of(), List.of(), null));
+        }
+    }
+
+    /**
+     * Prefix the clear values with #, and record the threads used.
+     */
+    private static final class PlainTool implements EncryptionTool {
+
+        private final Set<String> threads = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String encrypt(String toEncrypt) {
+            this.threads.add(Thread.currentThread().getName());
+            return "#" + toEncrypt;
+        }
+
+        @Override
+        public boolean check(String encrypted, String clear) {
+            if ("overloaded".equals(encrypted)) {
+                throw new OverloadedException("Overloaded.");
+            }
+            if ("closed".equals(encrypted)) {
+                throw new IllegalStateException("Closed.");
+            }
+            if (!encrypted.startsWith("#")) {
+                throw new IllegalArgumentException("Not a plain value.");
+            }
+            return encrypted.equals("#" + clear);
+        }
+    }
+}
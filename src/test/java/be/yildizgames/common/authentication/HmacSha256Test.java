@@ -0,0 +1,102 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class HmacSha256Test {
+
+    @Nested
+    class Sign {
+
+        @Test
+        void sameAsMac() throws Exception {
+            for (int keyLength : new int[]{32, 45, 64}) {
+                byte[] secret = new byte[keyLength];
+                Arrays.fill(secret, (byte) keyLength);
+                for (int length = 0; length < 200; length += 13) {
+                    byte[] message = new byte[length + 3];
+                    for (int i = 0; i < message.length; i++) {
+                        message[i] = (byte) (i * 7);
+                    }
+                    Mac mac = Mac.getInstance("HmacSHA256");
+                    mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+                    mac.update(message, 3, length);
+                    byte[] expected = mac.doFinal();
+                    byte[] result = new byte[34];
+                    HmacSha256.get().sign(new SigningKey(1, secret), message, 3, length, result, 2);
+                    assertArrayEquals(expected, Arrays.copyOfRange(result, 2, 34));
+                }
+            }
+        }
+    }
+
+    @Nested
+    class Verify {
+
+        @Test
+        void happyFlow() {
+            SigningKey key = SigningKey.generate(1);
+            byte[] message = {1, 2, 3, 4};
+            byte[] tag = new byte[32];
+            HmacSha256.get().sign(key, message, 0, 4, tag, 0);
+            assertTrue(HmacSha256.get().verify(key, message, 0, 4, tag, 0));
+        }
+
+        @Test
+        void differentTag() {
+            SigningKey key = SigningKey.generate(1);
+            byte[] message = {1, 2, 3, 4};
+            byte[] tag = new byte[32];
+            HmacSha256.get().sign(key, message, 0, 4, tag, 0);
+            for (int i = 0; i < tag.length; i++) {
+                tag[i] ^= 1;
+                assertFalse(HmacSha256.get().verify(key, message, 0, 4, tag, 0));
+                tag[i] ^= 1;
+            }
+        }
+
+        @Test
+        void differentKey() {
+            byte[] message = {1, 2, 3, 4};
+            byte[] tag = new byte[32];
+            HmacSha256.get().sign(SigningKey.generate(1), message, 0, 4, tag, 0);
+            assertFalse(HmacSha256.get().verify(SigningKey.generate(1), message, 0, 4, tag, 0));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class InstrumentedEncryptionToolTest {
+
+    private static final String SALT = "$2a$04$7.PJwtiY7Y2heDKA7AoVF.";
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void happyFlow() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            assertSame(metrics, new InstrumentedEncryptionTool(new BCryptEncryptionTool(SALT), metrics).getMetrics());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new InstrumentedEncryptionTool(null, HashingMetrics.NONE));
+            assertThrows(NullPointerException.class, () -> new InstrumentedEncryptionTool(new BCryptEncryptionTool(SALT), null));
+        }
+    }
+
+    @Nested
+    class Measure {
+
+        @Test
+        void encrypt() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            EncryptionTool tool = new InstrumentedEncryptionTool(new BCryptEncryptionTool(SALT), metrics);
+            assertEquals(new BCryptEncryptionTool(SALT).encrypt("azerty"), tool.encrypt("azerty"));
+            assertEquals(1, metrics.getEncryptCount());
+            assertTrue(metrics.getEncryptTimes().getMax() > 0);
+            assertEquals(0, metrics.getInFlight());
+        }
+
+        @Test
+        void check() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            EncryptionTool tool = new InstrumentedEncryptionTool(new BCryptEncryptionTool(SALT), metrics);
+            String encrypted = tool.encrypt("azerty");
+            assertTrue(tool.check(encrypted, "azerty"));
+            assertFalse(tool.check(encrypted, "qwerty"));
+            assertEquals(1, metrics.getCheckMatchCount());
+            assertEquals(1, metrics.getCheckMismatchCount());
+        }
+
+        @Test
+        void failure() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            EncryptionTool tool = new InstrumentedEncryptionTool(new BCryptEncryptionTool("azerty"), metrics);
+            assertThrows(IllegalArgumentException.class, () -> tool.encrypt("azerty"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("invalid", "azerty"));
+            assertEquals(1, metrics.getEncryptFailureCount());
+            assertEquals(1, metrics.getCheckFailureCount());
+            assertEquals(0, metrics.getInFlight());
+        }
+
+        @Test
+        void noneMetrics() {
+            EncryptionTool tool = new InstrumentedEncryptionTool(new BCryptEncryptionTool(SALT), HashingMetrics.NONE);
+            assertTrue(tool.check(tool.encrypt("azerty"), "azerty"));
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class JmxHashingMetricsTest {
+
+    @Nested
+    class Record {
+
+        @Test
+        void encrypt() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            metrics.started(HashingMetrics.Operation.ENCRYPT);
+            assertEquals(1, metrics.getInFlight());
+            metrics.completed(HashingMetrics.Operation.ENCRYPT, 2_000_000, true);
+            metrics.started(HashingMetrics.Operation.ENCRYPT);
+            metrics.failed(HashingMetrics.Operation.ENCRYPT, 1_000);
+            assertEquals(0, metrics.getInFlight());
+            assertEquals(1, metrics.getEncryptCount());
+            assertEquals(1, metrics.getEncryptFailureCount());
+            assertEquals(2.0, metrics.getEncryptMaxMillis());
+            assertEquals(2.0, metrics.getEncryptMeanMillis());
+            assertEquals(0, metrics.getCheckMatchCount() + metrics.getCheckMismatchCount() + metrics.getCheckFailureCount());
+        }
+
+        @Test
+        void check() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            metrics.started(HashingMetrics.Operation.CHECK);
+            metrics.completed(HashingMetrics.Operation.CHECK, 1_000_000, true);
+            metrics.started(HashingMetrics.Operation.CHECK);
+            metrics.completed(HashingMetrics.Operation.CHECK, 3_000_000, false);
+            metrics.started(HashingMetrics.Operation.CHECK);
+            metrics.failed(HashingMetrics.Operation.CHECK, 10);
+            assertEquals(1, metrics.getCheckMatchCount());
+            assertEquals(1, metrics.getCheckMismatchCount());
+            assertEquals(1, metrics.getCheckFailureCount());
+            assertEquals(2, metrics.getCheckTimes().getCount());
+            assertEquals(3.0, metrics.getCheckMaxMillis());
+            assertEquals(0, metrics.getInFlight());
+        }
+
+        @Test
+        void waited() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            metrics.waited(0);
+            metrics.waited(5_000_000);
+            assertEquals(0, metrics.getQueueWaitMedianMillis());
+            assertEquals(5.0, metrics.getQueueWaitMaxMillis());
+        }
+
+        @Test
+        void reset() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            metrics.started(HashingMetrics.Operation.CHECK);
+            metrics.completed(HashingMetrics.Operation.CHECK, 1_000_000, true);
+            metrics.started(HashingMetrics.Operation.CHECK);
+            metrics.reset();
+            assertEquals(0, metrics.getCheckMatchCount());
+            assertEquals(0, metrics.getCheckTimes().getCount());
+            assertEquals(1, metrics.getInFlight());
+        }
+    }
+
+    @Nested
+    class Register {
+
+        @Test
+        void happyFlow() throws Exception {
+            JmxHashingMetrics metrics = new JmxHashingMetrics().register("test-register");
+            ObjectName name = new ObjectName("be.yildizgames.common.authentication:type=HashingMetrics,name=\"test-register\"");
+            try {
+                metrics.completed(HashingMetrics.Operation.ENCRYPT, 1_000_000, true);
+                assertEquals(1L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "EncryptCount"));
+                assertEquals(1.0, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "EncryptMaxMillis"));
+            } finally {
+                metrics.unregister();
+            }
+            assertFalse(ManagementFactory.getPlatformMBeanServer().isRegistered(name));
+        }
+
+        @Test
+        void alreadyRegistered() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics().register("test-duplicate");
+            try {
+                assertThrows(IllegalStateException.class, () -> new JmxHashingMetrics().register("test-duplicate"));
+            } finally {
+                metrics.unregister();
+            }
+        }
+
+        @Test
+        void unregisterNotRegistered() {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            metrics.unregister();
+            assertEquals(0, metrics.getEncryptCount());
+        }
+
+        @Test
+        void nullName() {
+            assertThrows(NullPointerException.class, () -> new JmxHashingMetrics().register(null));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class LatencyHistogramTest {
+
+    @Nested
+    class Record {
+
+        @Test
+        void empty() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            assertEquals(0, histogram.getCount());
+            assertEquals(0, histogram.getMax());
+            assertEquals(0, histogram.getMean());
+            assertEquals(0, histogram.getValueAtPercentile(99));
+        }
+
+        @Test
+        void exactBelow64() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 1; i <= 50; i++) {
+                histogram.record(i);
+            }
+            assertEquals(50, histogram.getCount());
+            assertEquals(25, histogram.getValueAtPercentile(50));
+            assertEquals(50, histogram.getValueAtPercentile(100));
+            assertEquals(1, histogram.getValueAtPercentile(0));
+            assertEquals(25.5, histogram.getMean());
+        }
+
+        @Test
+        void relativeError() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (long value = 100; value < 10_000_000_000L; value = value * 3 + 7) {
+                histogram.reset();
+                histogram.record(value);
+                histogram.record(value * 2);
+                long reported = histogram.getValueAtPercentile(50);
+                assertTrue(reported >= value, value + " reported as " + reported);
+                assertTrue(reported <= value + value / 64, value + " reported as " + reported);
+            }
+        }
+
+        @Test
+        void percentiles() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < 990; i++) {
+                histogram.record(1_000_000);
+            }
+            for (int i = 0; i < 10; i++) {
+                histogram.record(100_000_000);
+            }
+            assertTrue(histogram.getValueAtPercentile(99) < 1_020_000);
+            assertEquals(100_000_000, histogram.getValueAtPercentile(99.9));
+            assertEquals(100_000_000, histogram.getMax());
+        }
+
+        @Test
+        void outOfRange() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(-5);
+            histogram.record(Long.MAX_VALUE);
+            assertEquals(2, histogram.getCount());
+            assertEquals(0, histogram.getValueAtPercentile(50));
+            assertEquals((1L << 43) - 1, histogram.getMax());
+        }
+
+        @Test
+        void invalidPercentile() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(-1));
+            assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(100.1));
+            assertThrows(IllegalArgumentException.class, () -> histogram.getValueAtPercentile(Double.NaN));
+        }
+    }
+
+    @Nested
+    class Reset {
+
+        @Test
+        void happyFlow() {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(1000);
+            histogram.reset();
+            assertEquals(0, histogram.getCount());
+            assertEquals(0, histogram.getMax());
+            assertEquals(0, histogram.getValueAtPercentile(100));
+        }
+    }
+}
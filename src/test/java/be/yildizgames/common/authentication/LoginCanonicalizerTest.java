@@ -0,0 +1,132 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class LoginCanonicalizerTest {
+
+    @Nested
+    class Canonicalize {
+
+        @Test
+        void caseFolding() {
+            assertEquals("paul", LoginCanonicalizer.canonicalize("PaUL"));
+            assertEquals("strasse", LoginCanonicalizer.canonicalize("Straße"));
+            assertEquals(LoginCanonicalizer.canonicalize("Straße"), LoginCanonicalizer.canonicalize("STRASSE"));
+        }
+
+        @Test
+        void compatibilityForms() {
+            assertEquals("paul", LoginCanonicalizer.canonicalize("ｐａｕｌ"));
+            assertEquals("file", LoginCanonicalizer.canonicalize("ﬁle"));
+        }
+
+        @Test
+        void composedForms() {
+            assertEquals(LoginCanonicalizer.canonicalize("café"), LoginCanonicalizer.canonicalize("café"));
+        }
+
+        @Test
+        void keepConfusables() {
+            assertNotEquals(LoginCanonicalizer.canonicalize("paul"), LoginCanonicalizer.canonicalize("pau1"));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> LoginCanonicalizer.canonicalize(null));
+        }
+    }
+
+    @Nested
+    class Skeleton {
+
+        @Test
+        void ascii() {
+            String expected = LoginCanonicalizer.skeleton("paul");
+            assertEquals(expected, LoginCanonicalizer.skeleton("PAUL"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("pau1"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("PAUI"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("pau|"));
+            assertEquals(LoginCanonicalizer.skeleton("bob"), LoginCanonicalizer.skeleton("B0B"));
+        }
+
+        @Test
+        void caseVariants() {
+            String expected = LoginCanonicalizer.skeleton("mike");
+            assertEquals(expected, LoginCanonicalizer.skeleton("MIKE"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("Mike"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("mIKe"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("mlke"));
+        }
+
+        @Test
+        void otherScriptsCaseVariants() {
+            String expected = LoginCanonicalizer.skeleton("mike");
+            // Cyrillic М, І, К, Е and their lower case forms.
+            assertEquals(expected, LoginCanonicalizer.skeleton("МІКЕ"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("мікe"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("МіКе"));
+            // Greek Μ, Ι, Κ, Ε and their lower case forms.
+            assertEquals(expected, LoginCanonicalizer.skeleton("ΜΙΚΕ"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("μικε"));
+            assertEquals(expected, LoginCanonicalizer.skeleton("ΜιΚε"));
+        }
+
+        @Test
+        void sequences() {
+            assertEquals(LoginCanonicalizer.skeleton("modern"), LoginCanonicalizer.skeleton("rnodern"));
+            assertEquals(LoginCanonicalizer.skeleton("wolf"), LoginCanonicalizer.skeleton("vvolf"));
+            assertEquals(LoginCanonicalizer.skeleton("david"), LoginCanonicalizer.skeleton("clavid"));
+        }
+
+        @Test
+        void otherScripts() {
+            // Cyrillic р, а and Greek ο.
+            assertEquals(LoginCanonicalizer.skeleton("paolo"), LoginCanonicalizer.skeleton("раοlo"));
+            assertEquals(LoginCanonicalizer.skeleton("HOME"), LoginCanonicalizer.skeleton("НΟМΕ"));
+        }
+
+        @Test
+        void distinctLogins() {
+            assertNotEquals(LoginCanonicalizer.skeleton("paul"), LoginCanonicalizer.skeleton("pail"));
+            assertNotEquals(LoginCanonicalizer.skeleton("player1"), LoginCanonicalizer.skeleton("player2"));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> LoginCanonicalizer.skeleton(null));
+        }
+    }
+}
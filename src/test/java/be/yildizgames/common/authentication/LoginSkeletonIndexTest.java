@@ -0,0 +1,153 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class LoginSkeletonIndexTest {
+
+    @Nested
+    class Load {
+
+        @Test
+        void happyFlow() {
+            LoginSkeletonIndex index = new LoginSkeletonIndex();
+            index.load(List.of("paul", "john", "PAUL"));
+            assertEquals(2, index.size());
+            assertEquals(Optional.of("paul"), index.findLookAlike("pau1"));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new LoginSkeletonIndex().load(null));
+        }
+    }
+
+    @Nested
+    class Reserve {
+
+        @Test
+        void happyFlow() {
+            LoginSkeletonIndex index = new LoginSkeletonIndex();
+            assertTrue(index.isAvailable("paul"));
+            assertTrue(index.reserve("paul"));
+            assertFalse(index.isAvailable("Paul"));
+            assertFalse(index.reserve("PAU1"));
+            assertTrue(index.reserve("john"));
+            assertEquals(2, index.size());
+        }
+
+        @Test
+        void caseVariants() {
+            LoginSkeletonIndex index = new LoginSkeletonIndex();
+            assertTrue(index.reserve("mike"));
+            assertFalse(index.isAvailable("MIKE"));
+            assertFalse(index.reserve("МІКЕ"));
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        void concurrent() throws Exception {
+            LoginSkeletonIndex index = new LoginSkeletonIndex();
+            String[] lookAlikes = {"paul", "PAUL", "pau1", "PAUI", "Pau|", "рaul"};
+            AtomicInteger reserved = new AtomicInteger();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (String login : lookAlikes) {
+                    futures.add(executor.submit(() -> {
+                        if (index.reserve(login)) {
+                            reserved.incrementAndGet();
+                        }
+                    }));
+                }
+                for (Future<?> f : futures) {
+                    f.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(1, reserved.get());
+            assertEquals(1, index.size());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new LoginSkeletonIndex().reserve(null));
+        }
+    }
+
+    @Nested
+    class Release {
+
+        @Test
+        void happyFlow() {
+            LoginSkeletonIndex index = new LoginSkeletonIndex();
+            index.reserve("paul");
+            assertTrue(index.release("paul"));
+            assertTrue(index.isAvailable("PAUL"));
+        }
+
+        @Test
+        void notOwner() {
+            LoginSkeletonIndex index = new LoginSkeletonIndex();
+            index.reserve("paul");
+            assertFalse(index.release("PAUL"));
+            assertFalse(index.isAvailable("paul"));
+        }
+    }
+
+    @Nested
+    class FindLookAlike {
+
+        @Test
+        void notFound() {
+            assertEquals(Optional.empty(), new LoginSkeletonIndex().findLookAlike("paul"));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new LoginSkeletonIndex().findLookAlike(null));
+        }
+    }
+}
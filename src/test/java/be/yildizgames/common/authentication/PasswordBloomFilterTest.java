@@ -0,0 +1,144 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ReadOnlyBufferException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class PasswordBloomFilterTest {
+
+    @Nested
+    class Create {
+
+        @Test
+        void happyFlow(@TempDir Path folder) throws IOException {
+            PasswordBloomFilter f = PasswordBloomFilter.create(folder.resolve("f.bin"), 1000, 0.01);
+            // -1000 * ln(0.01) / ln(2)^2 = 9586 bits, 7 hashes.
+            assertEquals(9586, f.getBits());
+            assertEquals(7, f.getHashes());
+        }
+
+        @Test
+        void invalidSize(@TempDir Path folder) {
+            assertThrows(IllegalArgumentException.class, () -> PasswordBloomFilter.create(folder.resolve("f.bin"), 0, 0.01));
+        }
+
+        @Test
+        void invalidRate(@TempDir Path folder) {
+            assertThrows(IllegalArgumentException.class, () -> PasswordBloomFilter.create(folder.resolve("f.bin"), 10, 0));
+            assertThrows(IllegalArgumentException.class, () -> PasswordBloomFilter.create(folder.resolve("f.bin"), 10, 1));
+        }
+    }
+
+    @Nested
+    class MightContain {
+
+        @Test
+        void happyFlow(@TempDir Path folder) throws IOException {
+            PasswordBloomFilter f = PasswordBloomFilter.create(folder.resolve("f.bin"), 1000, 0.01);
+            assertFalse(f.mightContain("123456"));
+            f.add("123456");
+            f.add("qwerty");
+            assertTrue(f.mightContain("123456"));
+            assertTrue(f.mightContain("qwerty"));
+            assertFalse(f.mightContain("qwertz"));
+        }
+
+        @Test
+        void falsePositiveRate(@TempDir Path folder) throws IOException {
+            PasswordBloomFilter f = PasswordBloomFilter.create(folder.resolve("f.bin"), 10_000, 0.01);
+            for (int i = 0; i < 10_000; i++) {
+                f.add("password" + i);
+            }
+            for (int i = 0; i < 10_000; i++) {
+                assertTrue(f.mightContain("password" + i));
+            }
+            int falsePositives = 0;
+            for (int i = 0; i < 10_000; i++) {
+                if (f.mightContain("other" + i)) {
+                    falsePositives++;
+                }
+            }
+            assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+        }
+    }
+
+    @Nested
+    class Open {
+
+        @Test
+        void happyFlow(@TempDir Path folder) throws IOException {
+            Path file = folder.resolve("f.bin");
+            PasswordBloomFilter created = PasswordBloomFilter.create(file, 100, 0.01);
+            created.add("azerty");
+            created.force();
+            PasswordBloomFilter f = PasswordBloomFilter.open(file);
+            assertEquals(created.getBits(), f.getBits());
+            assertEquals(created.getHashes(), f.getHashes());
+            assertTrue(f.mightContain("azerty"));
+            assertFalse(f.mightContain("ytreza"));
+        }
+
+        @Test
+        void readOnly(@TempDir Path folder) throws IOException {
+            Path file = folder.resolve("f.bin");
+            PasswordBloomFilter.create(file, 100, 0.01).force();
+            PasswordBloomFilter f = PasswordBloomFilter.open(file);
+            assertThrows(ReadOnlyBufferException.class, () -> f.add("azerty"));
+        }
+
+        @Test
+        void notAFilter(@TempDir Path folder) throws IOException {
+            Path file = folder.resolve("f.bin");
+            Files.writeString(file, "this is not a filter file");
+            assertThrows(IllegalArgumentException.class, () -> PasswordBloomFilter.open(file));
+        }
+
+        @Test
+        void truncated(@TempDir Path folder) throws IOException {
+            Path file = folder.resolve("f.bin");
+            PasswordBloomFilter.create(file, 1000, 0.01).force();
+            byte[] content = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(content, 100));
+            assertThrows(IllegalArgumentException.class, () -> PasswordBloomFilter.open(file));
+        }
+    }
+}
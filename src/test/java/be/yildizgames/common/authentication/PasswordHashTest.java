@@ -0,0 +1,213 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class PasswordHashTest {
+
+    private static final String ENCRYPTED = "$2a$05$CCCCCCCCCCCCCCCCCCCCC.E5YPO9kmyuRGyh0XouQYb4YMJKvyOeW";
+
+    @Nested
+    class Parse {
+
+        @Test
+        void happyFlow() {
+            PasswordHash hash = PasswordHash.parse(ENCRYPTED);
+            assertEquals('a', hash.getVersion());
+            assertEquals(5, hash.getCost());
+            assertEquals(ENCRYPTED, hash.getValue());
+            assertEquals(ENCRYPTED, hash.toString());
+        }
+
+        @Test
+        void otherVersions() {
+            assertEquals("$2b$" + ENCRYPTED.substring(4), PasswordHash.parse("$2b$" + ENCRYPTED.substring(4)).getValue());
+            assertEquals('y', PasswordHash.parse("$2y$" + ENCRYPTED.substring(4)).getVersion());
+        }
+
+        @Test
+        void generated() {
+            for (int i = 0; i < 20; i++) {
+                String encrypted = BCryptEngine.get().hash("password" + i, 4);
+                assertEquals(encrypted, PasswordHash.parse(encrypted).getValue());
+            }
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> PasswordHash.parse(null));
+        }
+
+        @Test
+        void invalid() {
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse(ENCRYPTED.substring(1)));
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse("$2x$" + ENCRYPTED.substring(4)));
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse("$2a$03$" + ENCRYPTED.substring(7)));
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse("$2a$1a$" + ENCRYPTED.substring(7)));
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse(ENCRYPTED.replace('E', '!')));
+        }
+
+        @Test
+        void notCanonical() {
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse(ENCRYPTED.replace("C.E5", "CDE5")));
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.parse(ENCRYPTED.substring(0, 59) + "X"));
+        }
+    }
+
+    @Nested
+    class Bytes {
+
+        @Test
+        void roundTrip() {
+            PasswordHash hash = PasswordHash.parse(ENCRYPTED);
+            byte[] bytes = hash.toBytes();
+            assertEquals(PasswordHash.BYTES_LENGTH, bytes.length);
+            assertEquals(hash, PasswordHash.fromBytes(bytes));
+            assertEquals(ENCRYPTED, PasswordHash.fromBytes(bytes).getValue());
+        }
+
+        @Test
+        void layout() {
+            byte[] bytes = PasswordHash.parse("$2y$12$" + ENCRYPTED.substring(7)).toBytes();
+            assertEquals((2 << 5) | 12, bytes[0]);
+            byte[] salt = new byte[16];
+            BCryptEngine.decode(ENCRYPTED, 7, salt, 16);
+            for (int i = 0; i < salt.length; i++) {
+                assertEquals(salt[i], bytes[i + 1]);
+            }
+        }
+
+        @Test
+        void copy() {
+            PasswordHash hash = PasswordHash.parse(ENCRYPTED);
+            hash.toBytes()[5] = 0;
+            assertArrayEquals(PasswordHash.parse(ENCRYPTED).toBytes(), hash.toBytes());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> PasswordHash.fromBytes(null));
+        }
+
+        @Test
+        void invalid() {
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.fromBytes(new byte[39]));
+            byte[] bytes = PasswordHash.parse(ENCRYPTED).toBytes();
+            bytes[0] = (byte) (3 << 5 | 5);
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.fromBytes(bytes));
+            bytes[0] = 3;
+            assertThrows(IllegalArgumentException.class, () -> PasswordHash.fromBytes(bytes));
+        }
+    }
+
+    @Nested
+    class Equality {
+
+        @Test
+        void sameValue() {
+            PasswordHash first = PasswordHash.parse(ENCRYPTED);
+            PasswordHash second = PasswordHash.parse(ENCRYPTED);
+            assertEquals(first, second);
+            assertEquals(first.hashCode(), second.hashCode());
+        }
+
+        @Test
+        void differentValue() {
+            PasswordHash hash = PasswordHash.parse(ENCRYPTED);
+            assertNotEquals(hash, PasswordHash.parse("$2b$" + ENCRYPTED.substring(4)));
+            assertNotEquals(hash, PasswordHash.parse(ENCRYPTED.substring(0, 58) + "aW"));
+            assertNotEquals(hash, PasswordHash.parse(ENCRYPTED.replace("CCCC.", "CCCA.")));
+            assertNotEquals(hash, null);
+            assertNotEquals(hash, ENCRYPTED);
+        }
+    }
+
+    @Nested
+    class Check {
+
+        @Test
+        void bcrypt() {
+            BCryptEncryptionTool tool = new BCryptEncryptionTool(4);
+            PasswordHash hash = PasswordHash.parse(ENCRYPTED);
+            assertTrue(tool.check(hash, "U*U"));
+            assertTrue(tool.check(hash, "U*U".toCharArray()));
+            assertTrue(tool.check(hash, "U*U".getBytes(StandardCharsets.UTF_8)));
+            assertFalse(tool.check(hash, "U*V"));
+            assertFalse(tool.check(hash, "U*V".toCharArray()));
+            assertFalse(tool.check(hash, "U*V".getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Test
+        void hashDifference() {
+            BCryptEncryptionTool tool = new BCryptEncryptionTool(4);
+            String encrypted = tool.encrypt("password");
+            for (int i = BCryptEngine.SALT_VALUE_LENGTH; i < BCryptEngine.ENCRYPTED_LENGTH - 1; i++) {
+                char c = encrypted.charAt(i) == 'A' ? 'B' : 'A';
+                PasswordHash changed = PasswordHash.parse(encrypted.substring(0, i) + c + encrypted.substring(i + 1));
+                assertFalse(tool.check(changed, "password"));
+            }
+            assertTrue(tool.check(PasswordHash.parse(encrypted), "password"));
+        }
+
+        @Test
+        void defaultConvertsBack() {
+            EncryptionTool tool = new EncryptionTool() {
+
+                @Override
+                public String encrypt(String toEncrypt) {
+                    return toEncrypt;
+                }
+
+                @Override
+                public boolean check(String encrypted, String clear) {
+                    return ENCRYPTED.equals(encrypted) && "U*U".equals(clear);
+                }
+            };
+            assertTrue(tool.check(PasswordHash.parse(ENCRYPTED), "U*U"));
+        }
+
+        @Test
+        void withNull() {
+            BCryptEncryptionTool tool = new BCryptEncryptionTool(4);
+            assertThrows(NullPointerException.class, () -> tool.check((PasswordHash) null, "U*U"));
+            assertThrows(NullPointerException.class, () -> tool.check(PasswordHash.parse(ENCRYPTED), (String) null));
+        }
+    }
+}
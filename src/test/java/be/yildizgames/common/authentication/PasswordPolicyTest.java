@@ -0,0 +1,198 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class PasswordPolicyTest {
+
+    @Nested
+    class None {
+
+        @Test
+        void acceptAll() {
+            assertSame(ValidationResult.VALID, PasswordPolicy.NONE.evaluate(""));
+            assertSame(ValidationResult.VALID, PasswordPolicy.NONE.evaluate("a"));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> PasswordPolicy.NONE.withBreachedPasswords(null));
+        }
+    }
+
+    @Nested
+    class MinLength {
+
+        @Test
+        void happyFlow() {
+            PasswordPolicy p = PasswordPolicy.NONE.withMinLength(8);
+            assertTrue(p.evaluate("abcdefgh").isValid());
+            assertEquals(ValidationResult.of(AuthenticationError.PASS_TOO_SHORT), p.evaluate("abcdefg"));
+        }
+
+        @Test
+        void negative() {
+            assertThrows(IllegalArgumentException.class, () -> PasswordPolicy.NONE.withMinLength(-1));
+        }
+    }
+
+    @Nested
+    class CharacterClasses {
+
+        @Test
+        void happyFlow() {
+            PasswordPolicy p = PasswordPolicy.NONE.withCharacterClasses(1, 1, 1, 1);
+            assertTrue(p.evaluate("aA1!").isValid());
+            assertTrue(p.evaluate("aA1é").isValid());
+        }
+
+        @Test
+        void missingClass() {
+            PasswordPolicy p = PasswordPolicy.NONE.withCharacterClasses(1, 1, 1, 1);
+            ValidationResult weak = ValidationResult.of(AuthenticationError.PASS_TOO_WEAK);
+            assertEquals(weak, p.evaluate("A1!"));
+            assertEquals(weak, p.evaluate("a1!"));
+            assertEquals(weak, p.evaluate("aA!"));
+            assertEquals(weak, p.evaluate("aA1"));
+        }
+
+        @Test
+        void negative() {
+            assertThrows(IllegalArgumentException.class, () -> PasswordPolicy.NONE.withCharacterClasses(0, 0, -1, 0));
+        }
+    }
+
+    @Nested
+    class MinEntropy {
+
+        @Test
+        void happyFlow() {
+            PasswordPolicy p = PasswordPolicy.NONE.withMinEntropy(40);
+            // 10 * log2(26) = 47 bits.
+            assertTrue(p.evaluate("abcdefghij").isValid());
+            // 10 * log2(10) = 33 bits.
+            assertEquals(ValidationResult.of(AuthenticationError.PASS_TOO_WEAK), p.evaluate("0123456789"));
+            assertEquals(ValidationResult.of(AuthenticationError.PASS_TOO_WEAK), p.evaluate(""));
+        }
+
+        @Test
+        void invalid() {
+            assertThrows(IllegalArgumentException.class, () -> PasswordPolicy.NONE.withMinEntropy(-1));
+            assertThrows(IllegalArgumentException.class, () -> PasswordPolicy.NONE.withMinEntropy(Double.NaN));
+        }
+    }
+
+    @Nested
+    class Breached {
+
+        @Test
+        void happyFlow(@TempDir Path folder) throws IOException {
+            PasswordBloomFilter filter = PasswordBloomFilter.create(folder.resolve("breached.bin"), 100, 0.001);
+            filter.add("password");
+            PasswordPolicy p = PasswordPolicy.NONE.withBreachedPasswords(filter);
+            assertEquals(ValidationResult.of(AuthenticationError.PASS_BREACHED), p.evaluate("password"));
+            assertTrue(p.evaluate("8bCx!pQ2z").isValid());
+        }
+
+        @Test
+        void allRules(@TempDir Path folder) throws IOException {
+            PasswordBloomFilter filter = PasswordBloomFilter.create(folder.resolve("breached.bin"), 100, 0.001);
+            filter.add("abc");
+            PasswordPolicy p = PasswordPolicy.NONE
+                    .withMinLength(6)
+                    .withCharacterClasses(0, 1, 0, 0)
+                    .withBreachedPasswords(filter);
+            assertEquals(ValidationResult.of(AuthenticationError.PASS_TOO_SHORT)
+                    .with(AuthenticationError.PASS_TOO_WEAK)
+                    .with(AuthenticationError.PASS_BREACHED), p.evaluate("abc"));
+        }
+    }
+
+    @Nested
+    class Checker {
+
+        private final PasswordPolicy policy = PasswordPolicy.NONE.withCharacterClasses(0, 1, 1, 0);
+
+        private final AuthenticationRules rules = new AuthenticationRules(20, 20, 3, 3, Pattern.compile("[a-zA-Z0-9]*"), Pattern.compile("[a-zA-Z0-9]*"));
+
+        @Test
+        void allInputs() {
+            SimpleAuthenticationChecker c = new SimpleAuthenticationChecker(this.rules, this.policy);
+            ValidationResult weak = ValidationResult.of(AuthenticationError.PASS_TOO_WEAK);
+            assertEquals(weak, c.validate("login", "abcdef"));
+            assertEquals(weak, c.validateChars("login".toCharArray(), "abcdef".toCharArray()));
+            assertEquals(weak, c.validateAscii(ascii("login"), ascii("abcdef")));
+            byte[] data = "loginabcdef".getBytes(StandardCharsets.US_ASCII);
+            assertEquals(weak, c.validateAscii(data, 0, 5, 5, 6));
+            assertTrue(c.validate("login", "Abcde1").isValid());
+            assertTrue(c.validateChars("login".toCharArray(), "Abcde1".toCharArray()).isValid());
+            assertTrue(c.validateAscii(ascii("login"), ascii("Abcde1")).isValid());
+            data = "loginAbcde1".getBytes(StandardCharsets.US_ASCII);
+            assertTrue(c.validateAscii(data, 0, 5, 5, 6).isValid());
+        }
+
+        @Test
+        void notAppliedOnInvalidPassword() {
+            SimpleAuthenticationChecker c = new SimpleAuthenticationChecker(this.rules, this.policy);
+            assertEquals(ValidationResult.of(AuthenticationError.INVALID_PASS_CHAR), c.validate("login", "abc!"));
+        }
+
+        @Test
+        void reloadKeepsPolicy() {
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(this.rules, this.policy);
+            c.reload(AuthenticationRules.DEFAULT);
+            assertSame(this.policy, c.getPolicy());
+            c.reload(AuthenticationRules.DEFAULT, PasswordPolicy.NONE);
+            assertSame(PasswordPolicy.NONE, c.getPolicy());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new SimpleAuthenticationChecker(this.rules, null));
+        }
+
+        private ByteBuffer ascii(String value) {
+            return ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class Pbkdf2EncryptionToolTest {
+
+    /**
+     * Produced by a reference implementation.
+     */
+    private static final String ENCRYPTED = "$pbkdf2-sha256$i=1000$c2FsdHNhbHRzYWx0c2FsdA$8nX7hwFEzIB8aPajJTYK8weHQc5Ngz0pFVAKvSu4jQA";
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void defaultParameters() {
+            assertEquals(600_000, new Pbkdf2EncryptionTool().getIterations());
+        }
+
+        @Test
+        void invalidIterations() {
+            assertThrows(IllegalArgumentException.class, () -> new Pbkdf2EncryptionTool(0));
+        }
+    }
+
+    @Nested
+    class Encrypt {
+
+        @Test
+        void happyFlow() {
+            Pbkdf2EncryptionTool tool = new Pbkdf2EncryptionTool(1000);
+            String encrypted = tool.encrypt("password");
+            assertTrue(encrypted.startsWith("$pbkdf2-sha256$i=1000$"));
+            assertTrue(tool.check(encrypted, "password"));
+        }
+
+        @Test
+        void saltPerValue() {
+            Pbkdf2EncryptionTool tool = new Pbkdf2EncryptionTool(1000);
+            assertNotEquals(tool.encrypt("password"), tool.encrypt("password"));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new Pbkdf2EncryptionTool(1000).encrypt(null));
+        }
+    }
+
+    @Nested
+    class Check {
+
+        @Test
+        void referenceValue() {
+            Pbkdf2EncryptionTool tool = new Pbkdf2EncryptionTool(1);
+            assertTrue(tool.check(ENCRYPTED, "password"));
+            assertFalse(tool.check(ENCRYPTED, "passwore"));
+        }
+
+        @Test
+        void invalidValue() {
+            Pbkdf2EncryptionTool tool = new Pbkdf2EncryptionTool(1);
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$pbkdf2-sha1$i=1000$c2FsdA$8nX7", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$pbkdf2-sha256$i=0$c2FsdA$8nX7", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$pbkdf2-sha256$1000$c2FsdA$8nX7", "password"));
+            assertThrows(IllegalArgumentException.class, () -> tool.check("$pbkdf2-sha256$i=1000$c2FsdA$", "password"));
+        }
+
+        @Test
+        void withNull() {
+            Pbkdf2EncryptionTool tool = new Pbkdf2EncryptionTool(1);
+            assertThrows(NullPointerException.class, () -> tool.check((String) null, "password"));
+            assertThrows(NullPointerException.class, () -> tool.check(ENCRYPTED, null));
+        }
+    }
+
+    @Nested
+    class NeedsRehash {
+
+        @Test
+        void happyFlow() {
+            assertFalse(new Pbkdf2EncryptionTool(1000).needsRehash(ENCRYPTED));
+            assertTrue(new Pbkdf2EncryptionTool(1001).needsRehash(ENCRYPTED));
+            assertTrue(new Pbkdf2EncryptionTool(1).needsRehash("$2a$10$7.PJwtiY7Y2heDKA7AoVF."));
+        }
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class PooledEncryptionToolTest {
+
+    private static final String SALT = "$2a$04$7.PJwtiY7Y2heDKA7AoVF.";
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void happyFlow() {
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(new BCryptEncryptionTool(SALT))) {
+                assertEquals(Runtime.getRuntime().availableProcessors(), tool.getThreads());
+            }
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new PooledEncryptionTool(null));
+            assertThrows(NullPointerException.class, () -> new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1, null));
+        }
+
+        @Test
+        void invalidThreads() {
+            assertThrows(IllegalArgumentException.class, () -> new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 0, 1));
+        }
+
+        @Test
+        void invalidQueue() {
+            assertThrows(IllegalArgumentException.class, () -> new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 0));
+        }
+    }
+
+    @Nested
+    class EncryptAsync {
+
+        @Test
+        void happyFlow() throws Exception {
+            BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(bcrypt, 2, 10)) {
+                assertEquals(bcrypt.encrypt("azerty"), tool.encryptAsync("azerty").get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        @Test
+        void waitReported() throws Exception {
+            JmxHashingMetrics metrics = new JmxHashingMetrics();
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 10, metrics)) {
+                tool.encryptAsync("azerty").get(10, TimeUnit.SECONDS);
+                tool.checkAsync("invalid", "azerty").handle((r, e) -> r).get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(2, metrics.getWaitTimes().getCount());
+        }
+
+        @Test
+        void runOnHashingThread() throws Exception {
+            EncryptionTool threadName = new EncryptionTool() {
+                @Override
+                public String encrypt(String toEncrypt) {
+                    return Thread.currentThread().getName();
+                }
+
+                @Override
+                public boolean check(String encrypted, String clear) {
+                    return true;
+                }
+            };
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(threadName, 1, 1)) {
+                assertTrue(tool.encryptAsync("azerty").get(10, TimeUnit.SECONDS).startsWith("hashing-"));
+                assertEquals(Thread.currentThread().getName(), tool.encrypt("azerty"));
+            }
+        }
+
+        @Test
+        void withNull() {
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1)) {
+                assertThrows(NullPointerException.class, () -> tool.encryptAsync(null));
+            }
+        }
+    }
+
+    @Nested
+    class CheckAsync {
+
+        @Test
+        void happyFlow() throws Exception {
+            BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+            String encrypted = bcrypt.encrypt("azerty");
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(bcrypt, 2, 10)) {
+                assertTrue(tool.checkAsync(encrypted, "azerty").get(10, TimeUnit.SECONDS));
+                assertFalse(tool.checkAsync(encrypted, "qwerty").get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        @Test
+        void failure() {
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1)) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> tool.checkAsync("invalid", "azerty").get(10, TimeUnit.SECONDS));
+                assertInstanceOf(IllegalArgumentException.class, e.getCause());
+            }
+        }
+
+        @Test
+        void withNull() {
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1)) {
+                assertThrows(NullPointerException.class, () -> tool.checkAsync(null, "azerty"));
+                assertThrows(NullPointerException.class, () -> tool.checkAsync("azerty", null));
+            }
+        }
+    }
+
+    @Nested
+    class Rejection {
+
+        @Test
+        void queueFull() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            EncryptionTool blocking = new EncryptionTool() {
+                @Override
+                public String encrypt(String toEncrypt) {
+                    started.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return toEncrypt;
+                }
+
+                @Override
+                public boolean check(String encrypted, String clear) {
+                    return true;
+                }
+            };
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(blocking, 1, 1)) {
+                CompletableFuture<String> running = tool.encryptAsync("running");
+                started.await();
+                CompletableFuture<String> queued = tool.encryptAsync("queued");
+                assertEquals(1, tool.getQueuedRequests());
+                CompletableFuture<String> rejected = tool.encryptAsync("rejected");
+                ExecutionException e = assertThrows(ExecutionException.class, rejected::get);
+                assertInstanceOf(RejectedExecutionException.class, e.getCause());
+                release.countDown();
+                assertEquals("running", running.get(10, TimeUnit.SECONDS));
+                assertEquals("queued", queued.get(10, TimeUnit.SECONDS));
+            }
+        }
+
+        @Test
+        void closed() {
+            PooledEncryptionTool tool = new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1);
+            tool.close();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> tool.encryptAsync("azerty").get());
+            assertInstanceOf(RejectedExecutionException.class, e.getCause());
+        }
+    }
+
+    @Nested
+    class Batch {
+
+        @Test
+        void runOnHashingAndCallingThreads() {
+            EncryptionTool threadName = new EncryptionTool() {
+                @Override
+                public String encrypt(String toEncrypt) {
+                    return Thread.currentThread().getName();
+                }
+
+                @Override
+                public boolean check(String encrypted, String clear) {
+                    return !"invalid".equals(encrypted);
+                }
+            };
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(threadName, 2, 1)) {
+                List<String> result = tool.encryptAll(Collections.nCopies(100, "azerty"));
+                assertEquals(100, result.size());
+                String caller = Thread.currentThread().getName();
+                assertTrue(result.stream().allMatch(n -> n.startsWith("hashing-") || n.equals(caller)));
+                BitSet matches = tool.checkAll(List.of("a", "invalid", "b"), List.of("a", "b", "c"));
+                assertEquals(BitSet.valueOf(new long[]{0b101}), matches);
+            }
+        }
+
+        @Test
+        void happyFlow() {
+            BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(bcrypt, 2, 1)) {
+                List<String> encrypted = tool.encryptAll(List.of("azerty", "qwerty", "abc"));
+                assertEquals(List.of(bcrypt.encrypt("azerty"), bcrypt.encrypt("qwerty"), bcrypt.encrypt("abc")), encrypted);
+                BitSet matches = tool.checkAll(encrypted, List.of("azerty", "abc", "abc"));
+                assertEquals(BitSet.valueOf(new long[]{0b101}), matches);
+            }
+        }
+
+        @Test
+        void fromHashingThread() throws Exception {
+            BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(bcrypt, 1, 8)) {
+                List<String> encrypted = tool.encryptAsync("azerty")
+                        .thenApply(h -> tool.encryptAll(List.of("a", "b")))
+                        .get(10, TimeUnit.SECONDS);
+                assertEquals(List.of(bcrypt.encrypt("a"), bcrypt.encrypt("b")), encrypted);
+                BitSet matches = tool.checkAsync(encrypted.get(0), "a")
+                        .thenApply(h -> tool.checkAll(encrypted, List.of("a", "c")))
+                        .get(10, TimeUnit.SECONDS);
+                assertEquals(BitSet.valueOf(new long[]{0b1}), matches);
+            }
+        }
+
+        @Test
+        void overlappingFromHashingThreads() throws Exception {
+            BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(SALT);
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(bcrypt, 2, 8)) {
+                List<CompletableFuture<List<String>>> batches = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    batches.add(tool.encryptAsync("azerty").thenApply(h -> tool.encryptAll(Collections.nCopies(10, "a"))));
+                }
+                for (CompletableFuture<List<String>> batch : batches) {
+                    assertEquals(10, batch.get(10, TimeUnit.SECONDS).size());
+                }
+            }
+        }
+
+        @Test
+        void closed() {
+            PooledEncryptionTool tool = new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1);
+            tool.close();
+            assertThrows(RejectedExecutionException.class, () -> tool.encryptAll(List.of("azerty")));
+            assertTrue(tool.checkAll(List.of("azerty"), List.of("azerty")).isEmpty());
+        }
+
+        @Test
+        void withNull() {
+            try (PooledEncryptionTool tool = new PooledEncryptionTool(new BCryptEncryptionTool(SALT), 1, 1)) {
+                assertThrows(NullPointerException.class, () -> tool.encryptAll(Arrays.asList("azerty", null)));
+                assertThrows(NullPointerException.class, () -> tool.checkAll(List.of("azerty"), Arrays.asList((String) null)));
+            }
+        }
+    }
+}
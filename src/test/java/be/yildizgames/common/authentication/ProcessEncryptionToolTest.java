@@ -0,0 +1,183 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class ProcessEncryptionToolTest {
+
+    private static final String SETTINGS = "bcrypt-4";
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void happyFlow() {
+            try (ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 2, List.of("-Xmx32m"))) {
+                assertEquals(2, tool.getWorkerPids().size());
+                assertFalse(tool.getWorkerPids().contains(ProcessHandle.current().pid()));
+            }
+        }
+
+        @Test
+        void invalidValues() {
+            assertThrows(NullPointerException.class, () -> new ProcessEncryptionTool(null, 1));
+            assertThrows(NullPointerException.class, () -> new ProcessEncryptionTool(SETTINGS, 1, null));
+            assertThrows(IllegalArgumentException.class, () -> new ProcessEncryptionTool("md5", 1));
+            assertThrows(IllegalArgumentException.class, () -> new ProcessEncryptionTool("bcrypt-x", 1));
+            assertThrows(IllegalArgumentException.class, () -> new ProcessEncryptionTool(SETTINGS, 0));
+        }
+    }
+
+    @Nested
+    class Hashing {
+
+        @Test
+        void happyFlow() {
+            try (ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 1)) {
+                String encrypted = tool.encrypt("azerty");
+                assertTrue(encrypted.startsWith("$2a$04$"));
+                assertTrue(new BCryptEncryptionTool(4).check(encrypted, "azerty"));
+                assertTrue(tool.check(encrypted, "azerty"));
+                assertFalse(tool.check(encrypted, "qwerty"));
+            }
+        }
+
+        @Test
+        void otherAlgorithms() {
+            try (ProcessEncryptionTool tool = new ProcessEncryptionTool("pbkdf2-1000", 1)) {
+                assertTrue(tool.encrypt("azerty").startsWith("$pbkdf2-sha256$i=1000$"));
+                assertTrue(tool.check(new Argon2EncryptionTool(64, 1, 1).encrypt("azerty"), "azerty"));
+                assertTrue(tool.check(new BCryptEncryptionTool(4).encrypt("été"), "été"));
+            }
+        }
+
+        @Test
+        void pipelined() throws Exception {
+            try (ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 2)) {
+                List<CompletableFuture<String>> futures = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    futures.add(tool.encryptAsync("password" + i));
+                }
+                BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(4);
+                for (int i = 0; i < 20; i++) {
+                    assertTrue(bcrypt.check(futures.get(i).get(30, TimeUnit.SECONDS), "password" + i));
+                }
+                assertEquals(0, tool.getPendingRequests());
+            }
+        }
+
+        @Test
+        void invalidValue() {
+            try (ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 1)) {
+                assertThrows(IllegalArgumentException.class, () -> tool.check("invalid", "azerty"));
+                assertThrows(IllegalArgumentException.class, () -> tool.encrypt("a".repeat(70000)));
+                assertTrue(tool.check(tool.encrypt("azerty"), "azerty"));
+            }
+        }
+
+        @Test
+        void nullParameter() {
+            try (ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 1)) {
+                assertThrows(NullPointerException.class, () -> tool.encrypt(null));
+                assertThrows(NullPointerException.class, () -> tool.check((String) null, "azerty"));
+                assertThrows(NullPointerException.class, () -> tool.check("azerty", null));
+            }
+        }
+    }
+
+    @Nested
+    class Workers {
+
+        @Test
+        void restartedAfterStop() throws Exception {
+            try (ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 1)) {
+                long pid = tool.getWorkerPids().get(0);
+                ProcessHandle worker = ProcessHandle.of(pid).orElseThrow();
+                worker.destroyForcibly();
+                worker.onExit().get(10, TimeUnit.SECONDS);
+                while (!tool.getWorkerPids().isEmpty()) {
+                    Thread.sleep(10);
+                }
+                assertTrue(tool.check(tool.encrypt("azerty"), "azerty"));
+                assertEquals(1, tool.getWorkerPids().size());
+                assertNotEquals(pid, tool.getWorkerPids().get(0));
+            }
+        }
+
+        @Test
+        void closed() {
+            ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 1);
+            long pid = tool.getWorkerPids().get(0);
+            tool.close();
+            ExecutionException e = assertThrows(ExecutionException.class, () -> tool.encryptAsync("azerty").get());
+            assertInstanceOf(IllegalStateException.class, e.getCause());
+            assertFalse(ProcessHandle.of(pid).map(ProcessHandle::isAlive).orElse(false));
+        }
+    }
+
+    @Nested
+    class Batch {
+
+        @Test
+        void happyFlow() {
+            BCryptEncryptionTool bcrypt = new BCryptEncryptionTool(4);
+            try (ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 2)) {
+                List<String> encrypted = tool.encryptAll(List.of("azerty", "qwerty", "abc"));
+                assertEquals(3, encrypted.size());
+                assertTrue(bcrypt.check(encrypted.get(1), "qwerty"));
+                BitSet matches = tool.checkAll(List.of(encrypted.get(0), "invalid", encrypted.get(2)), List.of("azerty", "qwerty", "abc"));
+                assertEquals(BitSet.valueOf(new long[]{0b101}), matches);
+            }
+        }
+
+        @Test
+        void closed() {
+            ProcessEncryptionTool tool = new ProcessEncryptionTool(SETTINGS, 1);
+            tool.close();
+            assertThrows(IllegalStateException.class, () -> tool.encryptAll(List.of("azerty")));
+            assertTrue(tool.checkAll(List.of("azerty"), List.of("azerty")).isEmpty());
+        }
+    }
+}
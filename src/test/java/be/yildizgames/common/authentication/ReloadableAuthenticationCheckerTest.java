@@ -0,0 +1,151 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class ReloadableAuthenticationCheckerTest {
+
+    private static final AuthenticationRules DIGITS = new AuthenticationRules(10, 10, 3, 3, Pattern.compile("\\d*"), Pattern.compile("\\d*"));
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void happyFlow() {
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(AuthenticationRules.DEFAULT);
+            assertSame(AuthenticationRules.DEFAULT, c.getRules());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new ReloadableAuthenticationChecker(null));
+        }
+    }
+
+    @Nested
+    class Reload {
+
+        @Test
+        void happyFlow() {
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(AuthenticationRules.DEFAULT);
+            assertTrue(c.validate("abcd", "abcdef").isValid());
+            c.reload(DIGITS);
+            assertSame(DIGITS, c.getRules());
+            assertEquals(ValidationResult.of(AuthenticationError.INVALID_LOGIN_CHAR).with(AuthenticationError.INVALID_PASS_CHAR), c.validate("abcd", "abcdef"));
+            assertTrue(c.validate("1234", "123456").isValid());
+            assertTrue(c.validateChars("1234".toCharArray(), "123456".toCharArray()).isValid());
+        }
+
+        @Test
+        void withNull() {
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(AuthenticationRules.DEFAULT);
+            assertThrows(NullPointerException.class, () -> c.reload((AuthenticationRules) null));
+            assertSame(AuthenticationRules.DEFAULT, c.getRules());
+        }
+
+        @Test
+        void whileValidating() throws InterruptedException {
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(AuthenticationRules.DEFAULT);
+            Thread reloader = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    c.reload(i % 2 == 0 ? DIGITS : AuthenticationRules.DEFAULT);
+                }
+            });
+            reloader.start();
+            while (reloader.isAlive()) {
+                assertTrue(c.validate("1234", "123456").isValid());
+            }
+            reloader.join();
+        }
+
+        @Test
+        void policyWhileReloadingRules() throws InterruptedException {
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(AuthenticationRules.DEFAULT);
+            Thread reloader = new Thread(() -> {
+                for (int i = 0; i < 200_000; i++) {
+                    c.reload(i % 2 == 0 ? DIGITS : AuthenticationRules.DEFAULT);
+                }
+            });
+            reloader.start();
+            int length = 0;
+            while (reloader.isAlive()) {
+                PasswordPolicy policy = PasswordPolicy.NONE.withMinLength(++length % 100);
+                c.reload(AuthenticationRules.DEFAULT, policy);
+                assertSame(policy, c.getPolicy());
+            }
+            reloader.join();
+        }
+    }
+
+    @Nested
+    class ReloadFile {
+
+        @Test
+        void happyFlow(@TempDir Path folder) throws IOException {
+            Path file = folder.resolve("rules.properties");
+            Files.writeString(file, AuthenticationRules.LOGIN_MAX_KEY + "=8\n" + AuthenticationRules.PASS_PATTERN_KEY + "=[a-z]*\n", StandardCharsets.UTF_8);
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(AuthenticationRules.DEFAULT);
+            c.reload(file);
+            assertEquals(8, c.getRules().loginMaxLength);
+            assertEquals("[a-z]*", c.getRules().passPattern.pattern());
+            assertTrue(c.validate("abcdefgh", "abcdef").isValid());
+            assertFalse(c.validate("abcdefghi", "abcdef").isValid());
+        }
+
+        @Test
+        void invalidValue(@TempDir Path folder) throws IOException {
+            Path file = folder.resolve("rules.properties");
+            Files.writeString(file, AuthenticationRules.LOGIN_MIN_KEY + "=abc\n", StandardCharsets.UTF_8);
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(DIGITS);
+            assertThrows(IllegalArgumentException.class, () -> c.reload(file));
+            assertSame(DIGITS, c.getRules());
+        }
+
+        @Test
+        void missingFile(@TempDir Path folder) {
+            ReloadableAuthenticationChecker c = new ReloadableAuthenticationChecker(DIGITS);
+            assertThrows(IOException.class, () -> c.reload(folder.resolve("missing.properties")));
+            assertSame(DIGITS, c.getRules());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class SaltGeneratorTest {
+
+    @Nested
+    class Generate {
+
+        @Test
+        void happyFlow() {
+            byte[] first = SaltGenerator.getInstance().generate(16);
+            byte[] second = SaltGenerator.getInstance().generate(16);
+            assertEquals(16, first.length);
+            assertFalse(Arrays.equals(first, second));
+        }
+
+        @Test
+        void empty() {
+            assertEquals(0, SaltGenerator.getInstance().generate(0).length);
+        }
+
+        @Test
+        void negativeLength() {
+            assertThrows(NegativeArraySizeException.class, () -> SaltGenerator.getInstance().generate(-1));
+        }
+
+        @Test
+        void nullArray() {
+            assertThrows(NullPointerException.class, () -> SaltGenerator.getInstance().nextBytes(null));
+        }
+    }
+
+    @Nested
+    class Threads {
+
+        @Test
+        void generatorPerThread() throws Exception {
+            SaltGenerator generator = SaltGenerator.getInstance();
+            CyclicBarrier barrier = new CyclicBarrier(2);
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<List<String>> other = executor.submit(() -> generateAfter(barrier, generator));
+                List<String> salts = new ArrayList<>(generateAfter(barrier, generator));
+                salts.addAll(other.get());
+                assertEquals(2000, Set.copyOf(salts).size());
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test
+        void noDuplicate() throws Exception {
+            Set<String> salts = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    futures.add(executor.submit(() -> {
+                        for (int j = 0; j < 1000; j++) {
+                            salts.add(HexFormat.of().formatHex(SaltGenerator.getInstance().generate(16)));
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdown();
+            }
+            assertEquals(4000, salts.size());
+        }
+    }
+
+    /**
+     * Generate 1000 salts once the other thread is ready, so both threads generate at the same time.
+     */
+    private static List<String> generateAfter(final CyclicBarrier barrier, final SaltGenerator generator) throws Exception {
+        barrier.await();
+        List<String> salts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            salts.add(HexFormat.of().formatHex(generator.generate(16)));
+        }
+        return salts;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import be.yildizgames.common.model.PlayerId;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class SignedTokenVerifierTest {
+
+    private static final Token TOKEN = Token.authenticated(PlayerId.valueOf(42), 0, 1234);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    private final SigningKeySet keys = SigningKeySet.of(SigningKey.generate(1));
+
+    private final SignedTokenIssuer issuer = new SignedTokenIssuer(this.keys, Duration.ofMinutes(5), this.clock::get);
+
+    private final SignedTokenVerifier verifier = new SignedTokenVerifier(this.keys, this.clock::get);
+
+    @Nested
+    class Issue {
+
+        @Test
+        void content() {
+            byte[] token = issuer.issue(TOKEN);
+            assertEquals(SignedToken.LENGTH, token.length);
+            assertEquals(SignedToken.VERSION, token[0]);
+            assertEquals(1, SignedToken.getKeyId(token));
+            assertEquals(42, SignedToken.getPlayerId(token));
+            assertEquals(Token.Status.AUTHENTICATED, SignedToken.getStatus(token));
+            assertEquals(1234, SignedToken.getKey(token));
+            assertEquals(1_000_000L, SignedToken.getIssueTime(token));
+            assertEquals(1_300_000L, SignedToken.getExpirationTime(token));
+        }
+
+        @Test
+        void toToken() {
+            Token token = SignedToken.toToken(issuer.issue(TOKEN));
+            assertEquals(TOKEN, token);
+            assertEquals(1_000_000L, token.getAuthenticationTime());
+            assertEquals(Token.banned(), SignedToken.toToken(issuer.issue(Token.banned())));
+        }
+
+        @Test
+        void text() {
+            byte[] token = issuer.issue(TOKEN);
+            String text = SignedToken.encode(token);
+            assertEquals(83, text.length());
+            assertArrayEquals(token, SignedToken.decode(text));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> issuer.issue(null));
+        }
+
+        @Test
+        void invalidValidity() {
+            assertThrows(NullPointerException.class, () -> new SignedTokenIssuer(keys, null));
+            assertThrows(NullPointerException.class, () -> new SignedTokenIssuer(null, Duration.ofMinutes(1)));
+            assertThrows(IllegalArgumentException.class, () -> new SignedTokenIssuer(keys, Duration.ZERO));
+        }
+    }
+
+    @Nested
+    class Verify {
+
+        @Test
+        void valid() {
+            assertEquals(SignedTokenVerifier.Result.VALID, verifier.verify(issuer.issue(TOKEN)));
+        }
+
+        @Test
+        void expired() {
+            byte[] token = issuer.issue(TOKEN);
+            clock.addAndGet(Duration.ofMinutes(5).toMillis() - 1);
+            assertEquals(SignedTokenVerifier.Result.VALID, verifier.verify(token));
+            clock.incrementAndGet();
+            assertEquals(SignedTokenVerifier.Result.EXPIRED, verifier.verify(token));
+        }
+
+        @Test
+        void tampered() {
+            byte[] token = issuer.issue(TOKEN);
+            for (int i = SignedToken.KEY_ID + 4; i < token.length; i++) {
+                token[i] ^= 1;
+                assertEquals(SignedTokenVerifier.Result.INVALID_SIGNATURE, verifier.verify(token));
+                token[i] ^= 1;
+            }
+            assertEquals(SignedTokenVerifier.Result.VALID, verifier.verify(token));
+        }
+
+        @Test
+        void otherKey() {
+            SignedTokenVerifier other = new SignedTokenVerifier(SigningKeySet.of(SigningKey.generate(1)), clock::get);
+            assertEquals(SignedTokenVerifier.Result.INVALID_SIGNATURE, other.verify(issuer.issue(TOKEN)));
+        }
+
+        @Test
+        void unknownKey() {
+            SignedTokenVerifier other = new SignedTokenVerifier(SigningKeySet.of(SigningKey.generate(2)), clock::get);
+            assertEquals(SignedTokenVerifier.Result.UNKNOWN_KEY, other.verify(issuer.issue(TOKEN)));
+        }
+
+        @Test
+        void malformed() {
+            byte[] token = issuer.issue(TOKEN);
+            assertEquals(SignedTokenVerifier.Result.MALFORMED, verifier.verify(new byte[0]));
+            assertEquals(SignedTokenVerifier.Result.MALFORMED, verifier.verify(new byte[SignedToken.LENGTH + 1]));
+            token[0] = 2;
+            assertEquals(SignedTokenVerifier.Result.MALFORMED, verifier.verify(token));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> verifier.verify(null));
+            assertThrows(NullPointerException.class, () -> new SignedTokenVerifier(null));
+        }
+    }
+
+    @Nested
+    class Rotation {
+
+        @Test
+        void happyFlow() {
+            byte[] old = issuer.issue(TOKEN);
+            SigningKeySet rotated = keys.withCurrent(SigningKey.generate(2));
+            verifier.setKeys(rotated);
+            issuer.setKeys(rotated);
+            byte[] current = issuer.issue(TOKEN);
+            assertEquals(2, SignedToken.getKeyId(current));
+            assertEquals(SignedTokenVerifier.Result.VALID, verifier.verify(old));
+            assertEquals(SignedTokenVerifier.Result.VALID, verifier.verify(current));
+            verifier.setKeys(rotated.without(1));
+            assertEquals(SignedTokenVerifier.Result.UNKNOWN_KEY, verifier.verify(old));
+            assertEquals(SignedTokenVerifier.Result.VALID, verifier.verify(current));
+            assertTrue(verifier.getKeys().size() == 1 && issuer.getKeys() == rotated);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class SigningKeySetTest {
+
+    @Nested
+    class Key {
+
+        @Test
+        void happyFlow() {
+            byte[] secret = new byte[32];
+            secret[0] = 5;
+            SigningKey key = new SigningKey(3, secret);
+            secret[0] = 6;
+            assertEquals(3, key.getId());
+            assertEquals(5, key.getSecret()[0]);
+        }
+
+        @Test
+        void generate() {
+            SigningKey key = SigningKey.generate(2);
+            assertEquals(2, key.getId());
+            assertEquals(SigningKey.MIN_LENGTH, key.getSecret().length);
+            assertArrayEquals(key.getSecret(), new SigningKey(2, key.getSecret()).getSecret());
+        }
+
+        @Test
+        void invalidSecret() {
+            assertThrows(NullPointerException.class, () -> new SigningKey(1, null));
+            assertThrows(IllegalArgumentException.class, () -> new SigningKey(1, new byte[31]));
+            assertThrows(IllegalArgumentException.class, () -> new SigningKey(1, new byte[65]));
+        }
+    }
+
+    @Nested
+    class Of {
+
+        @Test
+        void happyFlow() {
+            SigningKey current = SigningKey.generate(1);
+            SigningKey previous = SigningKey.generate(2);
+            SigningKeySet set = SigningKeySet.of(current, previous);
+            assertSame(current, set.getCurrent());
+            assertSame(current, set.get(1));
+            assertSame(previous, set.get(2));
+            assertNull(set.get(3));
+            assertEquals(2, set.size());
+        }
+
+        @Test
+        void duplicatedId() {
+            assertThrows(IllegalArgumentException.class, () -> SigningKeySet.of(SigningKey.generate(1), SigningKey.generate(1)));
+            assertThrows(IllegalArgumentException.class, () -> SigningKeySet.of(SigningKey.generate(1), SigningKey.generate(2), SigningKey.generate(2)));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> SigningKeySet.of(null));
+            assertThrows(NullPointerException.class, () -> SigningKeySet.of(SigningKey.generate(1), (SigningKey) null));
+        }
+    }
+
+    @Nested
+    class Rotation {
+
+        @Test
+        void withCurrent() {
+            SigningKeySet set = SigningKeySet.of(SigningKey.generate(1));
+            SigningKey next = SigningKey.generate(2);
+            SigningKeySet rotated = set.withCurrent(next);
+            assertSame(next, rotated.getCurrent());
+            assertSame(set.getCurrent(), rotated.get(1));
+            assertEquals(1, set.size());
+            assertThrows(IllegalArgumentException.class, () -> rotated.withCurrent(SigningKey.generate(1)));
+        }
+
+        @Test
+        void without() {
+            SigningKeySet set = SigningKeySet.of(SigningKey.generate(2), SigningKey.generate(1));
+            SigningKeySet removed = set.without(1);
+            assertNull(removed.get(1));
+            assertSame(set.getCurrent(), removed.getCurrent());
+            assertEquals(1, removed.size());
+            assertSame(set, set.without(5));
+        }
+
+        @Test
+        void withoutCurrent() {
+            SigningKeySet set = SigningKeySet.of(SigningKey.generate(2), SigningKey.generate(1));
+            assertThrows(IllegalArgumentException.class, () -> set.without(2));
+        }
+    }
+}
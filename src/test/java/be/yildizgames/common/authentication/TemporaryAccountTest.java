@@ -27,8 +27,14 @@ package be.yildizgames.common.authentication;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * @author Grégory Van den Borre
@@ -74,4 +80,83 @@ class TemporaryAccountTest {
         }
     }
 
+    @Nested
+    class Validate {
+
+        @Test
+        void happyFlow() {
+            assertTrue(TemporaryAccount.validate(LOGIN_OK, PASSWORD_OK, EMAIL_OK).isValid());
+        }
+
+        @Test
+        void withAllInvalid() {
+            ValidationResult r = TemporaryAccount.validate(null, "&&&&&&", "invalid");
+            assertEquals(List.of(AuthenticationError.LOGIN_EMPTY, AuthenticationError.INVALID_PASS_CHAR, AuthenticationError.MAIL_INVALID), r.getErrors());
+        }
+
+        @Test
+        void withEmailNull() {
+            assertTrue(TemporaryAccount.validate(LOGIN_OK, PASSWORD_OK, null).hasError(AuthenticationError.MAIL_EMPTY));
+        }
+
+        @Test
+        void sameErrorsAsCreate() {
+            TemporaryAccountValidationException e = assertThrows(TemporaryAccountValidationException.class,
+                    () -> TemporaryAccount.create("a", PASSWORD_OK, "invalid", LANGUAGE_OK));
+            assertEquals(TemporaryAccount.validate("a", PASSWORD_OK, "invalid").getErrors(), e.getExceptions());
+        }
+    }
+
+    @Nested
+    class ValidateAll {
+
+        @Test
+        void happyFlow() {
+            List<AccountValues> accounts = new ArrayList<>();
+            for (int i = 0; i < 5000; i++) {
+                accounts.add(new AccountValues(LOGIN_OK, PASSWORD_OK, i % 7 == 0 ? "invalid" : EMAIL_OK));
+            }
+            List<ValidationResult> results = TemporaryAccount.validateAll(accounts);
+            assertEquals(accounts.size(), results.size());
+            for (int i = 0; i < accounts.size(); i++) {
+                assertEquals(i % 7 != 0, results.get(i).isValid());
+            }
+        }
+
+        @Test
+        void missingValues() {
+            List<ValidationResult> results = TemporaryAccount.validateAll(List.of(
+                    new AccountValues(LOGIN_OK, PASSWORD_OK, null),
+                    new AccountValues(null, PASSWORD_OK, EMAIL_OK),
+                    new AccountValues(LOGIN_OK, PASSWORD_OK, EMAIL_OK)));
+            assertEquals(TemporaryAccount.validate(LOGIN_OK, PASSWORD_OK, null).getErrors(), results.get(0).getErrors());
+            assertEquals(TemporaryAccount.validate(null, PASSWORD_OK, EMAIL_OK).getErrors(), results.get(1).getErrors());
+            assertFalse(results.get(0).isValid());
+            assertFalse(results.get(1).isValid());
+            assertTrue(results.get(2).isValid());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> TemporaryAccount.validateAll(null));
+            assertThrows(NullPointerException.class, () -> TemporaryAccount.validateAll(Arrays.asList((AccountValues) null)));
+        }
+    }
+
+    @Nested
+    class GetChecker {
+
+        @Test
+        void reload() {
+            AuthenticationRules rules = new AuthenticationRules(20, 20, 3, 10, AuthenticationRules.DEFAULT.loginPattern, AuthenticationRules.DEFAULT.passPattern);
+            try {
+                TemporaryAccount.getChecker().reload(rules);
+                assertTrue(TemporaryAccount.validate(LOGIN_OK, PASSWORD_OK, EMAIL_OK).hasError(AuthenticationError.PASS_TOO_SHORT));
+            } finally {
+                TemporaryAccount.getChecker().reload(AuthenticationRules.DEFAULT);
+            }
+            assertTrue(TemporaryAccount.validate(LOGIN_OK, PASSWORD_OK, EMAIL_OK).isValid());
+        }
+    }
+
 }
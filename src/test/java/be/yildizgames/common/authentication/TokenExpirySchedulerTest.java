@@ -0,0 +1,278 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import be.yildizgames.common.model.PlayerId;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class TokenExpirySchedulerTest {
+
+    private static final Duration TTL = Duration.ofSeconds(60);
+
+    private static final Duration TICK = Duration.ofMillis(100);
+
+    private static Token token(final int id, final long time) {
+        return Token.authenticated(PlayerId.valueOf(id), time, id);
+    }
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new TokenExpiryScheduler(null, TICK, t -> {}));
+            assertThrows(NullPointerException.class, () -> new TokenExpiryScheduler(TTL, null, t -> {}));
+            assertThrows(NullPointerException.class, () -> new TokenExpiryScheduler(TTL, TICK, null));
+        }
+
+        @Test
+        void invalid() {
+            assertThrows(IllegalArgumentException.class, () -> new TokenExpiryScheduler(Duration.ZERO, TICK, t -> {}));
+            assertThrows(IllegalArgumentException.class, () -> new TokenExpiryScheduler(TTL, Duration.ofNanos(10), t -> {}));
+        }
+    }
+
+    @Nested
+    class Advance {
+
+        @Test
+        void expiredAfterTtl() {
+            List<Token> expired = new ArrayList<>();
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, expired::add, 0);
+            scheduler.schedule(token(1, 1000));
+            scheduler.advance(60_999);
+            assertTrue(expired.isEmpty());
+            assertEquals(1, scheduler.size());
+            scheduler.advance(61_000);
+            assertEquals(List.of(token(1, 1000)), expired);
+            assertEquals(0, scheduler.size());
+            assertEquals(61_000, scheduler.getTime());
+        }
+
+        @Test
+        void tickPrecision() {
+            List<Token> expired = new ArrayList<>();
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, expired::add, 0);
+            scheduler.schedule(token(1, 1050));
+            scheduler.advance(61_099);
+            assertTrue(expired.isEmpty());
+            scheduler.advance(61_100);
+            assertEquals(1, expired.size());
+        }
+
+        @Test
+        void alreadyExpired() {
+            List<Token> expired = new ArrayList<>();
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, expired::add, 100_000);
+            scheduler.schedule(token(1, 0));
+            scheduler.advance(100_100);
+            assertEquals(1, expired.size());
+        }
+
+        @Test
+        void pastTimeIgnored() {
+            List<Token> expired = new ArrayList<>();
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, expired::add, 0);
+            scheduler.advance(5000);
+            scheduler.advance(4000);
+            assertEquals(5000, scheduler.getTime());
+        }
+
+        @Test
+        void higherLevels() {
+            Map<Integer, Long> expiredAt = new HashMap<>();
+            TokenExpiryScheduler[] holder = new TokenExpiryScheduler[1];
+            holder[0] = new TokenExpiryScheduler(Duration.ofDays(2), Duration.ofSeconds(1), t -> expiredAt.put(t.getId().value, holder[0].getTime()), 0);
+            Random random = new Random(7);
+            Map<Integer, Long> deadlines = new HashMap<>();
+            for (int i = 0; i < 5000; i++) {
+                long time = random.nextInt(1_000_000_000);
+                holder[0].schedule(token(i, time));
+                deadlines.put(i, time + Duration.ofDays(2).toMillis());
+            }
+            for (long now = 1000; now <= 1_200_000_000L; now += 1000) {
+                holder[0].advance(now);
+            }
+            assertEquals(5000, expiredAt.size());
+            deadlines.forEach((id, deadline) -> assertEquals((deadline + 999) / 1000 * 1000, expiredAt.get(id)));
+        }
+
+        @Test
+        void listenerException() {
+            List<Token> expired = new ArrayList<>();
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, t -> {
+                expired.add(t);
+                throw new IllegalStateException("test");
+            }, 0);
+            List<Throwable> errors = new ArrayList<>();
+            Thread.UncaughtExceptionHandler handler = Thread.currentThread().getUncaughtExceptionHandler();
+            Thread.currentThread().setUncaughtExceptionHandler((t, e) -> errors.add(e));
+            try {
+                scheduler.schedule(token(1, 0));
+                scheduler.schedule(token(2, 0));
+                scheduler.advance(60_000);
+            } finally {
+                Thread.currentThread().setUncaughtExceptionHandler(handler);
+            }
+            assertEquals(2, expired.size());
+            assertEquals(2, errors.size());
+        }
+    }
+
+    @Nested
+    class Schedule {
+
+        @Test
+        void replace() {
+            List<Token> expired = new ArrayList<>();
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, expired::add, 0);
+            scheduler.schedule(token(1, 0));
+            scheduler.schedule(Token.authenticated(PlayerId.valueOf(1), 30_000, 5));
+            assertEquals(1, scheduler.size());
+            scheduler.advance(60_000);
+            assertTrue(expired.isEmpty());
+            scheduler.advance(90_000);
+            assertEquals(5, expired.get(0).getKey());
+        }
+
+        @Test
+        void reissuedWhileNotified() throws Exception {
+            TokenRegistry registry = new TokenRegistry();
+            CountDownLatch notified = new CountDownLatch(1);
+            CountDownLatch reissued = new CountDownLatch(1);
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, t -> {
+                notified.countDown();
+                try {
+                    reissued.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                registry.revoke(t.getId().value, t.getKey());
+            }, 0);
+            Token first = token(1, 0);
+            registry.issue(first);
+            scheduler.schedule(first);
+            Thread advancing = new Thread(() -> scheduler.advance(60_000));
+            advancing.start();
+            assertTrue(notified.await(10, TimeUnit.SECONDS));
+            // The player logs in again after its token left the wheel, before the listener revokes it.
+            Token second = Token.authenticated(PlayerId.valueOf(1), 60_000, 7);
+            registry.issue(second);
+            scheduler.schedule(second);
+            reissued.countDown();
+            advancing.join(10_000);
+            assertTrue(registry.verify(1, 7));
+            assertEquals(1, scheduler.size());
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new TokenExpiryScheduler(TTL, TICK, t -> {}).schedule(null));
+        }
+    }
+
+    @Nested
+    class Renew {
+
+        @Test
+        void sliding() {
+            List<Token> expired = new ArrayList<>();
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, expired::add, 0);
+            scheduler.schedule(token(1, 0));
+            scheduler.advance(50_000);
+            assertTrue(scheduler.renew(PlayerId.valueOf(1)));
+            scheduler.advance(100_000);
+            assertTrue(expired.isEmpty());
+            assertTrue(scheduler.renew(PlayerId.valueOf(1)));
+            scheduler.advance(159_900);
+            assertTrue(expired.isEmpty());
+            scheduler.advance(160_000);
+            assertEquals(1, expired.size());
+        }
+
+        @Test
+        void notScheduled() {
+            assertFalse(new TokenExpiryScheduler(TTL, TICK, t -> {}, 0).renew(PlayerId.valueOf(1)));
+        }
+    }
+
+    @Nested
+    class Cancel {
+
+        @Test
+        void happyFlow() {
+            List<Token> expired = new ArrayList<>();
+            TokenExpiryScheduler scheduler = new TokenExpiryScheduler(TTL, TICK, expired::add, 0);
+            scheduler.schedule(token(1, 0));
+            scheduler.schedule(token(2, 0));
+            scheduler.schedule(token(3, 0));
+            assertTrue(scheduler.cancel(PlayerId.valueOf(2)));
+            assertFalse(scheduler.cancel(PlayerId.valueOf(2)));
+            scheduler.advance(60_000);
+            assertEquals(2, expired.size());
+            assertFalse(expired.contains(token(2, 0)));
+        }
+    }
+
+    @Nested
+    class Start {
+
+        @Test
+        void daemonThread() throws InterruptedException {
+            CountDownLatch latch = new CountDownLatch(1);
+            TokenRegistry registry = new TokenRegistry();
+            try (TokenExpiryScheduler scheduler = new TokenExpiryScheduler(Duration.ofMillis(50), Duration.ofMillis(10), t -> {
+                registry.revoke(t.getId());
+                latch.countDown();
+            }).start()) {
+                Token token = token(1, System.currentTimeMillis());
+                registry.issue(token);
+                scheduler.schedule(token);
+                assertTrue(latch.await(5, TimeUnit.SECONDS));
+                assertEquals(0, registry.size());
+                assertThrows(IllegalStateException.class, scheduler::start);
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import be.yildizgames.common.model.PlayerId;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class TokenRegistryTest {
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void negativeSize() {
+            assertThrows(IllegalArgumentException.class, () -> new TokenRegistry(-1));
+        }
+
+        @Test
+        void empty() {
+            TokenRegistry registry = new TokenRegistry(0);
+            assertEquals(0, registry.size());
+            assertFalse(registry.verify(5, 1));
+            assertNull(registry.get(PlayerId.valueOf(5)));
+        }
+    }
+
+    @Nested
+    class Issue {
+
+        @Test
+        void happyFlow() {
+            TokenRegistry registry = new TokenRegistry();
+            Token token = Token.authenticated(PlayerId.valueOf(5), 1000L, 12);
+            registry.issue(token);
+            assertEquals(1, registry.size());
+            assertEquals(token, registry.get(PlayerId.valueOf(5)));
+            assertEquals(1000L, registry.get(PlayerId.valueOf(5)).getAuthenticationTime());
+        }
+
+        @Test
+        void replace() {
+            TokenRegistry registry = new TokenRegistry();
+            registry.issue(Token.authenticated(PlayerId.valueOf(5), 1000L, 12));
+            registry.issue(Token.authenticated(PlayerId.valueOf(5), 2000L, 13));
+            assertEquals(1, registry.size());
+            assertFalse(registry.verify(5, 12));
+            assertTrue(registry.verify(5, 13));
+        }
+
+        @Test
+        void otherStatus() {
+            TokenRegistry registry = new TokenRegistry();
+            registry.issue(5, 12, Token.Status.BANNED, 0);
+            assertEquals(Token.Status.BANNED, registry.get(PlayerId.valueOf(5)).getStatus());
+            assertFalse(registry.verify(5, 12));
+        }
+
+        @Test
+        void grow() {
+            TokenRegistry registry = new TokenRegistry(0);
+            for (int i = -5000; i < 5000; i++) {
+                registry.issue(i, i * 3, Token.Status.AUTHENTICATED, i);
+            }
+            assertEquals(10000, registry.size());
+            for (int i = -5000; i < 5000; i++) {
+                assertTrue(registry.verify(i, i * 3));
+                assertFalse(registry.verify(i, i * 3 + 1));
+            }
+        }
+
+        @Test
+        void withNull() {
+            TokenRegistry registry = new TokenRegistry();
+            assertThrows(NullPointerException.class, () -> registry.issue(null));
+            assertThrows(NullPointerException.class, () -> registry.issue(1, 1, null, 0));
+        }
+    }
+
+    @Nested
+    class Verify {
+
+        @Test
+        void happyFlow() {
+            TokenRegistry registry = new TokenRegistry();
+            registry.issue(Token.authenticated(PlayerId.valueOf(5), 1000L, 12));
+            assertTrue(registry.verify(PlayerId.valueOf(5), 12));
+            assertFalse(registry.verify(PlayerId.valueOf(5), 11));
+            assertFalse(registry.verify(PlayerId.valueOf(6), 12));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> new TokenRegistry().verify(null, 1));
+        }
+    }
+
+    @Nested
+    class Revoke {
+
+        @Test
+        void happyFlow() {
+            TokenRegistry registry = new TokenRegistry();
+            registry.issue(Token.authenticated(PlayerId.valueOf(5), 1000L, 12));
+            assertTrue(registry.revoke(PlayerId.valueOf(5)));
+            assertFalse(registry.verify(5, 12));
+            assertFalse(registry.revoke(5));
+            assertEquals(0, registry.size());
+        }
+
+        @Test
+        void withKey() {
+            TokenRegistry registry = new TokenRegistry(0);
+            for (int i = 0; i < 100; i++) {
+                registry.issue(i, i, Token.Status.AUTHENTICATED, 0);
+            }
+            assertFalse(registry.revoke(5, 6));
+            assertTrue(registry.verify(5, 5));
+            assertTrue(registry.revoke(5, 5));
+            assertFalse(registry.verify(5, 5));
+            assertFalse(registry.revoke(5, 5));
+            assertEquals(99, registry.size());
+            for (int i = 0; i < 100; i++) {
+                assertEquals(i != 5, registry.verify(i, i));
+            }
+        }
+
+        @Test
+        void sameAsMap() {
+            TokenRegistry registry = new TokenRegistry(0);
+            Map<Integer, Integer> expected = new HashMap<>();
+            Random random = new Random(42);
+            for (int i = 0; i < 100_000; i++) {
+                int id = random.nextInt(5000);
+                if (random.nextInt(3) == 0) {
+                    assertEquals(expected.remove(id) != null, registry.revoke(id));
+                } else {
+                    expected.put(id, i);
+                    registry.issue(id, i, Token.Status.AUTHENTICATED, 0);
+                }
+            }
+            assertEquals(expected.size(), registry.size());
+            for (int id = 0; id < 5000; id++) {
+                Integer key = expected.get(id);
+                assertEquals(key != null, key != null && registry.verify(id, key));
+                assertEquals(key == null, registry.get(PlayerId.valueOf(id)) == null);
+            }
+        }
+
+        @Test
+        void clear() {
+            TokenRegistry registry = new TokenRegistry();
+            for (int i = 0; i < 100; i++) {
+                registry.issue(i, i, Token.Status.AUTHENTICATED, 0);
+            }
+            registry.clear();
+            assertEquals(0, registry.size());
+            assertFalse(registry.verify(5, 5));
+        }
+    }
+
+    @Nested
+    class Concurrency {
+
+        @Test
+        void readersAndWriters() throws InterruptedException {
+            TokenRegistry registry = new TokenRegistry(0);
+            for (int i = 0; i < 1000; i++) {
+                registry.issue(i, i, Token.Status.AUTHENTICATED, 0);
+            }
+            AtomicBoolean failed = new AtomicBoolean();
+            CountDownLatch done = new CountDownLatch(4);
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < 2; t++) {
+                int offset = 1000 + t * 50_000;
+                threads.add(new Thread(() -> {
+                    for (int i = offset; i < offset + 50_000; i++) {
+                        registry.issue(i, i, Token.Status.AUTHENTICATED, 0);
+                        if (i - 100 >= offset) {
+                            registry.revoke(i - 100);
+                        }
+                    }
+                    done.countDown();
+                }));
+                threads.add(new Thread(() -> {
+                    for (int n = 0; n < 200; n++) {
+                        for (int i = 0; i < 1000; i++) {
+                            if (!registry.verify(i, i)) {
+                                failed.set(true);
+                            }
+                        }
+                    }
+                    done.countDown();
+                }));
+            }
+            threads.forEach(Thread::start);
+            done.await();
+            assertFalse(failed.get());
+        }
+    }
+}
@@ -106,6 +106,21 @@ class TokenTest {
         }
     }
 
+    @Nested
+    class Overloaded {
+
+        @Test
+        void happyFlow() {
+            Token t = Token.overloaded();
+            assertEquals(PlayerId.WORLD, t.getId());
+            assertEquals(0, t.getAuthenticationTime());
+            assertEquals(-1, t.getKey());
+            assertEquals(Token.Status.OVERLOADED, t.getStatus());
+            assertEquals(Token.Status.OVERLOADED, Token.Status.valueOf(4));
+            assertFalse(t.isAuthenticated());
+        }
+    }
+
     @Nested
     class Any {
 
@@ -0,0 +1,135 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class ValidationResultTest {
+
+    @Nested
+    class Valid {
+
+        @Test
+        void happyFlow() {
+            assertTrue(ValidationResult.VALID.isValid());
+            assertEquals(0, ValidationResult.VALID.getMask());
+            assertTrue(ValidationResult.VALID.getErrors().isEmpty());
+        }
+    }
+
+    @Nested
+    class Of {
+
+        @Test
+        void singleError() {
+            ValidationResult r = ValidationResult.of(AuthenticationError.PASS_EMPTY);
+            assertFalse(r.isValid());
+            assertTrue(r.hasError(AuthenticationError.PASS_EMPTY));
+            assertFalse(r.hasError(AuthenticationError.LOGIN_EMPTY));
+            assertEquals(List.of(AuthenticationError.PASS_EMPTY), r.getErrors());
+        }
+
+        @Test
+        void isShared() {
+            assertSame(ValidationResult.of(AuthenticationError.PASS_EMPTY), ValidationResult.of(AuthenticationError.PASS_EMPTY));
+        }
+
+        @Test
+        void collection() {
+            ValidationResult r = ValidationResult.of(List.of(AuthenticationError.MAIL_EMPTY, AuthenticationError.LOGIN_TOO_LONG));
+            assertEquals(List.of(AuthenticationError.LOGIN_TOO_LONG, AuthenticationError.MAIL_EMPTY), r.getErrors());
+        }
+
+        @Test
+        void emptyCollection() {
+            assertSame(ValidationResult.VALID, ValidationResult.of(List.of()));
+        }
+
+        @Test
+        void withNull() {
+            assertThrows(NullPointerException.class, () -> ValidationResult.of((AuthenticationError) null));
+        }
+    }
+
+    @Nested
+    class Merge {
+
+        @Test
+        void happyFlow() {
+            ValidationResult r = ValidationResult.of(AuthenticationError.INVALID_PASS_CHAR)
+                    .merge(ValidationResult.of(AuthenticationError.LOGIN_EMPTY))
+                    .with(AuthenticationError.MAIL_INVALID);
+            assertEquals(List.of(AuthenticationError.LOGIN_EMPTY, AuthenticationError.INVALID_PASS_CHAR, AuthenticationError.MAIL_INVALID), r.getErrors());
+        }
+
+        @Test
+        void withValid() {
+            ValidationResult r = ValidationResult.of(AuthenticationError.LOGIN_EMPTY);
+            assertSame(r, r.merge(ValidationResult.VALID));
+        }
+    }
+
+    @Nested
+    class FromMask {
+
+        @Test
+        void happyFlow() {
+            ValidationResult r = ValidationResult.of(List.of(AuthenticationError.MAIL_EMPTY, AuthenticationError.LOGIN_TOO_LONG));
+            assertSame(r, ValidationResult.fromMask(r.getMask()));
+        }
+
+        @Test
+        void negative() {
+            assertThrows(IllegalArgumentException.class, () -> ValidationResult.fromMask(-1));
+        }
+
+        @Test
+        void unknownError() {
+            assertThrows(IllegalArgumentException.class, () -> ValidationResult.fromMask(1 << AuthenticationError.values().length));
+        }
+    }
+
+    @Nested
+    class GetErrors {
+
+        @Test
+        void ensureImmutable() {
+            ValidationResult r = ValidationResult.of(AuthenticationError.LOGIN_EMPTY);
+            assertThrows(UnsupportedOperationException.class, () -> r.getErrors().clear());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class WorkerProtocolTest {
+
+    private static ReadableByteChannel channel(ByteBuffer... frames) {
+        int length = 0;
+        for (ByteBuffer frame : frames) {
+            length += frame.remaining();
+        }
+        ByteBuffer all = ByteBuffer.allocate(length);
+        for (ByteBuffer frame : frames) {
+            all.put(frame);
+        }
+        return Channels.newChannel(new ByteArrayInputStream(all.array()));
+    }
+
+    @Nested
+    class Request {
+
+        @Test
+        void encrypt() throws IOException {
+            ByteBuffer payload = WorkerProtocol.read(channel(WorkerProtocol.encryptRequest(7, "été")));
+            assertEquals(7, payload.getInt());
+            assertEquals(WorkerProtocol.ENCRYPT, payload.get());
+            assertEquals("été", WorkerProtocol.getString(payload));
+            assertEquals(0, payload.remaining());
+        }
+
+        @Test
+        void check() throws IOException {
+            ByteBuffer payload = WorkerProtocol.read(channel(WorkerProtocol.checkRequest(-3, "$2a$", "")));
+            assertEquals(-3, payload.getInt());
+            assertEquals(WorkerProtocol.CHECK, payload.get());
+            assertEquals("$2a$", WorkerProtocol.getString(payload));
+            assertEquals("", WorkerProtocol.getString(payload));
+        }
+
+        @Test
+        void tooLong() {
+            String value = "a".repeat(WorkerProtocol.MAX_STRING_LENGTH + 1);
+            assertThrows(IllegalArgumentException.class, () -> WorkerProtocol.encryptRequest(1, value));
+            assertThrows(IllegalArgumentException.class, () -> WorkerProtocol.checkRequest(1, "", value));
+        }
+    }
+
+    @Nested
+    class Read {
+
+        @Test
+        void pipelined() throws IOException {
+            ReadableByteChannel channel = channel(WorkerProtocol.response(1, WorkerProtocol.RESULT_MATCH, ""),
+                    WorkerProtocol.response(2, WorkerProtocol.RESULT_VALUE, "value"));
+            ByteBuffer first = WorkerProtocol.read(channel);
+            assertEquals(1, first.getInt());
+            assertEquals(WorkerProtocol.RESULT_MATCH, first.get());
+            ByteBuffer second = WorkerProtocol.read(channel);
+            assertEquals(2, second.getInt());
+            assertEquals(WorkerProtocol.RESULT_VALUE, second.get());
+            assertEquals("value", WorkerProtocol.getString(second));
+            assertNull(WorkerProtocol.read(channel));
+        }
+
+        @Test
+        void truncated() {
+            ByteBuffer frame = WorkerProtocol.response(1, WorkerProtocol.RESULT_VALUE, "value");
+            frame.limit(frame.limit() - 1);
+            assertThrows(EOFException.class, () -> WorkerProtocol.read(channel(frame)));
+        }
+
+        @Test
+        void invalidLength() {
+            assertThrows(IOException.class, () -> WorkerProtocol.read(channel(ByteBuffer.allocate(4).putInt(0, -1))));
+            assertThrows(IOException.class, () -> WorkerProtocol.read(channel(ByteBuffer.allocate(4).putInt(0, Integer.MAX_VALUE))));
+        }
+    }
+}
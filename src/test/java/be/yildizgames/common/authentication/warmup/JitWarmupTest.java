@@ -0,0 +1,99 @@
+/*
+ * This file is part of the Yildiz-Engine project, licenced under the MIT License  (MIT)
+ *
+ *  Copyright (c) 2019 Grégory Van den Borre
+ *
+ *  More infos available: https://engine.yildiz-games.be
+ *
+ *  Permission is hereby granted, free of charge, to any person obtaining a copy of this software and associated
+ *  documentation files (the "Software"), to deal in the Software without restriction, including without
+ *  limitation the rights to use, copy, modify, merge, publish, distribute, sublicense, and/or sell copies
+ *  of the Software, and to permit persons to whom the Software is furnished to do so,
+ *  subject to the following conditions:
+ *
+ *  The above copyright notice and this permission notice shall be included in all copies or substantial
+ *  portions of the Software.
+ *
+ *  THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT NOT LIMITED TO THE
+ *  WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS
+ *  OR COPYRIGHT  HOLDERS BE LIABLE FOR ANY CLAIM,
+ *  DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ *  OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE  SOFTWARE.
+ *
+ */
+
+
+package be.yildizgames.common.authentication.warmup;
+
+import be.yildizgames.common.authentication.AuthenticationRules;
+import be.yildizgames.common.authentication.BCryptEncryptionTool;
+import be.yildizgames.common.authentication.SimpleAuthenticationChecker;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Grégory Van den Borre
+ */
+class JitWarmupTest {
+
+    private static JitWarmup warmup(int threads, int rounds) {
+        return new JitWarmup(new BCryptEncryptionTool(4), new SimpleAuthenticationChecker(AuthenticationRules.DEFAULT), threads, rounds);
+    }
+
+    @Nested
+    class Constructor {
+
+        @Test
+        void invalidValues() {
+            SimpleAuthenticationChecker checker = new SimpleAuthenticationChecker(AuthenticationRules.DEFAULT);
+            assertThrows(NullPointerException.class, () -> new JitWarmup(null, checker, 1, 1));
+            assertThrows(NullPointerException.class, () -> new JitWarmup(new BCryptEncryptionTool(4), null, 1, 1));
+            assertThrows(IllegalArgumentException.class, () -> new JitWarmup(new BCryptEncryptionTool(4), checker, 0, 1));
+            assertThrows(IllegalArgumentException.class, () -> new JitWarmup(new BCryptEncryptionTool(4), checker, 1, 0));
+        }
+    }
+
+    @Nested
+    class Run {
+
+        @Test
+        void completed() {
+            WarmupResult result = warmup(2, 3).run(Duration.ofMinutes(1));
+            assertTrue(result.completed());
+            assertEquals(6, result.rounds());
+            assertTrue(result.firstRoundTime().toNanos() > 0);
+            assertTrue(result.lastRoundTime().toNanos() > 0);
+            assertTrue(result.duration().compareTo(result.firstRoundTime()) >= 0);
+        }
+
+        @Test
+        void budgetReached() {
+            WarmupResult result = warmup(1, Integer.MAX_VALUE).run(Duration.ofMillis(300));
+            assertFalse(result.completed());
+            assertTrue(result.rounds() > 0);
+            assertTrue(result.duration().toMillis() < 10_000);
+        }
+
+        @Test
+        void background() throws Exception {
+            CompletableFuture<WarmupResult> future = new JitWarmup().start(Duration.ofMillis(200));
+            assertTrue(future.get(30, TimeUnit.SECONDS).rounds() > 0);
+        }
+
+        @Test
+        void invalidBudget() {
+            assertThrows(NullPointerException.class, () -> warmup(1, 1).run(null));
+            assertThrows(IllegalArgumentException.class, () -> warmup(1, 1).run(Duration.ofMillis(-1)));
+            assertThrows(IllegalArgumentException.class, () -> warmup(1, 1).run(Duration.ZERO));
+        }
+    }
+}